@@ -0,0 +1,33 @@
+package org.nibiru.j2x.benchmark;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Un parseo completo por operación: lectura de los .class, AST de los cuerpos y resolución de referencias
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassParserBenchmark {
+    @Param({"HOLA", "LIBRARY", "JDK"})
+    private Corpus corpus;
+
+    @Benchmark
+    public Map<String, J2xClass> parse() {
+        return corpus.parse();
+    }
+}
@@ -0,0 +1,36 @@
+package org.nibiru.j2x.benchmark;
+
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.asm.ParsePolicy;
+import org.nibiru.j2x.ast.J2xClass;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Programas fijos sobre los que se mide el parseo y la escritura.
+// En todos, las clases del JDK que se alcanzan se resuelven solo con sus firmas, como en una traducción real.
+// ClassParser lee los .class con Class.getResourceAsStream, así que HOLA y LIBRARY requieren una JVM 8.
+public enum Corpus {
+    HOLA("org/nibiru/j2x/borrame/Hola", "org.nibiru.j2x.borrame."),
+    // Guava: el parseo de Splitter y sus dependencias dentro de com.google.common
+    LIBRARY("com/google/common/base/Splitter", "com.google.common."),
+    // Solo firmas: la clausura de ConcurrentHashMap alcanza buena parte de java.util y java.lang
+    JDK("java/util/concurrent/ConcurrentHashMap", null);
+
+    private final String classPath;
+    private final String contentPrefix;
+
+    Corpus(String classPath, String contentPrefix) {
+        this.classPath = checkNotNull(classPath);
+        this.contentPrefix = contentPrefix;
+    }
+
+    public Map<String, J2xClass> parse() {
+        return ClassParser.parse(classPath, policy());
+    }
+
+    private ParsePolicy policy() {
+        return className -> contentPrefix != null && className.startsWith(contentPrefix);
+    }
+}
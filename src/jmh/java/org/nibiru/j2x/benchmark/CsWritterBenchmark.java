@@ -0,0 +1,47 @@
+package org.nibiru.j2x.benchmark;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.cs.CsWritter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// Escritura de todas las clases de un corpus ya parseado, descartando la salida
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsWritterBenchmark {
+    @Param({"HOLA", "LIBRARY", "JDK"})
+    private Corpus corpus;
+    @Param({"true", "false"})
+    private boolean pretty;
+
+    private Collection<J2xClass> classes;
+
+    @Setup
+    public void setUp() {
+        classes = corpus.parse().values();
+    }
+
+    @Benchmark
+    public void write() {
+        CsWritter writter = new CsWritter(new NullWriter(), pretty);
+        for (J2xClass j2xClass : classes) {
+            writter.write(j2xClass);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.nibiru.j2x.benchmark;
+
+import org.nibiru.j2x.asm.DescIterable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Recorrido de los descriptores de argumentos, que el parser hace en cada método y en cada llamada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DescBenchmark {
+    private static final String[] SHORT_DESCS = {"", "I", "Ljava/lang/String;", "IJ", "[B"};
+    private static final String[] LONG_DESCS = {
+            "IJFDZCSB",
+            "[[ILjava/util/Map;[Ljava/lang/Object;",
+            "Ljava/lang/String;ILjava/lang/String;ILjava/util/function/BiFunction;[B[[Ljava/lang/String;J"
+    };
+
+    @Benchmark
+    public void shortDescs(Blackhole blackhole) {
+        iterate(SHORT_DESCS, blackhole);
+    }
+
+    @Benchmark
+    public void longDescs(Blackhole blackhole) {
+        iterate(LONG_DESCS, blackhole);
+    }
+
+    private static void iterate(String[] descs, Blackhole blackhole) {
+        for (String desc : descs) {
+            for (String type : new DescIterable(desc)) {
+                blackhole.consume(type);
+            }
+        }
+    }
+}
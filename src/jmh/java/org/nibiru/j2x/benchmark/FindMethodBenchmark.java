@@ -0,0 +1,60 @@
+package org.nibiru.j2x.benchmark;
+
+import com.google.common.collect.Iterables;
+
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Búsqueda de métodos por nombre y descriptor en clases con muchos métodos.
+// El parser la hace en cada llamada y en cada método covariante, y el costo crece con el ancho de la clase.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindMethodBenchmark {
+    @Param({"java/lang/Character", "java/lang/String", "java/util/Collections"})
+    private String classPath;
+
+    private J2xClass j2xClass;
+    private J2xMethod first;
+    private J2xMethod last;
+
+    @Setup
+    public void setUp() {
+        // Solo firmas: los cuerpos no intervienen en la búsqueda
+        j2xClass = ClassParser.parse(classPath, className -> false).get(classPath);
+        first = Iterables.getFirst(j2xClass.getMethods(), null);
+        last = Iterables.getLast(j2xClass.getMethods());
+    }
+
+    @Benchmark
+    public J2xMethod findFirst() {
+        return j2xClass.findMethod(first.getName(), first.getArgDesc());
+    }
+
+    @Benchmark
+    public J2xMethod findLast() {
+        return j2xClass.findMethod(last.getName(), last.getArgDesc());
+    }
+
+    @Benchmark
+    public J2xMethod findMissing() {
+        return j2xClass.findMethod("missing", "()V");
+    }
+}
@@ -0,0 +1,22 @@
+package org.nibiru.j2x.benchmark;
+
+import java.io.Writer;
+
+// Descarta lo escrito, para medir solo el costo de generar el código
+class NullWriter extends Writer {
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
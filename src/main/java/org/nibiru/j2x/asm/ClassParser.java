@@ -1,21 +1,50 @@
 package org.nibiru.j2x.asm;
 
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
 
 import org.nibiru.j2x.ast.J2xAccess;
 import org.nibiru.j2x.ast.J2xArray;
 import org.nibiru.j2x.ast.J2xBlock;
+import org.nibiru.j2x.ast.J2xBodyLoader;
 import org.nibiru.j2x.ast.J2xClass;
 import org.nibiru.j2x.ast.J2xField;
+import org.nibiru.j2x.ast.J2xMember;
 import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xArrayLength;
+import org.nibiru.j2x.ast.element.J2xArrayLoad;
+import org.nibiru.j2x.ast.element.J2xArrayStore;
 import org.nibiru.j2x.ast.element.J2xAssignment;
+import org.nibiru.j2x.ast.element.J2xBinaryOperation;
+import org.nibiru.j2x.ast.element.J2xCast;
+import org.nibiru.j2x.ast.element.J2xComparison;
+import org.nibiru.j2x.ast.element.J2xConversion;
+import org.nibiru.j2x.ast.element.J2xElements;
+import org.nibiru.j2x.ast.element.J2xFieldLoad;
+import org.nibiru.j2x.ast.element.J2xFieldStore;
+import org.nibiru.j2x.ast.element.J2xIf;
+import org.nibiru.j2x.ast.element.J2xInstanceOf;
 import org.nibiru.j2x.ast.element.J2xLiteral;
 import org.nibiru.j2x.ast.element.J2xMethodCall;
 import org.nibiru.j2x.ast.element.J2xNativeCode;
+import org.nibiru.j2x.ast.element.J2xNewArray;
+import org.nibiru.j2x.ast.element.J2xNewObject;
+import org.nibiru.j2x.ast.element.J2xOperator;
 import org.nibiru.j2x.ast.element.J2xReturn;
+import org.nibiru.j2x.ast.element.J2xSynchronized;
+import org.nibiru.j2x.ast.element.J2xThrow;
+import org.nibiru.j2x.ast.element.J2xUnaryOperation;
 import org.nibiru.j2x.ast.element.J2xVariable;
+import org.nibiru.j2x.metrics.TranslationListener;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -27,16 +56,47 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.TypePath;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Consumer;
 
-public class ClassParser extends ClassVisitor {
-    private static Map<String, J2xClass> systemClasses = Maps.newHashMap();
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
-    static {
+public class ClassParser extends ClassVisitor {
+    private static final String OBJECT_CLASS_PATH = "java/lang/Object";
+    private static final String ENUM_CLASS_PATH = "java/lang/Enum";
+    private static final String STRING_BUILDER_CLASS_PATH = "java/lang/StringBuilder";
+    private static final String STRING_CONCAT_FACTORY = "java/lang/invoke/StringConcatFactory";
+    // En la receta de makeConcatWithConstants, el lugar de un argumento y el de una constante del bootstrap
+    private static final char CONCAT_ARGUMENT = '\u0001';
+    private static final char CONCAT_CONSTANT = '\u0002';
+    private static final String THIS_NAME = "this";
+    private static final String INIT = "<init>";
+    private static final String CLINIT = "<clinit>";
+    private static final String SYSTEM_CLASS_PATH = "java/lang/System";
+    private static final String IDENTITY_HASH_CODE = "identityHashCode";
+    private static final String ENUM_VALUES_METHOD = "$values";
+    private static final String TEMPORARY_NAME = "__t";
+    private static final String PATTERN_NAME = "__p";
+    private static final J2xClass[] NUMERIC_TYPES = {J2xClass.INT, J2xClass.LONG, J2xClass.FLOAT, J2xClass.DOUBLE};
+    // Indexado por el operando de NEWARRAY, a partir de T_BOOLEAN
+    private static final String[] PRIMITIVE_ARRAY_DESCS = {"Z", "C", "F", "D", "B", "S", "I", "J"};
+    // Inmutable: la comparten todas las sesiones
+    private static final Map<String, J2xClass> SYSTEM_CLASSES = systemClasses();
+
+    private static Map<String, J2xClass> systemClasses() {
         try {
+            ImmutableMap.Builder<String, J2xClass> systemClasses = ImmutableMap.builder();
             for (Field field : J2xClass.class.getFields()) {
                 if (Modifier.isStatic(field.getModifiers()) && field.getType().equals(J2xClass.class)) {
                     J2xClass value = (J2xClass) field.get(null);
@@ -47,6 +107,7 @@ public class ClassParser extends ClassVisitor {
                             + "/") + value.getName(), value);
                 }
             }
+            return systemClasses.build();
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         }
@@ -54,37 +115,181 @@ public class ClassParser extends ClassVisitor {
 
     public static Map<String, J2xClass> parse(String classPath,
                                               ParsePolicy parsePolicy) {
-        Map<String, J2xClass> generatedClasses = Maps.newHashMap();
+        return parse(classPath, parsePolicy, TranslationListener.NONE);
+    }
+
+    public static Map<String, J2xClass> parse(String classPath,
+                                              ParsePolicy parsePolicy,
+                                              TranslationListener listener) {
+        return parse(classPath, parsePolicy, listener, null);
+    }
+
+    // Cada llamada es una sesión con sus propias clases; con un registro, las de biblioteca se toman de
+    // sesiones anteriores o concurrentes y las que esta parsea quedan para las siguientes (ver ClassRegistry).
+    // El mapa devuelto incluye las clases tomadas del registro, que no deben modificarse.
+    public static Map<String, J2xClass> parse(String classPath,
+                                              ParsePolicy parsePolicy,
+                                              TranslationListener listener,
+                                              @Nullable ClassRegistry registry) {
+        ParseSession session = new ParseSession(parsePolicy, listener, registry);
+
+        parseClassPath(classPath, session);
+        session.resolveObjectUses();
+        for (Map.Entry<String, J2xClass> entry : session.getClasses().entrySet()) {
+            if (!session.isBorrowed(entry.getKey())) {
+                resolveReferences(entry.getValue());
+            }
+        }
+        session.publish();
 
-        parseClassPath(classPath, generatedClasses, parsePolicy);
+        return session.getClasses();
+    }
+
+    // Como parse, pero los cuerpos de las clases con contenido se decodifican recién cuando se pide
+    // J2xMethod.getBody(), con una pasada de ASM que solo visita ese método; se pueden soltar con releaseBody.
+    // La pasada de firmas igual recorre cada cuerpo y lo descarta: así las marcas de J2xClass.isIdentitySensitive
+    // (y con ellas la decisión de struct) y las clases alcanzadas son las mismas que con parse, sin importar
+    // qué cuerpos se decodifiquen después. Lo que se ahorra es retener los cuerpos, no decodificarlos.
+    public static Map<String, J2xClass> parseLazy(String classPath,
+                                                  ParsePolicy parsePolicy,
+                                                  TranslationListener listener) {
+        ParseSession session = new ParseSession(parsePolicy, listener, null, null, true);
+
+        parseClassPath(classPath, session);
+        session.resolveObjectUses();
+
+        return session.getClasses();
+    }
+
+    // Como parse, pero sin tener todo el programa en memoria: primero se parsean solo las firmas, y los cuerpos
+    // de cada clase con contenido se parsean de a una clase, se le pasan al consumidor y se liberan.
+    // El heap queda acotado por las firmas del programa más la clase más grande.
+    // Los cuerpos no quedan disponibles para análisis de todo el programa como Inliner o InliningHints.
+    // Una clase ya entregada que un cuerpo posterior marca como sensible a la identidad se vuelve a parsear y se
+    // entrega de nuevo, porque deja de poder traducirse a un struct; vale la última entrega.
+    // Las clases de las que solo se parsean firmas se entregan al final. Devuelve las clases, ya sin cuerpos.
+    public static Map<String, J2xClass> stream(String classPath,
+                                               ParsePolicy parsePolicy,
+                                               TranslationListener listener,
+                                               Consumer<J2xClass> consumer) {
+        checkNotNull(consumer);
+        Queue<String> pendingBodies = Queues.newArrayDeque();
+        ParseSession session = new ParseSession(parsePolicy, listener, null, pendingBodies, false);
+        Map<String, J2xClass> generatedClasses = session.getClasses();
+        Map<String, Boolean> identitySensitive = Maps.newHashMap();
+
+        parseClassPath(classPath, session);
+        session.resolveObjectUses();
+        while (!pendingBodies.isEmpty()) {
+            while (!pendingBodies.isEmpty()) {
+                String pendingPath = pendingBodies.remove();
+                J2xClass j2xClass = new ClassParser(session)
+                        .parseBodies(pendingPath);
+                session.resolveObjectUses();
+                resolveReferences(j2xClass);
+                consumer.accept(j2xClass);
+                releaseBodies(j2xClass);
+                identitySensitive.put(pendingPath, j2xClass.isIdentitySensitive());
+            }
+            for (Map.Entry<String, Boolean> entry : identitySensitive.entrySet()) {
+                if (!entry.getValue() && generatedClasses.get(entry.getKey()).isIdentitySensitive()) {
+                    pendingBodies.add(entry.getKey());
+                }
+            }
+        }
+        for (Map.Entry<String, J2xClass> entry : generatedClasses.entrySet()) {
+            if (!identitySensitive.containsKey(entry.getKey())) {
+                consumer.accept(entry.getValue());
+            }
+        }
 
         return generatedClasses;
     }
 
-    private static J2xClass parseClassPath(String classPath,
-                                           Map<String, J2xClass> generatedClasses,
-                                           ParsePolicy parsePolicy) {
+    // Deja los métodos como los de una clase de la que solo se parsearon las firmas
+    private static void releaseBodies(J2xClass j2xClass) {
+        for (J2xMethod method : j2xClass.getMethods()) {
+            method.getBody().getElements().clear();
+            method.getBody().getVariables().clear();
+            method.getBody().getElements().add(buildEmptyReturn(method.getType()));
+        }
+    }
+
+    // Una referencia a un miembro que todavía no se había parseado (declarado más adelante en la misma clase,
+    // o en una clase con referencias cíclicas) queda apuntando a uno armado desde el descriptor.
+    // Terminado el parseo se reemplaza por el real, para que las llamadas compartan la instancia del método.
+    private static void resolveReferences(J2xClass j2xClass) {
+        for (J2xMethod method : j2xClass.getMethods()) {
+            resolveReferences(method.getBody());
+        }
+    }
+
+    private static void resolveReferences(J2xBlock body) {
+        body.getElements()
+                .replaceAll(element -> J2xElements.transform(element, ClassParser::resolveReference));
+    }
+
+    private static Object resolveReference(Object element) {
+        if (element instanceof J2xMethodCall) {
+            J2xMethodCall call = (J2xMethodCall) element;
+            J2xMethod method = call.getOwner().resolveMethod(call.getMethod().getName(), call.getMethod().getArgDesc());
+            keepNestAccess(call.getMethod(), method);
+            return method != null && method != call.getMethod()
+                    ? new J2xMethodCall(call.getOwner(), call.getTarget(), method, call.getArgs())
+                    : call;
+        } else if (element instanceof J2xNewObject) {
+            J2xNewObject newObject = (J2xNewObject) element;
+            J2xMethod constructor = newObject.getType()
+                    .resolveMethod(newObject.getConstructor().getName(), newObject.getConstructor().getArgDesc());
+            return constructor != null && constructor != newObject.getConstructor()
+                    ? new J2xNewObject(newObject.getType(), constructor, newObject.getArgs())
+                    : newObject;
+        } else if (element instanceof J2xFieldLoad) {
+            J2xFieldLoad load = (J2xFieldLoad) element;
+            J2xField field = load.getOwner().findField(load.getField().getName());
+            keepNestAccess(load.getField(), field);
+            return field != null && field != load.getField()
+                    ? new J2xFieldLoad(load.getOwner(), field, load.getTarget())
+                    : load;
+        } else if (element instanceof J2xFieldStore) {
+            J2xFieldStore store = (J2xFieldStore) element;
+            J2xField field = store.getOwner().findField(store.getField().getName());
+            keepNestAccess(store.getField(), field);
+            return field != null && field != store.getField()
+                    ? new J2xFieldStore(store.getOwner(), field, store.getTarget(), store.getValue())
+                    : store;
+        } else {
+            return element;
+        }
+    }
+
+    // El miembro armado desde el descriptor pudo haberse marcado al usarlo desde otra clase del mismo nest
+    private static void keepNestAccess(J2xMember used, @Nullable J2xMember resolved) {
+        if (resolved != null && used.isNestAccessed()) {
+            resolved.markNestAccessed();
+        }
+    }
+
+    private static J2xClass parseClassPath(String classPath, ParseSession session) {
         if (classPath == null) {
             return null;
         }
-        J2xClass systemClass = systemClasses.get(classPath);
+        J2xClass systemClass = SYSTEM_CLASSES.get(classPath);
         if (systemClass != null) {
             return systemClass;
         }
-        J2xClass generatedClass = generatedClasses.get(classPath);
+        J2xClass generatedClass = session.find(classPath);
         if (generatedClass != null) {
             return generatedClass;
         }
         int dimensions = extractDimensions(classPath);
         if (dimensions > 0) {
             String itemClassPath = extractName(classPath);
-            return new J2xArray(parseClassPath(itemClassPath,
-                    generatedClasses,
-                    parsePolicy),
+            return new J2xArray(parseClassPath(itemClassPath, session),
                     dimensions,
-                    parseClassPath("java/lang/Object", generatedClasses, parsePolicy));
+                    parseClassPath(OBJECT_CLASS_PATH, session));
         } else {
-            return new ClassParser(generatedClasses, parsePolicy)
+            return new ClassParser(session)
                     .parseInternal(classPath);
         }
     }
@@ -106,19 +311,42 @@ public class ClassParser extends ClassVisitor {
         return dimensions;
     }
 
+    private final ParseSession session;
     private final Map<String, J2xClass> generatedClasses;
     private final ParsePolicy parsePolicy;
+    private final TranslationListener listener;
+    @Nullable
+    private final Queue<String> pendingBodies;
+    private final boolean lazyBodies;
     private J2xClass j2xClass;
-
-    private ClassParser(Map<String, J2xClass> generatedClasses,
-                        ParsePolicy parsePolicy) {
-        super(Opcodes.ASM5);
-        this.generatedClasses = generatedClasses;
-        this.parsePolicy = parsePolicy;
+    // Pasada de firmas de una clase con contenido, en stream: los métodos quedan como sin contenido
+    private boolean signaturesOnly;
+    // Pasada de cuerpos, en stream: la clase y sus firmas ya existen y solo se completan los métodos
+    private boolean bodiesOnly;
+    // Al decodificar un cuerpo diferido: el único método que se visita, y su cuerpo ya decodificado
+    @Nullable
+    private J2xMethod lazyTarget;
+    @Nullable
+    private J2xBlock lazyBody;
+    // Los campos que asigna cada constructor que no delega en otro, y los que asigna el inicializador estático
+    private final List<Set<J2xField>> constructorFields = Lists.newArrayList();
+    private final Set<J2xField> staticFields = Sets.newIdentityHashSet();
+    // Para las métricas: métodos e instrucciones recorridos en esta clase
+    private int methodCount;
+    private int instructionCount;
+
+    private ClassParser(ParseSession session) {
+        super(Opcodes.ASM9);
+        this.session = session;
+        generatedClasses = session.getClasses();
+        parsePolicy = session.getParsePolicy();
+        listener = session.getListener();
+        pendingBodies = session.getPendingBodies();
+        lazyBodies = session.isLazyBodies();
     }
 
     private J2xClass parseClassPath(String path) {
-        return parseClassPath(path, generatedClasses, parsePolicy);
+        return parseClassPath(path, session);
     }
 
     private J2xClass parseDesc(String desc) {
@@ -126,11 +354,66 @@ public class ClassParser extends ClassVisitor {
     }
 
     private J2xClass parseInternal(String classPath) {
-        try {
-            ClassReader reader = new ClassReader(Class.class
-                    .getResourceAsStream(String.format("/%s.class", classPath)));
-            reader.accept(this, 0);
-            return generatedClasses.get(classPath);
+        byte[] bytes = bytes(classPath);
+        ClassReader reader = new ClassReader(bytes);
+        String className = classPath.replace('/', '.');
+        boolean content = parsePolicy.mustParseContent(className);
+        if (content && pendingBodies != null) {
+            // Las métricas y los eventos de la clase se reportan en la pasada de los cuerpos
+            signaturesOnly = true;
+            reader.accept(this, ClassReader.EXPAND_FRAMES);
+            pendingBodies.add(classPath);
+        } else {
+            // Con cuerpos diferidos la clase se reporta sin contenido, y cada método al decodificarse
+            signaturesOnly = content && lazyBodies;
+            listener.parseStarted(className);
+            reader.accept(this, content
+                    ? ClassReader.EXPAND_FRAMES
+                    : 0);
+            listener.classParsed(j2xClass, content && !lazyBodies, bytes.length, methodCount, instructionCount);
+        }
+        return generatedClasses.get(classPath);
+    }
+
+    // No retiene al parser que armó la clase, solo lo necesario para volver a leerla
+    private static J2xBodyLoader bodyLoader(String classPath, ParseSession session) {
+        return method -> new ClassParser(session)
+                .parseBody(classPath, method);
+    }
+
+    private J2xBlock parseBody(String classPath, J2xMethod method) {
+        j2xClass = generatedClasses.get(classPath);
+        bodiesOnly = true;
+        lazyTarget = method;
+        new ClassReader(bytes(classPath)).accept(this, ClassReader.EXPAND_FRAMES);
+        J2xBlock body = checkNotNull(lazyBody, "%s no está en %s", method.getName(), classPath);
+        // Las marcas ya se hicieron en la pasada de firmas
+        session.resolveObjectUses();
+        resolveReferences(body);
+        return body;
+    }
+
+    private J2xClass parseBodies(String classPath) {
+        byte[] bytes = bytes(classPath);
+        ClassReader reader = new ClassReader(bytes);
+        j2xClass = generatedClasses.get(classPath);
+        bodiesOnly = true;
+        listener.parseStarted(j2xClass.getFullName());
+        reader.accept(this, ClassReader.EXPAND_FRAMES);
+        listener.classParsed(j2xClass, true, bytes.length, methodCount, instructionCount);
+        return j2xClass;
+    }
+
+    // Con el class loader del contexto se ven las clases del classpath y las del JDK. Class.getResourceAsStream
+    // sobre una clase del JDK, desde Java 9, solo busca en los módulos.
+    private static byte[] bytes(String classPath) {
+        ClassLoader loader = MoreObjects.firstNonNull(Thread.currentThread().getContextClassLoader(),
+                ClassParser.class.getClassLoader());
+        try (InputStream in = loader.getResourceAsStream(classPath + ".class")) {
+            if (in == null) {
+                throw new IOException("Class not found: " + classPath);
+            }
+            return ByteStreams.toByteArray(in);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -143,13 +426,25 @@ public class ClassParser extends ClassVisitor {
                       String signature,
                       String superName,
                       String[] interfaces) {
+        if (bodiesOnly) {
+            return;
+        }
         int pos = name.lastIndexOf("/");
         String packageName = name.substring(0, pos).replaceAll("/", ".");
         j2xClass = new J2xClass(name.substring(pos + 1),
                 packageName,
-                parseClassPath(superName),
-                access(access));
+                null,
+                access(access),
+                isFinal(access),
+                // Las constantes con cuerpo propio también tienen ACC_ENUM, pero extienden al enum
+                (access & Opcodes.ACC_ENUM) != 0 && ENUM_CLASS_PATH.equals(superName));
+        for (String interfaceName : interfaces) {
+            j2xClass.addInterfaceName(interfaceName.replace('/', '.'));
+        }
+        // Registrada antes de parsear la superclase: si algo de lo que esta alcanza vuelve a la clase, tiene que
+        // encontrar esta instancia y no armar otra
         generatedClasses.put(name, j2xClass);
+        j2xClass.setSuperClass(parseClassPath(superName));
     }
 
     @Override
@@ -158,11 +453,21 @@ public class ClassParser extends ClassVisitor {
                                    String desc,
                                    String signature,
                                    Object value) {
-        j2xClass.getFields().add(new J2xField(name,
-                parseDesc(desc),
+        if (bodiesOnly) {
+            return null;
+        }
+        J2xClass type = parseDesc(desc);
+        j2xClass.addField(new J2xField(name,
+                type,
                 access(access),
                 isStatic(access),
-                isFinal(access)));
+                isFinal(access),
+                // La JVM ignora ConstantValue en campos de instancia
+                isStatic(access) && isFinal(access)
+                        ? constantValue(type, value)
+                        : null,
+                (access & Opcodes.ACC_ENUM) != 0,
+                (access & Opcodes.ACC_VOLATILE) != 0));
         return null;
     }
 
@@ -172,11 +477,61 @@ public class ClassParser extends ClassVisitor {
                                      String desc,
                                      String signature,
                                      String[] exceptions) {
+        J2xMethod target = null;
+        if (bodiesOnly) {
+            // El puente de un retorno covariante se descartó en la pasada de firmas
+            target = j2xClass.findMethod(name, desc);
+            if (target == null || !target.getArgDesc().equals(desc)
+                    || (lazyTarget != null && target != lazyTarget)) {
+                return null;
+            }
+        }
+        if (!signaturesOnly) {
+            methodCount++;
+            listener.methodStarted(j2xClass, name, desc);
+        }
         return new MethodParser(access,
                 name,
                 desc,
                 signature,
-                exceptions);
+                exceptions,
+                target);
+    }
+
+    // Un campo de referencia que no asignan todos los constructores (o el inicializador estático, si es static)
+    // arranca en null, y su tipo no puede ser un struct. Los final siempre se asignan.
+    @Override
+    public void visitEnd() {
+        if (lazyTarget != null || !mustParseContent()) {
+            return;
+        }
+        for (J2xField field : j2xClass.getFields()) {
+            J2xClass type = field.getType();
+            boolean initialized = field.isStatic()
+                    ? staticFields.contains(field)
+                    : constructorFields.stream().allMatch(fields -> fields.contains(field));
+            if (!field.isFinal() && !type.isPrimitive() && !(type instanceof J2xArray) && !initialized) {
+                type.markIdentitySensitive();
+            }
+        }
+    }
+
+    // ConstantValue guarda boolean, char, byte y short como int
+    @Nullable
+    private static Object constantValue(J2xClass type, @Nullable Object value) {
+        if (value == null) {
+            return null;
+        } else if (J2xClass.BOOLEAN.equals(type)) {
+            return ((Integer) value) != 0;
+        } else if (J2xClass.CHAR.equals(type)) {
+            return (char) ((Integer) value).intValue();
+        } else if (J2xClass.BYTE.equals(type)) {
+            return ((Integer) value).byteValue();
+        } else if (J2xClass.SHORT.equals(type)) {
+            return ((Integer) value).shortValue();
+        } else {
+            return value;
+        }
     }
 
     private static boolean isStatic(int access) {
@@ -199,10 +554,16 @@ public class ClassParser extends ClassVisitor {
         }
     }
 
+    private String internalNameToPath(String internalName) {
+        return internalName.startsWith("[")
+                ? descToPath(internalName)
+                : internalName;
+    }
+
     private String descToPath(String signature) {
         if (signature.startsWith("[")) {
-            // TODO: esto capaz falla con mas de una dimension
-            return descToPath(signature.substring(1)) + "[]";
+            int dimensions = signature.lastIndexOf('[') + 1;
+            return descToPath(signature.substring(dimensions)) + Strings.repeat(J2xArray.ARRAY, dimensions);
         } else {
             switch (signature) {
                 case "V":
@@ -238,19 +599,47 @@ public class ClassParser extends ClassVisitor {
         private final String signature;
         private final String[] exceptions;
 
-        private final List<J2xVariable> variables;
+        private final LocalTable locals;
+        @Nullable
+        private final J2xVariable self;
+        private final List<J2xVariable> temporaries;
+        private final List<Object> identityUses;
+        private final List<J2xAssignment> localStores;
+        // Los campos de la clase que el constructor o el inicializador estático asignan siempre
+        private final Set<J2xField> initializedFields;
+        // El constructor llama a otro de la misma clase
+        private boolean delegates;
         private final List<J2xVariable> arguments;
         private final J2xBlock body;
-
-        private int argCount;
+        // En la pasada de cuerpos, el método ya parseado que se completa
+        @Nullable
+        private final J2xMethod target;
+        private final Set<Label> handlers;
+        private final Set<Label> jumpTargets;
+        // Bloques synchronized y type tests abiertos; el tope recibe las sentencias
+        private final Deque<Object> openBlocks;
+        private final List<J2xVariable> patterns;
+
+        private final int firstLocal;
         private final Stack stack;
+        private int position;
+        // Dentro del código de un manejador de excepciones, que todavía no se traduce
+        private boolean inHandler;
+        // El manejador actual libera un monitor: es el que javac genera para un synchronized
+        private boolean handlerReleasesMonitor;
+        // Las copias del lock que javac guarda para el MONITOREXIT; en C# lock las maneja solo
+        private final Set<J2xVariable> monitorLocals;
+        // MONITOREXIT pendientes: si los sigue un return o un throw la salida queda dentro del bloque synchronized;
+        // si los sigue el salto por encima del manejador de excepciones, es la salida normal y cierran el bloque
+        private int pendingExits;
 
         private MethodParser(int access,
                              String name,
                              String desc,
                              String signature,
-                             String[] exceptions) {
-            super(Opcodes.ASM5);
+                             String[] exceptions,
+                             @Nullable J2xMethod target) {
+            super(Opcodes.ASM9);
             if (j2xClass.getName().equals("Hola") && (access & Opcodes.ACC_NATIVE) != 0) {
                 System.out.print("matanga");
             }
@@ -259,13 +648,50 @@ public class ClassParser extends ClassVisitor {
             this.desc = desc;
             this.signature = signature;
             this.exceptions = exceptions;
+            this.target = target;
 
-            variables = Lists.newLinkedList();
+            locals = new LocalTable();
+            temporaries = Lists.newArrayList();
+            identityUses = Lists.newArrayList();
+            localStores = Lists.newArrayList();
+            initializedFields = Sets.newIdentityHashSet();
             arguments = Lists.newArrayList();
-            body = new J2xBlock();
+            body = target != null && lazyTarget == null
+                    ? target.getBody()
+                    : new J2xBlock();
+            body.getElements().clear();
+            body.getVariables().clear();
+            handlers = Sets.newHashSet();
+            monitorLocals = Sets.newIdentityHashSet();
+            jumpTargets = Sets.newHashSet();
+            openBlocks = Queues.newArrayDeque();
+            patterns = Lists.newArrayList();
 
             stack = new Stack();
-            argCount = argCount(desc);
+
+            // "this" y los argumentos ocupan los primeros slots, aunque no haya info de debug
+            int slot = 0;
+            if (!isStatic(access)) {
+                self = new J2xVariable(THIS_NAME, j2xClass);
+                locals.bind(slot++, self);
+            } else {
+                self = null;
+            }
+            int arg = 0;
+            // Los cuerpos completados usan los argumentos de la firma, que es lo que ven las demás clases
+            Iterator<J2xVariable> targetArguments = target != null
+                    ? target.getArguments().iterator()
+                    : null;
+            for (String argType : iterateArgs(desc)) {
+                J2xVariable argVar = targetArguments != null
+                        ? targetArguments.next()
+                        : new J2xVariable("a" + arg, parseDesc(argType));
+                arguments.add(argVar);
+                locals.bind(slot, argVar);
+                slot += slotSize(argType);
+                arg++;
+            }
+            firstLocal = slot;
         }
 
         @Override
@@ -275,30 +701,54 @@ public class ClassParser extends ClassVisitor {
                                        Label start,
                                        Label end,
                                        int index) {
-            J2xVariable variable = variables.isEmpty()
-                    ? new J2xVariable()
-                    : variables.remove(0);
-            variable.setName(name);
-            variable.setType(parseDesc(desc));
-            if (argCount > 0 && !variable.isThis()) {
-                argCount--;
-                arguments.add(variable);
+            if (index < firstLocal) {
+                LocalTable.Local parameter = locals.parameter(index);
+                if (parameter != null) {
+                    parameter.getVariable().setName(name);
+                }
             } else if (mustParseContent()) {
-                body.getVariables().add(variable);
+                J2xClass type = parseDesc(desc);
+                for (LocalTable.Local local : locals.find(index, position(start, 0), position(end, Integer.MAX_VALUE))) {
+                    if (isSameKind(local.getVariable().getType(), type)) {
+                        local.getVariable().setName(name);
+                        local.getVariable().setType(type);
+                    }
+                }
             }
         }
 
         @Override
         public void visitFrame(int type, int nLocal, Object[] local, int nStack, Object[] stack) {
-            super.visitFrame(type, nLocal, local, nStack, stack);
+            if (isReachable()) {
+                // Los frames traen el tipo declarado de las variables de referencia, que los opcodes no dicen
+                int slot = 0;
+                for (int i = 0; i < nLocal; i++) {
+                    LocalTable.Local current = locals.get(slot);
+                    if (local[i] instanceof String
+                            && slot >= firstLocal
+                            && current != null
+                            && stackType(current.getVariable().getType()) == null) {
+                        refine(current.getVariable(), parseClassPath(internalNameToPath((String) local[i])));
+                    }
+                    slot += Opcodes.LONG.equals(local[i]) || Opcodes.DOUBLE.equals(local[i])
+                            ? 2
+                            : 1;
+                }
+            }
         }
 
         @Override
         public void visitInsn(int opcode) {
-            if (mustParseContent()) {
+            position++;
+            if (inHandler && opcode == Opcodes.MONITOREXIT) {
+                handlerReleasesMonitor = true;
+            }
+            if (isReachable()) {
                 switch (opcode) {
-                    case Opcodes.LNEG:
+                    case Opcodes.ACONST_NULL:
+                        stack.push(new J2xLiteral(null));
                         break;
+                    case Opcodes.ICONST_M1:
                     case Opcodes.ICONST_0:
                     case Opcodes.ICONST_1:
                     case Opcodes.ICONST_2:
@@ -307,19 +757,232 @@ public class ClassParser extends ClassVisitor {
                     case Opcodes.ICONST_5:
                         stack.push(new J2xLiteral(opcode - Opcodes.ICONST_0));
                         break;
+                    case Opcodes.LCONST_0:
+                    case Opcodes.LCONST_1:
+                        stack.push(new J2xLiteral((long) (opcode - Opcodes.LCONST_0)));
+                        break;
+                    case Opcodes.FCONST_0:
+                    case Opcodes.FCONST_1:
+                    case Opcodes.FCONST_2:
+                        stack.push(new J2xLiteral((float) (opcode - Opcodes.FCONST_0)));
+                        break;
+                    case Opcodes.DCONST_0:
+                    case Opcodes.DCONST_1:
+                        stack.push(new J2xLiteral((double) (opcode - Opcodes.DCONST_0)));
+                        break;
+                    case Opcodes.IADD:
+                    case Opcodes.LADD:
+                    case Opcodes.FADD:
+                    case Opcodes.DADD:
+                        binaryOperation(J2xOperator.ADD, opcode - Opcodes.IADD);
+                        break;
+                    case Opcodes.ISUB:
+                    case Opcodes.LSUB:
+                    case Opcodes.FSUB:
+                    case Opcodes.DSUB:
+                        binaryOperation(J2xOperator.SUBTRACT, opcode - Opcodes.ISUB);
+                        break;
+                    case Opcodes.IMUL:
+                    case Opcodes.LMUL:
+                    case Opcodes.FMUL:
+                    case Opcodes.DMUL:
+                        binaryOperation(J2xOperator.MULTIPLY, opcode - Opcodes.IMUL);
+                        break;
+                    case Opcodes.IDIV:
+                    case Opcodes.LDIV:
+                    case Opcodes.FDIV:
+                    case Opcodes.DDIV:
+                        binaryOperation(J2xOperator.DIVIDE, opcode - Opcodes.IDIV);
+                        break;
+                    case Opcodes.IREM:
+                    case Opcodes.LREM:
+                    case Opcodes.FREM:
+                    case Opcodes.DREM:
+                        binaryOperation(J2xOperator.REMAINDER, opcode - Opcodes.IREM);
+                        break;
+                    case Opcodes.INEG:
+                    case Opcodes.LNEG:
+                    case Opcodes.FNEG:
+                    case Opcodes.DNEG:
+                        stack.push(new J2xUnaryOperation(J2xOperator.NEGATE,
+                                NUMERIC_TYPES[opcode - Opcodes.INEG],
+                                stack.pop()));
+                        break;
+                    case Opcodes.ISHL:
+                    case Opcodes.LSHL:
+                        binaryOperation(J2xOperator.SHIFT_LEFT, opcode - Opcodes.ISHL);
+                        break;
+                    case Opcodes.ISHR:
+                    case Opcodes.LSHR:
+                        binaryOperation(J2xOperator.SHIFT_RIGHT, opcode - Opcodes.ISHR);
+                        break;
+                    case Opcodes.IUSHR:
+                    case Opcodes.LUSHR:
+                        binaryOperation(J2xOperator.UNSIGNED_SHIFT_RIGHT, opcode - Opcodes.IUSHR);
+                        break;
+                    case Opcodes.IAND:
+                    case Opcodes.LAND:
+                        binaryOperation(J2xOperator.AND, opcode - Opcodes.IAND);
+                        break;
+                    case Opcodes.IOR:
+                    case Opcodes.LOR:
+                        binaryOperation(J2xOperator.OR, opcode - Opcodes.IOR);
+                        break;
+                    case Opcodes.IXOR:
+                    case Opcodes.LXOR:
+                        binaryOperation(J2xOperator.XOR, opcode - Opcodes.IXOR);
+                        break;
+                    case Opcodes.I2L:
+                    case Opcodes.I2F:
+                    case Opcodes.I2D:
+                    case Opcodes.L2I:
+                    case Opcodes.L2F:
+                    case Opcodes.L2D:
+                    case Opcodes.F2I:
+                    case Opcodes.F2L:
+                    case Opcodes.F2D:
+                    case Opcodes.D2I:
+                    case Opcodes.D2L:
+                    case Opcodes.D2F:
+                        // Cada tipo de origen tiene sus 3 conversiones, en el orden de NUMERIC_TYPES salteando el propio
+                        int source = (opcode - Opcodes.I2L) / 3;
+                        int target = (opcode - Opcodes.I2L) % 3;
+                        conversion(NUMERIC_TYPES[source],
+                                NUMERIC_TYPES[target < source ? target : target + 1]);
+                        break;
+                    case Opcodes.I2B:
+                        conversion(J2xClass.INT, J2xClass.BYTE);
+                        break;
+                    case Opcodes.I2C:
+                        conversion(J2xClass.INT, J2xClass.CHAR);
+                        break;
+                    case Opcodes.I2S:
+                        conversion(J2xClass.INT, J2xClass.SHORT);
+                        break;
+                    case Opcodes.LCMP:
+                        comparison(J2xClass.LONG, 0);
+                        break;
+                    case Opcodes.FCMPL:
+                        comparison(J2xClass.FLOAT, -1);
+                        break;
+                    case Opcodes.FCMPG:
+                        comparison(J2xClass.FLOAT, 1);
+                        break;
+                    case Opcodes.DCMPL:
+                        comparison(J2xClass.DOUBLE, -1);
+                        break;
+                    case Opcodes.DCMPG:
+                        comparison(J2xClass.DOUBLE, 1);
+                        break;
+                    case Opcodes.IALOAD:
+                    case Opcodes.LALOAD:
+                    case Opcodes.FALOAD:
+                    case Opcodes.DALOAD:
+                    case Opcodes.AALOAD:
+                    case Opcodes.BALOAD:
+                    case Opcodes.CALOAD:
+                    case Opcodes.SALOAD: {
+                        Object index = stack.pop();
+                        Object array = stack.pop();
+                        stack.push(new J2xArrayLoad(array, index, arrayItemType(opcode - Opcodes.IALOAD, array)));
+                        break;
+                    }
+                    case Opcodes.IASTORE:
+                    case Opcodes.LASTORE:
+                    case Opcodes.FASTORE:
+                    case Opcodes.DASTORE:
+                    case Opcodes.AASTORE:
+                    case Opcodes.BASTORE:
+                    case Opcodes.CASTORE:
+                    case Opcodes.SASTORE: {
+                        Object value = stack.pop();
+                        Object index = stack.pop();
+                        Object array = stack.pop();
+                        J2xClass itemType = arrayItemType(opcode - Opcodes.IASTORE, array);
+                        storeAs(itemType, value);
+                        statement(new J2xArrayStore(array, index, value, itemType));
+                        break;
+                    }
+                    case Opcodes.ARRAYLENGTH:
+                        stack.push(new J2xArrayLength(stack.pop()));
+                        break;
+                    case Opcodes.ATHROW:
+                        statement(new J2xThrow(stack.pop()));
+                        // Una salida anticipada queda dentro del bloque synchronized
+                        pendingExits = 0;
+                        break;
+                    case Opcodes.MONITORENTER: {
+                        Object lock = monitorLock(stack.pop());
+                        identityUses.add(lock);
+                        J2xSynchronized block = new J2xSynchronized(lock, Lists.newArrayList());
+                        statement(block);
+                        openBlocks.push(block);
+                        break;
+                    }
+                    case Opcodes.MONITOREXIT:
+                        stack.pop();
+                        pendingExits++;
+                        break;
                     case Opcodes.IRETURN:
-                        stack.push(new J2xReturn(stack.pop()));
+                    case Opcodes.LRETURN:
+                    case Opcodes.FRETURN:
+                    case Opcodes.DRETURN:
+                    case Opcodes.ARETURN: {
+                        Object value = stack.pop();
+                        storeAs(parseDesc(returnType(desc)), value);
+                        statement(new J2xReturn(value));
+                        pendingExits = 0;
                         break;
+                    }
                     case Opcodes.RETURN:
-                        stack.push(new J2xReturn());
+                        statement(new J2xReturn());
+                        pendingExits = 0;
+                        break;
+                    case Opcodes.POP:
+                        discard(stack.pop());
+                        break;
+                    case Opcodes.POP2: {
+                        // Descarta un long/double o dos valores de una palabra
+                        Object element = stack.pop();
+                        discard(element);
+                        if (!isWide(element)) {
+                            discard(stack.pop());
+                        }
+                        break;
+                    }
+                    case Opcodes.DUP:
+                        duplicate(1, 0);
+                        break;
+                    case Opcodes.DUP_X1:
+                        duplicate(1, 1);
+                        break;
+                    case Opcodes.DUP_X2:
+                        duplicate(1, 2);
+                        break;
+                    case Opcodes.DUP2:
+                        duplicate(2, 0);
+                        break;
+                    case Opcodes.DUP2_X1:
+                        duplicate(2, 1);
                         break;
+                    case Opcodes.DUP2_X2:
+                        duplicate(2, 2);
+                        break;
+                    case Opcodes.SWAP: {
+                        Object top = stack.pop();
+                        Object below = stack.pop();
+                        stack.push(top);
+                        stack.push(below);
+                        break;
+                    }
                 }
             }
         }
 
         @Override
         public void visitIntInsn(int opcode, int operand) {
-            if (mustParseContent()) {
+            position++;
+            if (isReachable()) {
                 switch (opcode) {
                     case Opcodes.ALOAD:
                         stack.push(new J2xLiteral(operand));
@@ -330,114 +993,273 @@ public class ClassParser extends ClassVisitor {
                     case Opcodes.SIPUSH:
                         stack.push(new J2xLiteral((short) operand));
                         break;
+                    case Opcodes.NEWARRAY:
+                        newArray(descToPath(PRIMITIVE_ARRAY_DESCS[operand - Opcodes.T_BOOLEAN]) + J2xArray.ARRAY, 1);
+                        break;
                 }
             }
         }
 
         @Override
         public void visitVarInsn(int opcode, int var) {
-            J2xVariable variable = variable(var);
-            if (mustParseContent()) {
+            if (isReachable()) {
                 switch (opcode) {
+                    case Opcodes.ILOAD:
+                    case Opcodes.LLOAD:
+                    case Opcodes.FLOAD:
+                    case Opcodes.DLOAD:
                     case Opcodes.ALOAD:
-                        stack.push(variable);
+                        stack.push(load(var, varType(opcode)));
                         break;
                     case Opcodes.ISTORE:
                     case Opcodes.LSTORE:
                     case Opcodes.FSTORE:
                     case Opcodes.DSTORE:
                     case Opcodes.ASTORE:
-                        // TODO: deberia usar el opcode para determinar el tipo de la variable? esa info la tengo despues en visitLocalVariable (no sé si eso no es info de debug - estara siempre disponible?)
-                        stack.push(new J2xAssignment(variable, stack.pop()));
+                        Object value = stack.pop();
+                        spillReads(var);
+                        J2xAssignment assignment = new J2xAssignment(store(var, varType(opcode)), value);
+                        reassigned(assignment.getTarget());
+                        // El tipo de la variable se conoce recién al final del método
+                        localStores.add(assignment);
+                        statement(assignment);
                         break;
                 }
             }
+            position++;
         }
 
         @Override
         public void visitTypeInsn(int opcode, String type) {
-            if (mustParseContent()) {
-                super.visitTypeInsn(opcode, type);
+            position++;
+            if (isReachable()) {
+                switch (opcode) {
+                    case Opcodes.NEW:
+                        stack.push(new UninitializedObject(parseClassPath(type)));
+                        break;
+                    case Opcodes.ANEWARRAY:
+                        newArray(internalNameToPath(type) + J2xArray.ARRAY, 1);
+                        break;
+                    case Opcodes.CHECKCAST: {
+                        J2xCast cast = new J2xCast(stack.pop(), parseClassPath(internalNameToPath(type)));
+                        for (Object block : openBlocks) {
+                            if (block instanceof TypeTest && ((TypeTest) block).accepts(cast)) {
+                                ((TypeTest) block).getCasts().add(cast);
+                                break;
+                            }
+                        }
+                        stack.push(cast);
+                        break;
+                    }
+                    case Opcodes.INSTANCEOF:
+                        stack.push(new J2xInstanceOf(stack.pop(), parseClassPath(internalNameToPath(type))));
+                        break;
+                    default:
+                        super.visitTypeInsn(opcode, type);
+                }
             }
         }
 
         @Override
         public void visitFieldInsn(int opcode, String owner, String name, String desc) {
-            if (mustParseContent()) {
+            position++;
+            if (isReachable()) {
+                J2xClass ownerClass = parseClassPath(owner);
+                J2xField field = field(ownerClass, name, desc, opcode == Opcodes.GETSTATIC || opcode == Opcodes.PUTSTATIC);
+                nestAccess(ownerClass, field);
                 switch (opcode) {
                     case Opcodes.GETSTATIC:
+                        // Las constantes primitivas se inlinean, como hace javac
+                        stack.push(field.isConstant() && field.getType().isPrimitive()
+                                ? new J2xLiteral(field.getConstantValue())
+                                : new J2xFieldLoad(ownerClass, field, null));
+                        break;
+                    case Opcodes.PUTSTATIC: {
+                        Object value = stack.pop();
+                        storeAs(field.getType(), value);
+                        if (CLINIT.equals(this.name) && ownerClass == j2xClass && openBlocks.isEmpty()) {
+                            initializedFields.add(field);
+                        }
+                        statement(new J2xFieldStore(ownerClass, field, null, value));
+                        break;
+                    }
+                    case Opcodes.GETFIELD:
+                        stack.push(new J2xFieldLoad(ownerClass, field, stack.pop()));
                         break;
-                    case Opcodes.INVOKESPECIAL:
+                    case Opcodes.PUTFIELD: {
+                        Object value = stack.pop();
+                        Object target = stack.pop();
+                        storeAs(field.getType(), value);
+                        if (INIT.equals(this.name) && isThis(target) && ownerClass == j2xClass && openBlocks.isEmpty()) {
+                            initializedFields.add(field);
+                        }
+                        statement(new J2xFieldStore(ownerClass, field, target, value));
                         break;
+                    }
                 }
             }
         }
 
         @Override
         public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
-            if (mustParseContent()) {
-                switch (opcode) {
-                    case Opcodes.INVOKEVIRTUAL:
-                    case Opcodes.INVOKESPECIAL:
-                        List<Object> args = Lists.newArrayList();
-                        for (Object dummy : new DescIterable(argTypes(desc))) {
-                            args.add(stack.pop());
-                        }
-                        J2xVariable target = stack.pop();
-                        stack.push(new J2xMethodCall(target,
-                                parseClassPath(owner).findMethod(name, desc),
-                                args));
-                        break;
+            position++;
+            if (isReachable()) {
+                J2xClass ownerClass = parseClassPath(internalNameToPath(owner));
+                J2xMethod method = method(ownerClass, name, desc, opcode == Opcodes.INVOKESTATIC);
+                nestAccess(ownerClass, method);
+                List<Object> args = Lists.newArrayList();
+                for (Object dummy : new DescIterable(argTypes(desc))) {
+                    args.add(0, stack.pop());
+                }
+                int arg = 0;
+                for (J2xVariable argument : method.getArguments()) {
+                    if (arg < args.size()) {
+                        storeAs(argument.getType(), args.get(arg++));
+                    }
+                }
+                Object target = opcode != Opcodes.INVOKESTATIC
+                        ? stack.pop()
+                        : null;
+                identityCall(ownerClass, name, desc, target, args);
+                if (target instanceof UninitializedObject) {
+                    // NEW, DUP, <init>: la copia que quedó en el stack es el objeto ya construido
+                    J2xNewObject newObject = new J2xNewObject(((UninitializedObject) target).getType(), method, args);
+                    if (!stack.isEmpty() && stack.peek() == target) {
+                        stack.pop();
+                        stack.push(newObject);
+                    } else {
+                        statement(newObject);
+                    }
+                } else {
+                    J2xMethodCall call = new J2xMethodCall(ownerClass, target, method, args);
+                    if (J2xClass.VOID.equals(method.getType())) {
+                        statement(call);
+                    } else {
+                        stack.push(call);
+                    }
                 }
             }
         }
 
+        private boolean isThis(Object element) {
+            return self != null && element == self;
+        }
+
+        private void identityCall(J2xClass ownerClass, String name, String desc, Object target, List<Object> args) {
+            if (target != null
+                    && (ParseSession.EQUALS.equals(name) && ParseSession.EQUALS_DESC.equals(desc)
+                    || ParseSession.HASH_CODE.equals(name) && ParseSession.HASH_CODE_DESC.equals(desc))) {
+                session.usedAsObject(ownerClass);
+            } else if (IDENTITY_HASH_CODE.equals(name) && SYSTEM_CLASS_PATH.equals(classPath(ownerClass))) {
+                J2xClass type = elementType(args.get(0));
+                if (type != null) {
+                    type.markIdentitySensitive();
+                }
+            } else if (INIT.equals(name) && INIT.equals(this.name) && isThis(target) && ownerClass == j2xClass) {
+                // this(...): los campos los asigna el otro constructor
+                delegates = true;
+            }
+        }
+
         @Override
         public void visitInvokeDynamicInsn(String name, String desc, Handle bsm, Object... bsmArgs) {
-            if (mustParseContent()) {
-                super.visitInvokeDynamicInsn(name, desc, bsm, bsmArgs);
+            position++;
+            if (isReachable()) {
+                if (!STRING_CONCAT_FACTORY.equals(bsm.getOwner())) {
+                    // Lambdas y referencias a métodos todavía no se traducen; descartarlas dejaría el valor afuera
+                    throw unsupported("uses invokedynamic with " + bsm.getOwner().replace('/', '.') + "#"
+                            + bsm.getName());
+                }
+                stringConcat(argTypes(desc), "makeConcatWithConstants".equals(bsm.getName())
+                        ? (String) bsmArgs[0]
+                        : Strings.repeat(String.valueOf(CONCAT_ARGUMENT), Iterables.size(iterateArgs(desc))),
+                        bsmArgs);
             }
         }
 
         @Override
         public void visitJumpInsn(int opcode, Label label) {
-            if (mustParseContent()) {
-                super.visitJumpInsn(opcode, label);
+            position++;
+            if (isReachable()) {
+                jumpTargets.add(label);
+                if (opcode == Opcodes.IFEQ && isTypeTest(stack.peek()) && !(label.info instanceof Integer)) {
+                    // "if (x instanceof T)": el salto hacia adelante saltea el bloque cuando la comprobación falla
+                    closeSynchronizedBlocks();
+                    J2xInstanceOf test = stack.pop();
+                    openBlocks.push(new TypeTest(test, label, stack.size()));
+                    return;
+                }
+                if (opcode == Opcodes.GOTO && pendingExits > 0) {
+                    // La salida normal de un synchronized salta por encima del manejador que libera el monitor
+                    closeSynchronizedBlocks();
+                    return;
+                }
+                // El resto del control de flujo todavía no se traduce: descartar el salto cambiaría lo que hace
+                // el método
+                throw unsupported("has control flow");
             }
         }
 
         @Override
         public void visitLabel(Label label) {
-            super.visitLabel(label);
+            label.info = position;
+            closeTypeTests(label);
+            if (handlers.contains(label)) {
+                checkHandler();
+                inHandler = true;
+                handlerReleasesMonitor = false;
+            } else if (jumpTargets.contains(label)) {
+                checkHandler();
+                inHandler = false;
+            }
         }
 
         @Override
         public void visitLdcInsn(Object cst) {
-            if (mustParseContent()) {
+            position++;
+            if (isReachable()) {
                 stack.push(new J2xLiteral(cst));
             }
         }
 
         @Override
         public void visitIincInsn(int var, int increment) {
-            if (mustParseContent()) {
-                super.visitIincInsn(var, increment);
+            if (isReachable()) {
+                spillReads(var);
+                J2xVariable variable = load(var, J2xClass.INT);
+                reassigned(variable);
+                statement(new J2xAssignment(variable,
+                        new J2xBinaryOperation(J2xOperator.ADD,
+                                J2xClass.INT,
+                                variable,
+                                new J2xLiteral(increment))));
             }
+            position++;
         }
 
         @Override
         public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
-            super.visitTableSwitchInsn(min, max, dflt, labels);
+            position++;
+            if (isReachable()) {
+                // Como los saltos: descartar el switch dejaría todos los casos uno detrás del otro
+                throw unsupported("has control flow");
+            }
         }
 
         @Override
         public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
-            super.visitLookupSwitchInsn(dflt, keys, labels);
+            position++;
+            if (isReachable()) {
+                throw unsupported("has control flow");
+            }
         }
 
         @Override
         public void visitMultiANewArrayInsn(String desc, int dims) {
-            super.visitMultiANewArrayInsn(desc, dims);
+            position++;
+            if (isReachable()) {
+                newArray(descToPath(desc), dims);
+            }
         }
 
         @Override
@@ -449,7 +1271,7 @@ public class ClassParser extends ClassVisitor {
         public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
             if (mustParseContent()) {
                 if (descToPath(desc).equals("org/nibiru/j2x/ast/J2xNative")) {
-                    return new AnnotationVisitor(Opcodes.ASM5) {
+                    return new AnnotationVisitor(Opcodes.ASM9) {
                         String language;
                         String code;
 
@@ -491,7 +1313,12 @@ public class ClassParser extends ClassVisitor {
 
         @Override
         public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
-            super.visitTryCatchBlock(start, end, handler, type);
+            // Solo se saltea el manejador que libera el monitor de un synchronized, que en C# hace lock;
+            // se saltea hasta el siguiente destino de un salto. Un catch o un finally no se pueden descartar.
+            if (type != null && mustParseContent()) {
+                throw unsupported("catches " + type.replace('/', '.'));
+            }
+            handlers.add(handler);
         }
 
         @Override
@@ -517,30 +1344,56 @@ public class ClassParser extends ClassVisitor {
         public void visitEnd() {
             J2xClass returnType = parseDesc(returnType(desc));
             if (mustParseContent()) {
-                body.getElements().addAll(stack.asCollection());
+                checkHandler();
+                declareLocals();
+                for (J2xAssignment assignment : localStores) {
+                    storeAs(assignment.getTarget().getType(), assignment.getValue());
+                }
+                for (Object element : identityUses) {
+                    J2xClass type = elementType(element);
+                    if (type != null) {
+                        type.markIdentitySensitive();
+                    }
+                }
+                if (INIT.equals(name) && !delegates) {
+                    constructorFields.add(initializedFields);
+                } else if (CLINIT.equals(name)) {
+                    staticFields.addAll(initializedFields);
+                }
             } else {
                 body.getElements().add(buildEmptyReturn(returnType));
             }
-
-            int arg = 0;
-            for (String argType : iterateArgs(desc)) {
-                if (arguments.size() <= arg) {
-                    J2xVariable argVar = new J2xVariable();
-                    argVar.setName("a" + arg);
-                    argVar.setType(parseClassPath(descToPath(argType)));
-                    arguments.add(argVar);
-                }
-                arg++;
+            if (target == null) {
+                addMethod(returnType);
+            } else if (lazyTarget != null) {
+                lazyBody = body;
             }
+            if (!signaturesOnly) {
+                instructionCount += position;
+                listener.methodParsed(j2xClass, name, desc, position);
+            }
+        }
 
-            J2xMethod method = new J2xMethod(name,
+        private void addMethod(J2xClass returnType) {
+            J2xMethod method = signaturesOnly && lazyBodies
+                    ? new J2xMethod(name,
+                    returnType,
+                    access(access),
+                    isStatic(access),
+                    isFinal(access),
+                    desc,
+                    arguments,
+                    bodyLoader(classPath(j2xClass), session),
+                    (access & Opcodes.ACC_SYNCHRONIZED) != 0)
+                    : new J2xMethod(name,
                     returnType,
                     access(access),
                     isStatic(access),
                     isFinal(access),
                     desc,
                     arguments,
-                    body);
+                    body,
+                    (access & Opcodes.ACC_SYNCHRONIZED) != 0);
 
             // El retorno covariante genera 2 métodos con el mismo nombre y argumentos, pero con distinto tipo de retorno
             // Busco si el método ya fue parseado, para tomar el que retorne la clase más específica
@@ -551,21 +1404,479 @@ public class ClassParser extends ClassVisitor {
                 if (!method.getType().isAssignableFrom(existingMethod.getType())) {
                     j2xClass.getMethods().remove(existingMethod);
                     j2xClass.getMethods().add(method);
+                    session.discarded(classPath(j2xClass), existingMethod);
+                } else {
+                    session.discarded(classPath(j2xClass), method);
+                }
+            }
+        }
+
+        // La concatenación de Java 9+ se arma como la de javac 8, con un StringBuilder: la traducción no depende
+        // del compilador que generó las clases
+        private void stringConcat(String argTypes, String recipe, Object[] bsmArgs) {
+            List<Object> args = Lists.newArrayList();
+            List<String> types = Lists.newArrayList(new DescIterable(argTypes));
+            for (int i = 0; i < types.size(); i++) {
+                args.add(0, stack.pop());
+            }
+            J2xClass builderClass = parseClassPath(STRING_BUILDER_CLASS_PATH);
+            Object builder = new J2xNewObject(builderClass,
+                    method(builderClass, J2xMethod.CONSTRUCTOR_NAME, "()V", false),
+                    ImmutableList.of());
+            StringBuilder text = new StringBuilder();
+            int arg = 0;
+            int constant = 1;
+            for (int i = 0; i < recipe.length(); i++) {
+                char current = recipe.charAt(i);
+                if (current == CONCAT_ARGUMENT || current == CONCAT_CONSTANT) {
+                    if (text.length() > 0) {
+                        builder = append(builderClass, builder, new J2xLiteral(text.toString()), "Ljava/lang/String;");
+                        text.setLength(0);
+                    }
+                    if (current == CONCAT_ARGUMENT) {
+                        builder = append(builderClass, builder, args.get(arg), types.get(arg));
+                        arg++;
+                    } else {
+                        Object value = bsmArgs[constant++];
+                        builder = append(builderClass, builder, new J2xLiteral(value), constantDesc(value));
+                    }
+                } else {
+                    text.append(current);
+                }
+            }
+            if (text.length() > 0) {
+                builder = append(builderClass, builder, new J2xLiteral(text.toString()), "Ljava/lang/String;");
+            }
+            stack.push(new J2xMethodCall(builderClass,
+                    builder,
+                    method(builderClass, "toString", "()Ljava/lang/String;", false),
+                    ImmutableList.of()));
+        }
+
+        // La sobrecarga de append que elige javac según el tipo estático del valor
+        private Object append(J2xClass builderClass, Object builder, Object value, String valueDesc) {
+            String desc;
+            switch (valueDesc) {
+                case "Z":
+                case "C":
+                case "I":
+                case "J":
+                case "F":
+                case "D":
+                case "Ljava/lang/String;":
+                case "Ljava/lang/CharSequence;":
+                case "Ljava/lang/StringBuffer;":
+                    desc = valueDesc;
+                    break;
+                case "B":
+                case "S":
+                    desc = "I";
+                    break;
+                default:
+                    desc = "Ljava/lang/Object;";
+            }
+            J2xMethod method = method(builderClass, "append", "(" + desc + ")L" + STRING_BUILDER_CLASS_PATH + ";", false);
+            storeAs(parseDesc(desc), value);
+            return new J2xMethodCall(builderClass, builder, method, ImmutableList.of(value));
+        }
+
+        // Los argumentos estáticos del bootstrap son constantes del pool
+        private String constantDesc(Object value) {
+            if (value instanceof Integer) {
+                return "I";
+            } else if (value instanceof Long) {
+                return "J";
+            } else if (value instanceof Float) {
+                return "F";
+            } else if (value instanceof Double) {
+                return "D";
+            } else if (value instanceof String) {
+                return "Ljava/lang/String;";
+            } else {
+                return "Ljava/lang/Object;";
+            }
+        }
+
+        // Los opcodes aritméticos vienen agrupados por tipo: int, long, float, double
+        private void binaryOperation(J2xOperator operator, int typeOffset) {
+            Object right = stack.pop();
+            Object left = stack.pop();
+            stack.push(new J2xBinaryOperation(operator, NUMERIC_TYPES[typeOffset], left, right));
+        }
+
+        // Desde Java 11 las clases de un mismo nest usan directamente los miembros privados de las otras, sin los
+        // accessors access$NNN; en C# son clases separadas, así que el writer los tiene que publicar como internal
+        private void nestAccess(J2xClass owner, J2xMember member) {
+            if (member.getAccess() == J2xAccess.PRIVATE && !owner.equals(j2xClass)) {
+                member.markNestAccessed();
+            }
+        }
+
+        // Si la clase dueña todavía se está parseando (referencias cíclicas) el campo puede no estar indexado aún
+        private J2xField field(J2xClass owner, String name, String desc, boolean isStatic) {
+            J2xField field = owner.findField(name);
+            return field != null
+                    ? field
+                    : new J2xField(name, parseDesc(desc), J2xAccess.PUBLIC, isStatic, false);
+        }
+
+        // Los interfaces no se modelan, así que un método heredado de uno puede no encontrarse
+        private J2xMethod method(J2xClass owner, String name, String desc, boolean isStatic) {
+            J2xMethod method = owner.resolveMethod(name, desc);
+            return method != null
+                    ? method
+                    : new J2xMethod(name,
+                    parseDesc(returnType(desc)),
+                    J2xAccess.PUBLIC,
+                    isStatic,
+                    false,
+                    desc,
+                    ImmutableList.of(),
+                    new J2xBlock());
+        }
+
+        // javac guarda el lock en un local para liberarlo en el MONITOREXIT: "__t = expr; v = __t; lock (__t)".
+        // El local se descarta y, si el lock es una temporal recién asignada, se usa directamente la expresión.
+        private Object monitorLock(Object lock) {
+            List<Object> elements = elements(openBlocks.peek());
+            Object last = Iterables.getLast(elements, null);
+            if (last instanceof J2xAssignment && ((J2xAssignment) last).getValue() == lock) {
+                monitorLocals.add(((J2xAssignment) last).getTarget());
+                elements.remove(elements.size() - 1);
+                last = Iterables.getLast(elements, null);
+            }
+            if (last instanceof J2xAssignment
+                    && ((J2xAssignment) last).getTarget() == lock
+                    && temporaries.removeIf(temporary -> temporary == lock)) {
+                elements.remove(elements.size() - 1);
+                return ((J2xAssignment) last).getValue();
+            }
+            return lock;
+        }
+
+        // El código de un manejador que no libera un monitor es un finally, que no se puede descartar
+        private void checkHandler() {
+            if (inHandler && !handlerReleasesMonitor && mustParseContent()) {
+                throw unsupported("has a finally block");
+            }
+        }
+
+        private IllegalArgumentException unsupported(String reason) {
+            return new IllegalArgumentException("Method not supported (yet): " + j2xClass.getFullName() + "#"
+                    + name + " " + reason);
+        }
+
+        private void statement(Object element) {
+            elements(openBlocks.peek()).add(element);
+        }
+
+        private List<Object> elements(@Nullable Object block) {
+            if (block instanceof J2xSynchronized) {
+                return ((J2xSynchronized) block).getElements();
+            } else if (block instanceof TypeTest) {
+                return ((TypeTest) block).getElements();
+            } else {
+                return body.getElements();
+            }
+        }
+
+        private void closeSynchronizedBlocks() {
+            for (; pendingExits > 0 && openBlocks.peek() instanceof J2xSynchronized; pendingExits--) {
+                openBlocks.pop();
+            }
+            pendingExits = 0;
+        }
+
+        private boolean isTypeTest(Object element) {
+            return element instanceof J2xInstanceOf
+                    && ((J2xInstanceOf) element).getValue() instanceof J2xVariable;
+        }
+
+        // Al llegar al final del bloque, "if (x instanceof T) { ... (T) x ... }" pasa a ser "if (x is T p) { ... p ... }"
+        private void closeTypeTests(Label label) {
+            while (openBlocks.peek() instanceof TypeTest && ((TypeTest) openBlocks.peek()).getEnd() == label) {
+                TypeTest typeTest = (TypeTest) openBlocks.peek();
+                if (typeTest.getStackSize() != stack.size()) {
+                    // El bloque deja valores en el stack: es parte de una expresión, no una sentencia
+                    throw unsupported("has control flow");
+                }
+                openBlocks.pop();
+                J2xInstanceOf test = typeTest.getTest();
+                List<Object> elements = typeTest.getElements();
+                if (!typeTest.getCasts().isEmpty()) {
+                    J2xVariable binding = newLocal(test.getType());
+                    patterns.add(binding);
+                    test = new J2xInstanceOf(test.getValue(), test.getType(), binding);
+                    elements = Lists.transform(elements, element -> J2xElements.transform(element,
+                            child -> typeTest.getCasts().contains(child) ? binding : child));
+                }
+                statement(new J2xIf(test, Lists.newArrayList(elements)));
+            }
+            for (Object block : openBlocks) {
+                if (block instanceof TypeTest && ((TypeTest) block).getEnd() == label) {
+                    // El bloque termina dentro de otro que sigue abierto
+                    throw unsupported("has control flow");
+                }
+            }
+        }
+
+        private void reassigned(J2xVariable variable) {
+            for (Object block : openBlocks) {
+                if (block instanceof TypeTest && ((TypeTest) block).getVariable() == variable) {
+                    ((TypeTest) block).setReassigned();
+                }
+            }
+        }
+
+        private boolean isReachable() {
+            return mustParseContent() && !inHandler;
+        }
+
+        // Un valor descartado solo se conserva si tiene efectos secundarios
+        private void discard(Object element) {
+            if (element instanceof J2xMethodCall || element instanceof J2xNewObject) {
+                statement(element);
+            }
+        }
+
+        // long y double ocupan dos palabras del stack
+        private boolean isWide(Object element) {
+            if (element instanceof J2xLiteral) {
+                Object value = ((J2xLiteral) element).getValue();
+                return value instanceof Long || value instanceof Double;
+            } else {
+                J2xClass type = elementType(element);
+                return J2xClass.LONG.equals(type) || J2xClass.DOUBLE.equals(type);
+            }
+        }
+
+        // Copia los valores que ocupan las primeras "words" palabras del stack debajo de las "skipWords" siguientes.
+        // Duplicar una expresión la evaluaría dos veces, así que primero se guarda en una temporal.
+        private void duplicate(int words, int skipWords) {
+            List<Object> top = popWords(words);
+            List<Object> skipped = popWords(skipWords);
+            for (int i = 0; i < top.size(); i++) {
+                if (!isSimple(top.get(i))) {
+                    top.set(i, spill(top.get(i)));
+                }
+            }
+            for (Object element : Iterables.concat(top, skipped, top)) {
+                stack.push(element);
+            }
+        }
+
+        // Los valores quedan en el orden en que se apilaron
+        private List<Object> popWords(int words) {
+            List<Object> elements = Lists.newArrayList();
+            for (int count = 0; count < words; ) {
+                Object element = stack.pop();
+                elements.add(0, element);
+                count += isWide(element) ? 2 : 1;
+            }
+            return elements;
+        }
+
+        // Lo que sigue en el stack ya se evaluó en Java, así que no puede ver un store posterior sobre el mismo
+        // local, como el incremento de "return i++" o "a[i] = i++": las lecturas del local pasan a temporales.
+        // También las expresiones apiladas antes que ellas, para no cambiar el orden de evaluación.
+        private void spillReads(int var) {
+            List<Object> pending = Lists.newArrayList();
+            while (!stack.isEmpty()) {
+                pending.add(0, stack.pop());
+            }
+            int last = -1;
+            for (int i = 0; i < pending.size(); i++) {
+                if (reads(pending.get(i), var)) {
+                    last = i;
+                }
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                Object element = pending.get(i);
+                if (i <= last && (!isSimple(element) || reads(element, var))) {
+                    element = spill(element);
                 }
+                stack.push(element);
+            }
+        }
+
+        private boolean reads(Object element, int var) {
+            return J2xElements.any(element, child -> child instanceof J2xVariable
+                    && locals.isDefinedIn(var, (J2xVariable) child));
+        }
+
+        private J2xVariable spill(Object element) {
+            J2xVariable temporary = newLocal(elementType(element));
+            temporaries.add(temporary);
+            statement(new J2xAssignment(temporary, element));
+            return temporary;
+        }
+
+        private void newArray(String arrayPath, int dims) {
+            Object[] dimensions = new Object[dims];
+            for (int i = dims - 1; i >= 0; i--) {
+                dimensions[i] = stack.pop();
+            }
+            J2xArray type = (J2xArray) parseClassPath(arrayPath);
+            // Los elementos arrancan en null
+            if (!type.getItemClass().isPrimitive() && !isEnumValues(type)) {
+                type.getItemClass().markIdentitySensitive();
+            }
+            stack.push(new J2xNewArray(type, Arrays.asList(dimensions)));
+        }
+
+        // El array de values() que javac arma en el enum, en <clinit> o en $values(), y llena con todas las constantes
+        private boolean isEnumValues(J2xArray type) {
+            return j2xClass.isEnum()
+                    && type.getDimensions() == 1
+                    && type.getItemClass().equals(j2xClass)
+                    && (CLINIT.equals(name) || ENUM_VALUES_METHOD.equals(name));
+        }
+
+        // Un valor guardado con el tipo de una superclase o de un interface se usa como Object: según tenga equals
+        // y hashCode propios puede compararse por identidad (ver ParseSession.resolveObjectUses). Null siempre es
+        // identidad.
+        private void storeAs(J2xClass type, Object value) {
+            J2xClass valueType = elementType(value);
+            if (isNull(value)) {
+                type.markIdentitySensitive();
+            } else if (valueType != null
+                    && !valueType.isPrimitive()
+                    && !(valueType instanceof J2xArray)
+                    && !valueType.equals(type)) {
+                session.usedAsObject(valueType);
+            }
+        }
+
+        // Los opcodes de arrays vienen en el orden int, long, float, double, referencia, byte/boolean, char, short.
+        // BALOAD y BASTORE sirven tanto para byte[] como para boolean[], y los de referencia no dicen el tipo:
+        // si se conoce, manda el tipo estático del array.
+        private J2xClass arrayItemType(int typeOffset, Object array) {
+            J2xClass arrayType = elementType(array);
+            if (arrayType instanceof J2xArray) {
+                J2xArray type = (J2xArray) arrayType;
+                return type.getDimensions() == 1
+                        ? type.getItemClass()
+                        : new J2xArray(type.getItemClass(), type.getDimensions() - 1, parseClassPath(OBJECT_CLASS_PATH));
             }
+            switch (typeOffset) {
+                case 4:
+                    return parseClassPath(OBJECT_CLASS_PATH);
+                case 5:
+                    return J2xClass.BYTE;
+                case 6:
+                    return J2xClass.CHAR;
+                case 7:
+                    return J2xClass.SHORT;
+                default:
+                    return NUMERIC_TYPES[typeOffset];
+            }
+        }
+
+        private void conversion(J2xClass sourceType, J2xClass type) {
+            stack.push(new J2xConversion(sourceType, type, stack.pop()));
+        }
+
+        private void comparison(J2xClass type, int nanResult) {
+            Object right = stack.pop();
+            Object left = stack.pop();
+            stack.push(new J2xComparison(type, left, right, nanResult));
         }
 
-        private J2xVariable variable(int var) {
-            while (variables.size() <= var) {
-                variables.add(null);
+        private J2xVariable load(int var, @Nullable J2xClass type) {
+            LocalTable.Local local = locals.get(var);
+            if (local == null || !isSameKind(local.getVariable().getType(), type)) {
+                local = locals.define(var, newLocal(type), position);
+            } else {
+                local.use(position);
             }
-            J2xVariable variable = variables.get(var);
-            if (variable == null) {
-                variable = new J2xVariable();
-                variables.set(var, variable);
+            return local.getVariable();
+        }
+
+        // Cada store define una variable nueva (salvo sobre un argumento), que luego se unifica por nombre
+        private J2xVariable store(int var, @Nullable J2xClass type) {
+            LocalTable.Local local = locals.get(var);
+            if (local != null && local.isParameter() && isSameKind(local.getVariable().getType(), type)) {
+                local.use(position);
+                return local.getVariable();
+            } else {
+                return locals.define(var, newLocal(type), position).getVariable();
             }
+        }
+
+        private J2xVariable newLocal(@Nullable J2xClass type) {
+            J2xVariable variable = new J2xVariable();
+            variable.setType(type == null
+                    ? parseClassPath(OBJECT_CLASS_PATH)
+                    : type);
             return variable;
         }
+
+        // Las definiciones con el mismo nombre y tipo de debug son la misma variable de Java.
+        // Sin info de debug no se conocen los rangos, así que se unifican las del mismo slot y tipo de stack.
+        private void declareLocals() {
+            Map<String, List<J2xVariable>> groups = Maps.newLinkedHashMap();
+            for (LocalTable.Local local : locals.locals()) {
+                J2xVariable variable = local.getVariable();
+                String key = variable.getName() != null
+                        ? variable.getName() + ":" + variable.getType().getFullName()
+                        : "v" + local.getSlot() + ":" + stackType(variable.getType());
+                groups.computeIfAbsent(key, k -> Lists.newArrayList())
+                        .add(variable);
+            }
+            for (J2xVariable temporary : temporaries) {
+                groups.put(TEMPORARY_NAME + ":" + groups.size(), ImmutableList.of(temporary));
+            }
+
+            Set<String> names = Sets.newHashSet(THIS_NAME);
+            for (J2xVariable argument : arguments) {
+                names.add(argument.getName());
+            }
+            for (Map.Entry<String, List<J2xVariable>> group : groups.entrySet()) {
+                if (monitorLocals.containsAll(group.getValue())) {
+                    continue;
+                }
+                J2xVariable declaration = group.getValue().get(0);
+                String baseName = group.getKey().substring(0, group.getKey().indexOf(':'));
+                String name = baseName;
+                for (int n = 1; !names.add(name); n++) {
+                    name = baseName + "_" + n;
+                }
+                J2xClass type = declaration.getType();
+                for (J2xVariable variable : group.getValue()) {
+                    if (!type.equals(variable.getType())) {
+                        type = commonSuperClass(type, variable.getType(), parseClassPath(OBJECT_CLASS_PATH));
+                    }
+                }
+                for (J2xVariable variable : group.getValue()) {
+                    variable.setName(name);
+                    variable.setType(type);
+                }
+                body.getVariables().add(declaration);
+            }
+            // Las variables de los patrones se declaran en la condición del if
+            for (J2xVariable pattern : patterns) {
+                String name = PATTERN_NAME;
+                for (int n = 1; !names.add(name); n++) {
+                    name = PATTERN_NAME + "_" + n;
+                }
+                pattern.setName(name);
+            }
+        }
+
+        private int position(Label label, int defaultPosition) {
+            return label.info instanceof Integer
+                    ? (Integer) label.info
+                    : defaultPosition;
+        }
+
+        private void refine(J2xVariable variable, J2xClass type) {
+            J2xClass objectClass = parseClassPath(OBJECT_CLASS_PATH);
+            if (variable.getType().equals(objectClass)) {
+                variable.setType(type);
+            } else if (!isSubclass(type, variable.getType())) {
+                variable.setType(commonSuperClass(variable.getType(), type, objectClass));
+            }
+        }
     }
 
     private static J2xReturn buildEmptyReturn(J2xClass returnType) {
@@ -590,6 +1901,10 @@ public class ClassParser extends ClassVisitor {
         return returnValue;
     }
 
+    private static String classPath(J2xClass j2xClass) {
+        return j2xClass.getFullName().replace('.', '/');
+    }
+
     private boolean mustParseContent() {
         return parsePolicy.mustParseContent(j2xClass.getFullName());
     }
@@ -598,8 +1913,110 @@ public class ClassParser extends ClassVisitor {
         return new DescIterable(argTypes(desc));
     }
 
-    private static int argCount(String desc) {
-        return Iterables.size(iterateArgs(desc));
+    private static int slotSize(String desc) {
+        return desc.equals("J") || desc.equals("D")
+                ? 2
+                : 1;
+    }
+
+    // Tipo de la variable según el opcode de load/store; null para referencias
+    private static J2xClass varType(int opcode) {
+        switch (opcode) {
+            case Opcodes.ILOAD:
+            case Opcodes.ISTORE:
+                return J2xClass.INT;
+            case Opcodes.LLOAD:
+            case Opcodes.LSTORE:
+                return J2xClass.LONG;
+            case Opcodes.FLOAD:
+            case Opcodes.FSTORE:
+                return J2xClass.FLOAT;
+            case Opcodes.DLOAD:
+            case Opcodes.DSTORE:
+                return J2xClass.DOUBLE;
+            default:
+                return null;
+        }
+    }
+
+    // Tipo con el que la JVM maneja el valor en el stack; null para referencias
+    private static J2xClass stackType(@Nullable J2xClass type) {
+        if (J2xClass.BOOLEAN.equals(type)
+                || J2xClass.CHAR.equals(type)
+                || J2xClass.BYTE.equals(type)
+                || J2xClass.SHORT.equals(type)
+                || J2xClass.INT.equals(type)) {
+            return J2xClass.INT;
+        } else if (type != null && type.isPrimitive()) {
+            return type;
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isNull(Object element) {
+        return element instanceof J2xLiteral
+                && ((J2xLiteral) element).getValue() == null;
+    }
+
+    private static boolean isSimple(Object element) {
+        return element instanceof J2xVariable
+                || element instanceof J2xLiteral
+                || element instanceof UninitializedObject;
+    }
+
+    // Tipo estático de una expresión; null si no se conoce
+    @Nullable
+    private static J2xClass elementType(Object element) {
+        if (element instanceof J2xMethodCall) {
+            return ((J2xMethodCall) element).getMethod().getType();
+        } else if (element instanceof J2xVariable) {
+            return ((J2xVariable) element).getType();
+        } else if (element instanceof J2xBinaryOperation) {
+            return ((J2xBinaryOperation) element).getType();
+        } else if (element instanceof J2xUnaryOperation) {
+            return ((J2xUnaryOperation) element).getType();
+        } else if (element instanceof J2xConversion) {
+            return ((J2xConversion) element).getType();
+        } else if (element instanceof J2xFieldLoad) {
+            return ((J2xFieldLoad) element).getField().getType();
+        } else if (element instanceof J2xArrayLoad) {
+            return ((J2xArrayLoad) element).getType();
+        } else if (element instanceof J2xNewArray) {
+            return ((J2xNewArray) element).getType();
+        } else if (element instanceof J2xNewObject) {
+            return ((J2xNewObject) element).getType();
+        } else if (element instanceof J2xCast) {
+            return ((J2xCast) element).getType();
+        } else if (element instanceof J2xInstanceOf) {
+            return J2xClass.BOOLEAN;
+        } else if (element instanceof J2xArrayLength || element instanceof J2xComparison) {
+            return J2xClass.INT;
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isSameKind(@Nullable J2xClass type, @Nullable J2xClass other) {
+        return Objects.equal(stackType(type), stackType(other));
+    }
+
+    private static boolean isSubclass(J2xClass type, J2xClass superClass) {
+        for (J2xClass current = type; current != null; current = current.getSuperClass()) {
+            if (current.equals(superClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static J2xClass commonSuperClass(J2xClass type, J2xClass other, J2xClass objectClass) {
+        for (J2xClass current = type; current != null; current = current.getSuperClass()) {
+            if (isSubclass(other, current)) {
+                return current;
+            }
+        }
+        return objectClass;
     }
 
     private static String argTypes(String desc) {
@@ -0,0 +1,225 @@
+package org.nibiru.j2x.asm;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+
+import org.nibiru.j2x.ast.J2xArray;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xField;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xVariable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Modelos de clases de biblioteca compartidos entre sesiones de ClassParser.parse, que pueden correr en
+// paralelo: cada sesión parsea su aplicación y toma del registro las clases de las que solo necesita firmas.
+// Se comparte una clase cuando la sesión que la parseó no le parseó contenido, ni a nada de lo que aparece en sus
+// firmas; así nunca apunta a clases de una sesión. Se publican al terminar cada sesión, ya completas.
+// Una clase compartida no vuelve a modificarse, salvo la marca de J2xClass.isIdentitySensitive: una sesión
+// puede ver la que dejó otra, y entonces no la traduce a un struct. Es conservador, nunca incorrecto.
+// Con un peso máximo, las clases menos usadas recientemente salen del registro; la próxima sesión que las pida
+// las vuelve a parsear y a publicar. Las sesiones que ya las tomaron las siguen teniendo.
+// Una clase del registro apunta a las instancias de todo lo que aparece en sus firmas, así que al salir una
+// salen también las que la referencian: si quedaran, la seguirían reteniendo, y una sesión que las tomara
+// tendría dos instancias de la misma clase. Por eso el registro siempre tiene la clausura de cada clase.
+public class ClassRegistry {
+    private final Cache<String, SharedClass> classes;
+    // Por clase, las del registro que la referencian. Protegido por this, igual que las publicaciones
+    private final SetMultimap<String, String> dependents;
+
+    public ClassRegistry() {
+        this(CacheBuilder.newBuilder()
+                .recordStats());
+    }
+
+    // El peso de una clase se estima por sus miembros y los nodos de sus cuerpos (ver weight). Las clases del JDK
+    // están muy conectadas entre sí: un límite menor que la clausura de las de uso común deja el registro vacío
+    public ClassRegistry(long maximumWeight) {
+        this(CacheBuilder.newBuilder()
+                .recordStats()
+                .maximumWeight(maximumWeight)
+                .weigher((String classPath, SharedClass shared) -> weight(shared.j2xClass)));
+    }
+
+    private ClassRegistry(CacheBuilder<? super String, ? super SharedClass> builder) {
+        this.dependents = HashMultimap.create();
+        this.classes = builder.<String, SharedClass>removalListener(this::removed)
+                .build();
+    }
+
+    public long size() {
+        return classes.size();
+    }
+
+    // Aciertos y fallos de las sesiones, y clases desalojadas
+    public CacheStats stats() {
+        return classes.stats();
+    }
+
+    @Nullable
+    J2xClass get(String classPath) {
+        SharedClass shared = classes.getIfPresent(classPath);
+        return shared != null
+                ? shared.j2xClass
+                : null;
+    }
+
+    // Lo que alcanzó la clase al parsearse, o null si ya no está en el registro
+    @Nullable
+    List<J2xClass> references(String classPath) {
+        SharedClass shared = classes.asMap().get(classPath);
+        return shared != null
+                ? shared.references
+                : null;
+    }
+
+    // Saca una clase, y con ella las que la referencian (ver removed)
+    void invalidate(String classPath) {
+        classes.invalidate(classPath);
+    }
+
+    synchronized void publish(ParseSession session) {
+        // Candidatas: las propias sin contenido que el registro no tiene; se descartan las que referencian algo
+        // que no se comparte, y las tomadas que salieron del registro mientras tanto
+        Map<J2xClass, String> candidates = Maps.newIdentityHashMap();
+        Map<J2xClass, List<J2xClass>> references = Maps.newIdentityHashMap();
+        // Por instancia: un ciclo entre superclases y firmas puede dejar referencias a otra instancia de la misma
+        // clase, y quien la tomara tendría las dos
+        Set<J2xClass> shareable = Sets.newIdentityHashSet();
+        for (Map.Entry<String, J2xClass> entry : session.getClasses().entrySet()) {
+            SharedClass shared = classes.asMap().get(entry.getKey());
+            if (session.isBorrowed(entry.getKey())) {
+                if (shared != null && shared.j2xClass == entry.getValue()) {
+                    shareable.add(entry.getValue());
+                }
+            } else if (shared == null
+                    && !session.getParsePolicy().mustParseContent(entry.getValue().getFullName())) {
+                candidates.put(entry.getValue(), entry.getKey());
+                List<J2xClass> reached = references(entry.getValue());
+                for (J2xClass discarded : session.getDiscardedReferences(entry.getKey())) {
+                    addReference(reached, discarded);
+                }
+                references.put(entry.getValue(), reached);
+            }
+        }
+        shareable.addAll(candidates.keySet());
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (J2xClass candidate : candidates.keySet()) {
+                if (shareable.contains(candidate) && !referencesOnly(references.get(candidate), shareable)) {
+                    shareable.remove(candidate);
+                    changed = true;
+                }
+            }
+        }
+        for (Map.Entry<J2xClass, String> entry : candidates.entrySet()) {
+            if (shareable.contains(entry.getKey())) {
+                List<J2xClass> reached = references.get(entry.getKey());
+                for (J2xClass reference : reached) {
+                    if (!reference.isPrimitive()) {
+                        dependents.put(classPath(reference), entry.getValue());
+                    }
+                }
+                classes.put(entry.getValue(), new SharedClass(entry.getKey(), reached));
+            }
+        }
+        // Agregar una puede haber desalojado a otra que ya estaba, o que se agregó antes y la referencia
+        for (Map.Entry<J2xClass, String> entry : candidates.entrySet()) {
+            SharedClass shared = classes.asMap().get(entry.getValue());
+            if (shared != null && shared.j2xClass == entry.getKey() && !isComplete(shared)) {
+                classes.invalidate(entry.getValue());
+            }
+        }
+    }
+
+    private boolean isComplete(SharedClass shared) {
+        for (J2xClass reference : shared.references) {
+            SharedClass referenced = classes.asMap().get(classPath(reference));
+            if (!reference.isPrimitive() && (referenced == null || referenced.j2xClass != reference)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void removed(RemovalNotification<String, SharedClass> notification) {
+        String classPath = notification.getKey();
+        for (J2xClass reference : notification.getValue().references) {
+            dependents.remove(classPath(reference), classPath);
+        }
+        classes.invalidateAll(ImmutableList.copyOf(dependents.removeAll(classPath)));
+    }
+
+    private static String classPath(J2xClass j2xClass) {
+        return j2xClass.getFullName().replace('.', '/');
+    }
+
+    // Una unidad por la clase y por cada miembro, argumento y elemento de los cuerpos
+    static int weight(J2xClass j2xClass) {
+        int weight = 1 + j2xClass.getFields().size();
+        for (J2xMethod method : j2xClass.getMethods()) {
+            weight += 1 + Iterables.size(method.getArguments()) + method.getBody().getElements().size();
+        }
+        return weight;
+    }
+
+    private static boolean referencesOnly(List<J2xClass> references, Set<J2xClass> shareable) {
+        for (J2xClass reference : references) {
+            if (!reference.isPrimitive() && !shareable.contains(reference)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Las clases que aparecen en las firmas; de un array, el tipo de los elementos y Object
+    static List<J2xClass> references(J2xClass j2xClass) {
+        List<J2xClass> references = Lists.newArrayList();
+        addReference(references, j2xClass.getSuperClass());
+        for (J2xField field : j2xClass.getFields()) {
+            addReference(references, field.getType());
+        }
+        for (J2xMethod method : j2xClass.getMethods()) {
+            addReference(references, method.getType());
+            for (J2xVariable argument : method.getArguments()) {
+                addReference(references, argument.getType());
+            }
+        }
+        return references;
+    }
+
+    private static void addReference(List<J2xClass> references, @Nullable J2xClass type) {
+        if (type instanceof J2xArray) {
+            addReference(references, ((J2xArray) type).getItemClass());
+            addReference(references, type.getSuperClass());
+        } else if (type != null) {
+            references.add(type);
+        }
+    }
+
+    private static class SharedClass {
+        private final J2xClass j2xClass;
+        private final List<J2xClass> references;
+
+        private SharedClass(J2xClass j2xClass, List<J2xClass> references) {
+            this.j2xClass = checkNotNull(j2xClass);
+            this.references = checkNotNull(references);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.nibiru.j2x.asm;
+
+import com.google.common.collect.Lists;
+
+import org.nibiru.j2x.ast.element.J2xVariable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Tabla de variables locales indexada por slot.
+// Cada store define una variable nueva; las que resultan ser la misma variable de Java
+// se unifican después por nombre, usando los rangos de la LocalVariableTable.
+class LocalTable {
+    private static final int INITIAL_SLOTS = 16;
+
+    private Local[] current;
+    private final List<List<Local>> definitions;
+    private final List<Local> locals;
+
+    LocalTable() {
+        current = new Local[INITIAL_SLOTS];
+        definitions = Lists.newArrayList();
+        locals = Lists.newArrayList();
+    }
+
+    @Nullable
+    public Local get(int slot) {
+        return slot < current.length
+                ? current[slot]
+                : null;
+    }
+
+    public Local bind(int slot, J2xVariable variable) {
+        return put(new Local(slot, variable, -1));
+    }
+
+    public Local define(int slot, J2xVariable variable, int position) {
+        Local local = put(new Local(slot, variable, position));
+        locals.add(local);
+        return local;
+    }
+
+    @Nullable
+    public Local parameter(int slot) {
+        List<Local> slotDefinitions = definitions(slot);
+        return slotDefinitions.isEmpty() || !slotDefinitions.get(0).isParameter()
+                ? null
+                : slotDefinitions.get(0);
+    }
+
+    // Definiciones del slot cuyo uso cae en el rango [start, end) de instrucciones.
+    // El store que inicializa la variable queda justo antes del inicio del rango.
+    public List<Local> find(int slot, int start, int end) {
+        List<Local> slotDefinitions = definitions(slot);
+        int low = 0;
+        int high = slotDefinitions.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (slotDefinitions.get(middle).last < start - 1) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int from = low;
+        while (high < slotDefinitions.size() && slotDefinitions.get(high).first < end) {
+            high++;
+        }
+        return slotDefinitions.subList(from, high);
+    }
+
+    // Si la variable es alguna de las definiciones del slot
+    public boolean isDefinedIn(int slot, J2xVariable variable) {
+        for (Local local : definitions(slot)) {
+            if (local.variable == variable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Local> locals() {
+        return Collections.unmodifiableList(locals);
+    }
+
+    private Local put(Local local) {
+        if (local.slot >= current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, local.slot + 1));
+        }
+        current[local.slot] = local;
+        definitions(local.slot).add(local);
+        return local;
+    }
+
+    private List<Local> definitions(int slot) {
+        while (definitions.size() <= slot) {
+            definitions.add(Lists.newArrayList());
+        }
+        return definitions.get(slot);
+    }
+
+    static class Local {
+        private final int slot;
+        private final J2xVariable variable;
+        private final int first;
+        private int last;
+
+        private Local(int slot, J2xVariable variable, int first) {
+            this.slot = slot;
+            this.variable = checkNotNull(variable);
+            this.first = first;
+            this.last = first;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        public J2xVariable getVariable() {
+            return variable;
+        }
+
+        public boolean isParameter() {
+            return first < 0;
+        }
+
+        public void use(int position) {
+            last = position;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.nibiru.j2x.asm;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xVariable;
+import org.nibiru.j2x.metrics.TranslationListener;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Una traducción: las clases que parseó, cómo parsearlas y a quién avisarle. Una sesión se usa desde un solo
+// thread; lo que se comparte entre sesiones concurrentes está en el ClassRegistry.
+class ParseSession {
+    static final String EQUALS = "equals";
+    static final String EQUALS_DESC = "(Ljava/lang/Object;)Z";
+    static final String HASH_CODE = "hashCode";
+    static final String HASH_CODE_DESC = "()I";
+
+    private final Map<String, J2xClass> classes;
+    // Las clases tomadas del registro: no son de la sesión y no se modifican
+    private final Set<String> borrowed;
+    // Tipos que solo aparecían en un método descartado, el puente de un retorno covariante. Igual se parsearon,
+    // así que una sesión que toma la clase del registro también tiene que alcanzarlos.
+    private final Map<String, List<J2xClass>> discardedReferences;
+    private final ParsePolicy parsePolicy;
+    private final TranslationListener listener;
+    @Nullable
+    private final ClassRegistry registry;
+    // Solo en stream: clases con contenido a las que les falta la pasada de los cuerpos
+    @Nullable
+    private final Queue<String> pendingBodies;
+    // Solo en parseLazy: los métodos de las clases con contenido se crean con el cuerpo diferido
+    private final boolean lazyBodies;
+    // Clases con instancias usadas como Object: se resuelven cuando ya se conocen todos sus métodos
+    private final Set<J2xClass> usedAsObject;
+
+    ParseSession(ParsePolicy parsePolicy,
+                 TranslationListener listener,
+                 @Nullable ClassRegistry registry) {
+        this(parsePolicy, listener, registry, null, false);
+    }
+
+    ParseSession(ParsePolicy parsePolicy,
+                 TranslationListener listener,
+                 @Nullable ClassRegistry registry,
+                 @Nullable Queue<String> pendingBodies,
+                 boolean lazyBodies) {
+        this.parsePolicy = checkNotNull(parsePolicy);
+        this.listener = checkNotNull(listener);
+        this.registry = registry;
+        this.pendingBodies = pendingBodies;
+        this.lazyBodies = lazyBodies;
+        classes = Maps.newHashMap();
+        borrowed = Sets.newHashSet();
+        discardedReferences = Maps.newHashMap();
+        usedAsObject = Sets.newIdentityHashSet();
+    }
+
+    Map<String, J2xClass> getClasses() {
+        return classes;
+    }
+
+    ParsePolicy getParsePolicy() {
+        return parsePolicy;
+    }
+
+    TranslationListener getListener() {
+        return listener;
+    }
+
+    @Nullable
+    Queue<String> getPendingBodies() {
+        return pendingBodies;
+    }
+
+    boolean isLazyBodies() {
+        return lazyBodies;
+    }
+
+    void discarded(String classPath, J2xMethod method) {
+        List<J2xClass> references = discardedReferences.computeIfAbsent(classPath, key -> Lists.newArrayList());
+        references.add(method.getType());
+        for (J2xVariable argument : method.getArguments()) {
+            references.add(argument.getType());
+        }
+    }
+
+    List<J2xClass> getDiscardedReferences(String classPath) {
+        return discardedReferences.getOrDefault(classPath, ImmutableList.of());
+    }
+
+    void usedAsObject(J2xClass j2xClass) {
+        usedAsObject.add(checkNotNull(j2xClass));
+    }
+
+    // Sin equals y hashCode propios, una instancia usada como Object se compara por identidad
+    void resolveObjectUses() {
+        for (J2xClass j2xClass : usedAsObject) {
+            if (j2xClass.findMethod(EQUALS, EQUALS_DESC) == null
+                    || j2xClass.findMethod(HASH_CODE, HASH_CODE_DESC) == null) {
+                j2xClass.markIdentitySensitive();
+            }
+        }
+        usedAsObject.clear();
+    }
+
+    boolean isBorrowed(String classPath) {
+        return borrowed.contains(classPath);
+    }
+
+    // Busca primero en la sesión y después en el registro; una clase que la sesión parsea con contenido
+    // es siempre propia
+    @Nullable
+    J2xClass find(String classPath) {
+        J2xClass j2xClass = classes.get(classPath);
+        if (j2xClass == null
+                && registry != null
+                && !parsePolicy.mustParseContent(classPath.replace('/', '.'))) {
+            J2xClass shared = registry.get(classPath);
+            if (shared != null && borrow(classPath, shared)) {
+                j2xClass = shared;
+            }
+        }
+        return j2xClass;
+    }
+
+    // Con todo lo que alcanzan sus firmas, como si la sesión la hubiera parseado. Si algo de eso ya salió del
+    // registro, la sesión lo parsea con contenido o ya tiene su propia instancia, no se toma nada: la clase
+    // apuntaría a una instancia distinta de la que tiene la sesión, y la sesión la parsea por su cuenta.
+    private boolean borrow(String classPath, J2xClass j2xClass) {
+        Map<String, J2xClass> closure = Maps.newHashMap();
+        Deque<J2xClass> pending = Queues.newArrayDeque();
+        closure.put(classPath, j2xClass);
+        pending.add(j2xClass);
+        while (!pending.isEmpty()) {
+            List<J2xClass> references = registry.references(classPath(pending.remove()));
+            if (references == null) {
+                return false;
+            }
+            for (J2xClass reference : references) {
+                if (reference.isPrimitive()) {
+                    continue;
+                }
+                String referencePath = classPath(reference);
+                J2xClass known = classes.containsKey(referencePath)
+                        ? classes.get(referencePath)
+                        : closure.get(referencePath);
+                if (known == null) {
+                    if (registry.get(referencePath) != reference
+                            || parsePolicy.mustParseContent(reference.getFullName())) {
+                        return false;
+                    }
+                    closure.put(referencePath, reference);
+                    pending.add(reference);
+                } else if (known != reference) {
+                    return false;
+                }
+            }
+        }
+        classes.putAll(closure);
+        borrowed.addAll(closure.keySet());
+        return true;
+    }
+
+    private static String classPath(J2xClass j2xClass) {
+        return j2xClass.getFullName().replace('.', '/');
+    }
+
+    // Terminado el parseo, le deja al registro las clases propias que se pueden compartir
+    void publish() {
+        if (registry != null) {
+            registry.publish(this);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package org.nibiru.j2x.asm;
 
 import com.google.common.collect.Lists;
 
-import java.util.Collection;
 import java.util.LinkedList;
 
 class Stack {
@@ -16,12 +15,21 @@ class Stack {
         stack.push(element);
     }
 
+    // Quien llama sabe qué tipo dejó en la pila
+    @SuppressWarnings("unchecked")
     public <T> T pop() {
         return (T) stack.pop();
     }
 
-    public Collection<Object> asCollection() {
-        // TODO: totalmente ineficiente, podrian mantenerse 2 listas donde se pushee/popee al reves
-        return Lists.reverse(stack);
+    public Object peek() {
+        return stack.peek();
+    }
+
+    public int size() {
+        return stack.size();
+    }
+
+    public boolean isEmpty() {
+        return stack.isEmpty();
     }
 }
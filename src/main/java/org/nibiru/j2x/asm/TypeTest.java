@@ -0,0 +1,74 @@
+package org.nibiru.j2x.asm;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.nibiru.j2x.ast.element.J2xCast;
+import org.nibiru.j2x.ast.element.J2xInstanceOf;
+import org.nibiru.j2x.ast.element.J2xVariable;
+import org.objectweb.asm.Label;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Bloque abierto por "if (x instanceof T)": un INSTANCEOF seguido de un IFEQ hacia adelante.
+// Se cierra al llegar a la etiqueta del salto, y las conversiones de x a T que tenga adentro
+// se reemplazan por la variable del patrón.
+class TypeTest {
+    private final J2xInstanceOf test;
+    private final Label end;
+    private final int stackSize;
+    private final List<Object> elements;
+    // Por identidad: dos conversiones iguales pueden estar en lugares distintos
+    private final Set<J2xCast> casts;
+    private boolean reassigned;
+
+    TypeTest(J2xInstanceOf test, Label end, int stackSize) {
+        this.test = checkNotNull(test);
+        this.end = checkNotNull(end);
+        this.stackSize = stackSize;
+        elements = Lists.newArrayList();
+        casts = Sets.newIdentityHashSet();
+    }
+
+    public J2xInstanceOf getTest() {
+        return test;
+    }
+
+    public J2xVariable getVariable() {
+        return (J2xVariable) test.getValue();
+    }
+
+    public Label getEnd() {
+        return end;
+    }
+
+    public int getStackSize() {
+        return stackSize;
+    }
+
+    public List<Object> getElements() {
+        return elements;
+    }
+
+    public Set<J2xCast> getCasts() {
+        return casts;
+    }
+
+    // Si la variable se vuelve a asignar dentro del bloque, sus conversiones ya no son del valor comprobado
+    public boolean isReassigned() {
+        return reassigned;
+    }
+
+    public void setReassigned() {
+        reassigned = true;
+    }
+
+    public boolean accepts(J2xCast cast) {
+        return !reassigned
+                && cast.getValue() == test.getValue()
+                && cast.getType().equals(test.getType());
+    }
+}
@@ -0,0 +1,19 @@
+package org.nibiru.j2x.asm;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Resultado de un NEW cuyo constructor todavía no se invocó.
+// Cuando llega el INVOKESPECIAL <init> se reemplaza por un J2xNewObject.
+class UninitializedObject {
+    private final J2xClass type;
+
+    UninitializedObject(J2xClass type) {
+        this.type = checkNotNull(type);
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+}
@@ -0,0 +1,6 @@
+package org.nibiru.j2x.ast;
+
+// Decodifica el cuerpo de un método la primera vez que se lo pide (ver J2xMethod.getBody)
+public interface J2xBodyLoader {
+    J2xBlock load(J2xMethod method);
+}
@@ -2,10 +2,14 @@ package org.nibiru.j2x.ast;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Strings;
+import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 import javax.annotation.Nullable;
 
@@ -25,14 +29,21 @@ public class J2xClass {
 
     private final String name;
     private final String packageName;
-    private final J2xClass superClass;
+    // El parser la asigna después de registrar la clase, para que un ciclo que vuelve a ella no la parsee de nuevo
+    private J2xClass superClass;
     private final J2xAccess access;
+    private final boolean isFinal;
+    private final boolean isEnum;
     private boolean isPrimitive;
-    private final Collection<J2xField> fields;
+    // Puede marcarlo una sesión sobre una clase compartida con otras (ver ClassRegistry)
+    private volatile boolean isIdentitySensitive;
+    private final Map<String, J2xField> fields;
     private final Collection<J2xMethod> methods;
+    // Solo los nombres: los interfaces no se modelan, y referenciarlos agrandaría la clausura de la clase
+    private final Collection<String> interfaceNames;
 
     private J2xClass(String name) {
-        this(name, "", null, J2xAccess.PUBLIC, true);
+        this(name, "", null, J2xAccess.PUBLIC, true, false, true);
     }
 
     private J2xClass(String name,
@@ -48,6 +59,22 @@ public class J2xClass {
                 packageName,
                 superClass,
                 access,
+                false,
+                false);
+    }
+
+    public J2xClass(String name,
+                    String packageName,
+                    @Nullable J2xClass superClass,
+                    J2xAccess access,
+                    boolean isFinal,
+                    boolean isEnum) {
+        this(name,
+                packageName,
+                superClass,
+                access,
+                isFinal,
+                isEnum,
                 false);
     }
 
@@ -55,14 +82,19 @@ public class J2xClass {
                      String packageName,
                      @Nullable J2xClass superClass,
                      J2xAccess access,
+                     boolean isFinal,
+                     boolean isEnum,
                      boolean isPrimitive) {
         this.name = checkNotNull(name);
         this.packageName = checkNotNull(packageName);
         this.superClass = superClass;
         this.access = checkNotNull(access);
+        this.isFinal = isFinal;
+        this.isEnum = isEnum;
         this.isPrimitive = isPrimitive;
-        this.fields = Sets.newHashSet();
-        this.methods = Sets.newHashSet();
+        this.fields = Maps.newLinkedHashMap();
+        this.methods = Lists.newArrayList();
+        this.interfaceNames = Lists.newArrayList();
     }
 
     public String getName() {
@@ -78,22 +110,69 @@ public class J2xClass {
         return superClass;
     }
 
+    public void setSuperClass(@Nullable J2xClass superClass) {
+        this.superClass = superClass;
+    }
+
     public J2xAccess getAccess() {
         return access;
     }
 
+    public boolean isFinal() {
+        return isFinal;
+    }
+
+    public boolean isEnum() {
+        return isEnum;
+    }
+
     public boolean isPrimitive() {
         return isPrimitive;
     }
 
+    // Alguna instancia se compara por referencia, se sincroniza o puede ser null (incluidos los
+    // elementos de un array recién creado), así que no puede tratarse como un valor
+    public boolean isIdentitySensitive() {
+        return isIdentitySensitive;
+    }
+
+    public void markIdentitySensitive() {
+        isIdentitySensitive = true;
+    }
+
     public Collection<J2xField> getFields() {
-        return fields;
+        return Collections.unmodifiableCollection(fields.values());
+    }
+
+    public void addField(J2xField field) {
+        fields.put(field.getName(), field);
+    }
+
+    // Busca también en las superclases, como la resolución de campos de la JVM
+    @Nullable
+    public J2xField findField(String name) {
+        for (J2xClass current = this; current != null; current = current.superClass) {
+            J2xField field = current.fields.get(name);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
     }
 
     public Collection<J2xMethod> getMethods() {
         return methods;
     }
 
+    // Los interfaces que la clase implementa directamente, por nombre completo
+    public Collection<String> getInterfaceNames() {
+        return Collections.unmodifiableCollection(interfaceNames);
+    }
+
+    public void addInterfaceName(String interfaceName) {
+        interfaceNames.add(checkNotNull(interfaceName));
+    }
+
     public String getFullName() {
         return (Strings.isNullOrEmpty(packageName) ? "" : (packageName + ".")) + name;
     }
@@ -109,6 +188,22 @@ public class J2xClass {
         return null;
     }
 
+    // Busca también en las superclases, como la resolución de métodos de la JVM
+    @Nullable
+    public J2xMethod resolveMethod(String name, String desc) {
+        for (J2xClass current = this; current != null; current = current.superClass) {
+            J2xMethod method = current.findMethod(name, desc);
+            if (method != null) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    public Collection<J2xField> getEnumConstants() {
+        return Collections2.filter(fields.values(), J2xField::isEnumConstant);
+    }
+
     private static String argOnlyDesc(String desc) {
         return desc.substring(desc.indexOf('(') + 1, desc.indexOf(')'));
     }
@@ -1,11 +1,69 @@
 package org.nibiru.j2x.ast;
 
+import javax.annotation.Nullable;
+
 public class J2xField extends J2xMember {
+    @Nullable
+    private final Object constantValue;
+    private final boolean isEnumConstant;
+    private final boolean isVolatile;
+
     public J2xField(String name,
                     J2xClass type,
                     J2xAccess access,
                     boolean isStatic,
                     boolean isFinal) {
+        this(name, type, access, isStatic, isFinal, null);
+    }
+
+    public J2xField(String name,
+                    J2xClass type,
+                    J2xAccess access,
+                    boolean isStatic,
+                    boolean isFinal,
+                    @Nullable Object constantValue) {
+        this(name, type, access, isStatic, isFinal, constantValue, false);
+    }
+
+    public J2xField(String name,
+                    J2xClass type,
+                    J2xAccess access,
+                    boolean isStatic,
+                    boolean isFinal,
+                    @Nullable Object constantValue,
+                    boolean isEnumConstant) {
+        this(name, type, access, isStatic, isFinal, constantValue, isEnumConstant, false);
+    }
+
+    public J2xField(String name,
+                    J2xClass type,
+                    J2xAccess access,
+                    boolean isStatic,
+                    boolean isFinal,
+                    @Nullable Object constantValue,
+                    boolean isEnumConstant,
+                    boolean isVolatile) {
         super(name, type, access, isStatic, isFinal);
+        this.constantValue = constantValue;
+        this.isEnumConstant = isEnumConstant;
+        this.isVolatile = isVolatile;
+    }
+
+    // Valor del atributo ConstantValue, ya convertido al tipo del campo (Boolean, Character, etc.)
+    @Nullable
+    public Object getConstantValue() {
+        return constantValue;
+    }
+
+    public boolean isConstant() {
+        return constantValue != null;
+    }
+
+    public boolean isEnumConstant() {
+        return isEnumConstant;
+    }
+
+    public boolean isVolatile() {
+        return isVolatile;
     }
 }
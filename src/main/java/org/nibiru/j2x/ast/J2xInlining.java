@@ -0,0 +1,5 @@
+package org.nibiru.j2x.ast;
+
+public enum J2xInlining {
+    DEFAULT, AGGRESSIVE, NEVER
+}
@@ -11,6 +11,7 @@ public abstract class J2xMember {
     private final J2xAccess access;
     private final boolean isStatic;
     private final boolean isFinal;
+    private boolean isNestAccessed;
 
     public J2xMember(String name,
                      J2xClass type,
@@ -44,6 +45,16 @@ public abstract class J2xMember {
         return isFinal;
     }
 
+    // Lo usa directamente otra clase del mismo nest (clases anidadas y la que las contiene), que en C#
+    // es una clase aparte; pasa cuando se inlinea un accessor sintético
+    public boolean isNestAccessed() {
+        return isNestAccessed;
+    }
+
+    public void markNestAccessed() {
+        isNestAccessed = true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
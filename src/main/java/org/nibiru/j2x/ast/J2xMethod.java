@@ -4,6 +4,8 @@ import com.google.common.base.Objects;
 
 import org.nibiru.j2x.ast.element.J2xVariable;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class J2xMethod extends J2xMember {
@@ -11,7 +13,13 @@ public class J2xMethod extends J2xMember {
     public final static String STATIC_CONSTRUCTOR_NAME = "<clinit>";
     private final String argDesc;
     private final Iterable<J2xVariable> arguments;
-    private final J2xBlock body;
+    // null mientras un cuerpo diferido no se decodificó, o después de liberarlo
+    @Nullable
+    private J2xBlock body;
+    @Nullable
+    private final J2xBodyLoader bodyLoader;
+    private final boolean isSynchronized;
+    private J2xInlining inlining;
 
     public J2xMethod(String name,
                      J2xClass type,
@@ -21,10 +29,51 @@ public class J2xMethod extends J2xMember {
                      String argDesc,
                      Iterable<J2xVariable> arguments,
                      J2xBlock body) {
+        this(name, type, access, isStatic, isFinal, argDesc, arguments, body, false);
+    }
+
+    public J2xMethod(String name,
+                     J2xClass type,
+                     J2xAccess access,
+                     boolean isStatic,
+                     boolean isFinal,
+                     String argDesc,
+                     Iterable<J2xVariable> arguments,
+                     J2xBlock body,
+                     boolean isSynchronized) {
+        this(name, type, access, isStatic, isFinal, argDesc, arguments, checkNotNull(body), null, isSynchronized);
+    }
+
+    // Cuerpo diferido: el loader lo decodifica cuando se lo pide por primera vez
+    public J2xMethod(String name,
+                     J2xClass type,
+                     J2xAccess access,
+                     boolean isStatic,
+                     boolean isFinal,
+                     String argDesc,
+                     Iterable<J2xVariable> arguments,
+                     J2xBodyLoader bodyLoader,
+                     boolean isSynchronized) {
+        this(name, type, access, isStatic, isFinal, argDesc, arguments, null, checkNotNull(bodyLoader), isSynchronized);
+    }
+
+    private J2xMethod(String name,
+                      J2xClass type,
+                      J2xAccess access,
+                      boolean isStatic,
+                      boolean isFinal,
+                      String argDesc,
+                      Iterable<J2xVariable> arguments,
+                      @Nullable J2xBlock body,
+                      @Nullable J2xBodyLoader bodyLoader,
+                      boolean isSynchronized) {
         super(name, type, access, isStatic, isFinal);
         this.argDesc = checkNotNull(argDesc);
         this.arguments = checkNotNull(arguments);
-        this.body = checkNotNull(body);
+        this.body = body;
+        this.bodyLoader = bodyLoader;
+        this.isSynchronized = isSynchronized;
+        this.inlining = J2xInlining.DEFAULT;
     }
 
     public String getArgDesc() {
@@ -36,9 +85,38 @@ public class J2xMethod extends J2xMember {
     }
 
     public J2xBlock getBody() {
+        if (body == null) {
+            body = bodyLoader.load(this);
+        }
         return body;
     }
 
+    public boolean isBodyLoaded() {
+        return body != null;
+    }
+
+    // Un cuerpo diferido se puede soltar y se vuelve a decodificar si se lo pide otra vez;
+    // los cambios que se le hayan hecho se pierden
+    public void releaseBody() {
+        if (bodyLoader != null) {
+            body = null;
+        }
+    }
+
+    // Toma el monitor de this (o de la clase, si es estático) durante toda la ejecución
+    public boolean isSynchronized() {
+        return isSynchronized;
+    }
+
+    // Pista para el JIT del lenguaje destino; la calcula el análisis de llamadas sobre todo el programa
+    public J2xInlining getInlining() {
+        return inlining;
+    }
+
+    public void setInlining(J2xInlining inlining) {
+        this.inlining = checkNotNull(inlining);
+    }
+
     public boolean isConstructor() {
         return CONSTRUCTOR_NAME.equals(getName())
                 || STATIC_CONSTRUCTOR_NAME.equals(getName());
@@ -50,12 +128,12 @@ public class J2xMethod extends J2xMember {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         J2xMethod j2xMethod = (J2xMethod) o;
-        return Objects.equal(arguments, j2xMethod.arguments) &&
-                Objects.equal(body, j2xMethod.body);
+        return Objects.equal(argDesc, j2xMethod.argDesc);
     }
 
+    // Sin el cuerpo, que puede no estar decodificado todavía o haberse liberado
     @Override
     public int hashCode() {
-        return Objects.hashCode(super.hashCode(), arguments, body);
+        return Objects.hashCode(super.hashCode(), argDesc);
     }
 }
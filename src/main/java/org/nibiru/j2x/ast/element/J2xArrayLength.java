@@ -0,0 +1,30 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xArrayLength {
+    private final Object array;
+
+    public J2xArrayLength(Object array) {
+        this.array = checkNotNull(array);
+    }
+
+    public Object getArray() {
+        return array;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xArrayLength that = (J2xArrayLength) o;
+        return Objects.equal(array, that.array);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(array);
+    }
+}
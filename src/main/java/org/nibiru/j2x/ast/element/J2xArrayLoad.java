@@ -0,0 +1,48 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xArrayLoad {
+    private final Object array;
+    private final Object index;
+    private final J2xClass type;
+
+    public J2xArrayLoad(Object array,
+                        Object index,
+                        J2xClass type) {
+        this.array = checkNotNull(array);
+        this.index = checkNotNull(index);
+        this.type = checkNotNull(type);
+    }
+
+    public Object getArray() {
+        return array;
+    }
+
+    public Object getIndex() {
+        return index;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xArrayLoad that = (J2xArrayLoad) o;
+        return Objects.equal(array, that.array) &&
+                Objects.equal(index, that.index) &&
+                Objects.equal(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(array, index, type);
+    }
+}
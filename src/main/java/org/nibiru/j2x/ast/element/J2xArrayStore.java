@@ -0,0 +1,56 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xArrayStore {
+    private final Object array;
+    private final Object index;
+    private final Object value;
+    private final J2xClass type;
+
+    public J2xArrayStore(Object array,
+                         Object index,
+                         Object value,
+                         J2xClass type) {
+        this.array = checkNotNull(array);
+        this.index = checkNotNull(index);
+        this.value = checkNotNull(value);
+        this.type = checkNotNull(type);
+    }
+
+    public Object getArray() {
+        return array;
+    }
+
+    public Object getIndex() {
+        return index;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xArrayStore that = (J2xArrayStore) o;
+        return Objects.equal(array, that.array) &&
+                Objects.equal(index, that.index) &&
+                Objects.equal(value, that.value) &&
+                Objects.equal(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(array, index, value, type);
+    }
+}
@@ -0,0 +1,56 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xBinaryOperation {
+    private final J2xOperator operator;
+    private final J2xClass type;
+    private final Object left;
+    private final Object right;
+
+    public J2xBinaryOperation(J2xOperator operator,
+                              J2xClass type,
+                              Object left,
+                              Object right) {
+        this.operator = checkNotNull(operator);
+        this.type = checkNotNull(type);
+        this.left = checkNotNull(left);
+        this.right = checkNotNull(right);
+    }
+
+    public J2xOperator getOperator() {
+        return operator;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    public Object getLeft() {
+        return left;
+    }
+
+    public Object getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xBinaryOperation that = (J2xBinaryOperation) o;
+        return operator == that.operator &&
+                Objects.equal(type, that.type) &&
+                Objects.equal(left, that.left) &&
+                Objects.equal(right, that.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(operator, type, left, right);
+    }
+}
@@ -0,0 +1,40 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Conversión de referencia (CHECKCAST)
+public class J2xCast {
+    private final Object value;
+    private final J2xClass type;
+
+    public J2xCast(Object value, J2xClass type) {
+        this.value = checkNotNull(value);
+        this.type = checkNotNull(type);
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xCast cast = (J2xCast) o;
+        return Objects.equal(value, cast.value) &&
+                Objects.equal(type, cast.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value, type);
+    }
+}
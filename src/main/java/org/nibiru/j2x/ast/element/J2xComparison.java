@@ -0,0 +1,57 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Resultado -1, 0 o 1 de lcmp, fcmp<op> y dcmp<op>; nanResult es lo que devuelve si algún operando es NaN
+public class J2xComparison {
+    private final J2xClass type;
+    private final Object left;
+    private final Object right;
+    private final int nanResult;
+
+    public J2xComparison(J2xClass type,
+                         Object left,
+                         Object right,
+                         int nanResult) {
+        this.type = checkNotNull(type);
+        this.left = checkNotNull(left);
+        this.right = checkNotNull(right);
+        this.nanResult = nanResult;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    public Object getLeft() {
+        return left;
+    }
+
+    public Object getRight() {
+        return right;
+    }
+
+    public int getNanResult() {
+        return nanResult;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xComparison that = (J2xComparison) o;
+        return nanResult == that.nanResult &&
+                Objects.equal(type, that.type) &&
+                Objects.equal(left, that.left) &&
+                Objects.equal(right, that.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(type, left, right, nanResult);
+    }
+}
@@ -0,0 +1,48 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xConversion {
+    private final J2xClass sourceType;
+    private final J2xClass type;
+    private final Object value;
+
+    public J2xConversion(J2xClass sourceType,
+                         J2xClass type,
+                         Object value) {
+        this.sourceType = checkNotNull(sourceType);
+        this.type = checkNotNull(type);
+        this.value = checkNotNull(value);
+    }
+
+    public J2xClass getSourceType() {
+        return sourceType;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xConversion that = (J2xConversion) o;
+        return Objects.equal(sourceType, that.sourceType) &&
+                Objects.equal(type, that.type) &&
+                Objects.equal(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(sourceType, type, value);
+    }
+}
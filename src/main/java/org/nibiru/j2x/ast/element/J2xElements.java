@@ -0,0 +1,175 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Recorrido genérico de los elementos del AST.
+// Los hijos se devuelven en el orden en que se evalúan.
+public class J2xElements {
+    private J2xElements() {
+    }
+
+    public static List<Object> children(Object element) {
+        if (element instanceof J2xMethodCall) {
+            J2xMethodCall call = (J2xMethodCall) element;
+            return call.getTarget() != null
+                    ? ImmutableList.builder().add(call.getTarget()).addAll(call.getArgs()).build()
+                    : call.getArgs();
+        } else if (element instanceof J2xNewObject) {
+            return ((J2xNewObject) element).getArgs();
+        } else if (element instanceof J2xNewArray) {
+            return ((J2xNewArray) element).getDimensions();
+        } else if (element instanceof J2xArrayLoad) {
+            J2xArrayLoad load = (J2xArrayLoad) element;
+            return ImmutableList.of(load.getArray(), load.getIndex());
+        } else if (element instanceof J2xArrayStore) {
+            J2xArrayStore store = (J2xArrayStore) element;
+            return ImmutableList.of(store.getArray(), store.getIndex(), store.getValue());
+        } else if (element instanceof J2xArrayLength) {
+            return ImmutableList.of(((J2xArrayLength) element).getArray());
+        } else if (element instanceof J2xAssignment) {
+            return ImmutableList.of(((J2xAssignment) element).getValue());
+        } else if (element instanceof J2xBinaryOperation) {
+            J2xBinaryOperation operation = (J2xBinaryOperation) element;
+            return ImmutableList.of(operation.getLeft(), operation.getRight());
+        } else if (element instanceof J2xUnaryOperation) {
+            return ImmutableList.of(((J2xUnaryOperation) element).getValue());
+        } else if (element instanceof J2xConversion) {
+            return ImmutableList.of(((J2xConversion) element).getValue());
+        } else if (element instanceof J2xComparison) {
+            J2xComparison comparison = (J2xComparison) element;
+            return ImmutableList.of(comparison.getLeft(), comparison.getRight());
+        } else if (element instanceof J2xFieldLoad) {
+            J2xFieldLoad load = (J2xFieldLoad) element;
+            return load.getTarget() != null
+                    ? ImmutableList.of(load.getTarget())
+                    : ImmutableList.of();
+        } else if (element instanceof J2xFieldStore) {
+            J2xFieldStore store = (J2xFieldStore) element;
+            return store.getTarget() != null
+                    ? ImmutableList.of(store.getTarget(), store.getValue())
+                    : ImmutableList.of(store.getValue());
+        } else if (element instanceof J2xReturn) {
+            J2xReturn returnElement = (J2xReturn) element;
+            return returnElement.getValue() != null
+                    ? ImmutableList.of(returnElement.getValue())
+                    : ImmutableList.of();
+        } else if (element instanceof J2xThrow) {
+            return ImmutableList.of(((J2xThrow) element).getException());
+        } else if (element instanceof J2xSynchronized) {
+            J2xSynchronized block = (J2xSynchronized) element;
+            return ImmutableList.builder().add(block.getLock()).addAll(block.getElements()).build();
+        } else if (element instanceof J2xIf) {
+            J2xIf block = (J2xIf) element;
+            return ImmutableList.builder().add(block.getCondition()).addAll(block.getElements()).build();
+        } else if (element instanceof J2xCast) {
+            return ImmutableList.of(((J2xCast) element).getValue());
+        } else if (element instanceof J2xInstanceOf) {
+            return ImmutableList.of(((J2xInstanceOf) element).getValue());
+        } else {
+            return ImmutableList.of();
+        }
+    }
+
+    // Cantidad de nodos del elemento, incluido él mismo
+    public static int size(Object element) {
+        int size = 1;
+        for (Object child : children(element)) {
+            size += size(child);
+        }
+        return size;
+    }
+
+    // Si el elemento o alguno de sus descendientes cumple la condición
+    public static boolean any(Object element, Predicate<Object> predicate) {
+        if (predicate.test(element)) {
+            return true;
+        }
+        for (Object child : children(element)) {
+            if (any(child, predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Aplica la función a los hijos y después al elemento reconstruido con los resultados.
+    // Si ningún hijo cambia se conserva la instancia original.
+    public static Object transform(Object element, Function<Object, Object> function) {
+        List<Object> children = children(element);
+        List<Object> transformed = Lists.newArrayListWithCapacity(children.size());
+        boolean changed = false;
+        for (Object child : children) {
+            Object result = transform(child, function);
+            transformed.add(result);
+            changed |= result != child;
+        }
+        return function.apply(changed
+                ? rebuild(element, transformed)
+                : element);
+    }
+
+    private static Object rebuild(Object element, List<Object> children) {
+        if (element instanceof J2xMethodCall) {
+            J2xMethodCall call = (J2xMethodCall) element;
+            return call.getTarget() != null
+                    ? new J2xMethodCall(call.getOwner(), children.get(0), call.getMethod(),
+                    Lists.newArrayList(children.subList(1, children.size())))
+                    : new J2xMethodCall(call.getOwner(), null, call.getMethod(), children);
+        } else if (element instanceof J2xNewObject) {
+            J2xNewObject newObject = (J2xNewObject) element;
+            return new J2xNewObject(newObject.getType(), newObject.getConstructor(), children);
+        } else if (element instanceof J2xNewArray) {
+            return new J2xNewArray(((J2xNewArray) element).getType(), children);
+        } else if (element instanceof J2xArrayLoad) {
+            return new J2xArrayLoad(children.get(0), children.get(1), ((J2xArrayLoad) element).getType());
+        } else if (element instanceof J2xArrayStore) {
+            return new J2xArrayStore(children.get(0), children.get(1), children.get(2),
+                    ((J2xArrayStore) element).getType());
+        } else if (element instanceof J2xArrayLength) {
+            return new J2xArrayLength(children.get(0));
+        } else if (element instanceof J2xAssignment) {
+            return new J2xAssignment(((J2xAssignment) element).getTarget(), children.get(0));
+        } else if (element instanceof J2xBinaryOperation) {
+            J2xBinaryOperation operation = (J2xBinaryOperation) element;
+            return new J2xBinaryOperation(operation.getOperator(), operation.getType(), children.get(0), children.get(1));
+        } else if (element instanceof J2xUnaryOperation) {
+            J2xUnaryOperation operation = (J2xUnaryOperation) element;
+            return new J2xUnaryOperation(operation.getOperator(), operation.getType(), children.get(0));
+        } else if (element instanceof J2xConversion) {
+            J2xConversion conversion = (J2xConversion) element;
+            return new J2xConversion(conversion.getSourceType(), conversion.getType(), children.get(0));
+        } else if (element instanceof J2xComparison) {
+            J2xComparison comparison = (J2xComparison) element;
+            return new J2xComparison(comparison.getType(), children.get(0), children.get(1),
+                    comparison.getNanResult());
+        } else if (element instanceof J2xFieldLoad) {
+            J2xFieldLoad load = (J2xFieldLoad) element;
+            return new J2xFieldLoad(load.getOwner(), load.getField(), children.get(0));
+        } else if (element instanceof J2xFieldStore) {
+            J2xFieldStore store = (J2xFieldStore) element;
+            return store.getTarget() != null
+                    ? new J2xFieldStore(store.getOwner(), store.getField(), children.get(0), children.get(1))
+                    : new J2xFieldStore(store.getOwner(), store.getField(), null, children.get(0));
+        } else if (element instanceof J2xReturn) {
+            return new J2xReturn(children.get(0));
+        } else if (element instanceof J2xThrow) {
+            return new J2xThrow(children.get(0));
+        } else if (element instanceof J2xSynchronized) {
+            return new J2xSynchronized(children.get(0), Lists.newArrayList(children.subList(1, children.size())));
+        } else if (element instanceof J2xIf) {
+            return new J2xIf(children.get(0), Lists.newArrayList(children.subList(1, children.size())));
+        } else if (element instanceof J2xCast) {
+            return new J2xCast(children.get(0), ((J2xCast) element).getType());
+        } else if (element instanceof J2xInstanceOf) {
+            J2xInstanceOf instanceOf = (J2xInstanceOf) element;
+            return new J2xInstanceOf(children.get(0), instanceOf.getType(), instanceOf.getBinding());
+        } else {
+            throw new IllegalArgumentException("Element not supported (yet): " + element.getClass());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xField;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xFieldLoad {
+    private final J2xClass owner;
+    private final J2xField field;
+    @Nullable
+    private final Object target;
+
+    public J2xFieldLoad(J2xClass owner,
+                        J2xField field,
+                        @Nullable Object target) {
+        this.owner = checkNotNull(owner);
+        this.field = checkNotNull(field);
+        this.target = target;
+    }
+
+    public J2xClass getOwner() {
+        return owner;
+    }
+
+    public J2xField getField() {
+        return field;
+    }
+
+    // null si el campo es estático
+    @Nullable
+    public Object getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xFieldLoad that = (J2xFieldLoad) o;
+        return Objects.equal(owner, that.owner) &&
+                Objects.equal(field, that.field) &&
+                Objects.equal(target, that.target);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(owner, field, target);
+    }
+}
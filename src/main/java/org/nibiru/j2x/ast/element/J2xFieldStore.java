@@ -0,0 +1,62 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xField;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xFieldStore {
+    private final J2xClass owner;
+    private final J2xField field;
+    @Nullable
+    private final Object target;
+    private final Object value;
+
+    public J2xFieldStore(J2xClass owner,
+                         J2xField field,
+                         @Nullable Object target,
+                         Object value) {
+        this.owner = checkNotNull(owner);
+        this.field = checkNotNull(field);
+        this.target = target;
+        this.value = checkNotNull(value);
+    }
+
+    public J2xClass getOwner() {
+        return owner;
+    }
+
+    public J2xField getField() {
+        return field;
+    }
+
+    // null si el campo es estático
+    @Nullable
+    public Object getTarget() {
+        return target;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xFieldStore that = (J2xFieldStore) o;
+        return Objects.equal(owner, that.owner) &&
+                Objects.equal(field, that.field) &&
+                Objects.equal(target, that.target) &&
+                Objects.equal(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(owner, field, target, value);
+    }
+}
@@ -0,0 +1,40 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Bloque que se ejecuta solo si la condición es verdadera
+public class J2xIf {
+    private final Object condition;
+    private final List<Object> elements;
+
+    public J2xIf(Object condition, List<Object> elements) {
+        this.condition = checkNotNull(condition);
+        this.elements = checkNotNull(elements);
+    }
+
+    public Object getCondition() {
+        return condition;
+    }
+
+    public List<Object> getElements() {
+        return elements;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xIf that = (J2xIf) o;
+        return Objects.equal(condition, that.condition) &&
+                Objects.equal(elements, that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(condition, elements);
+    }
+}
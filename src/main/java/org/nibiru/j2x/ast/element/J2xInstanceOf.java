@@ -0,0 +1,56 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Comprobación de tipo (INSTANCEOF). Si tiene binding, el valor convertido queda en esa variable
+// cuando la comprobación da verdadero.
+public class J2xInstanceOf {
+    private final Object value;
+    private final J2xClass type;
+    @Nullable
+    private final J2xVariable binding;
+
+    public J2xInstanceOf(Object value, J2xClass type) {
+        this(value, type, null);
+    }
+
+    public J2xInstanceOf(Object value, J2xClass type, @Nullable J2xVariable binding) {
+        this.value = checkNotNull(value);
+        this.type = checkNotNull(type);
+        this.binding = binding;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    @Nullable
+    public J2xVariable getBinding() {
+        return binding;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xInstanceOf that = (J2xInstanceOf) o;
+        return Objects.equal(value, that.value) &&
+                Objects.equal(type, that.type) &&
+                Objects.equal(binding, that.binding);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value, type, binding);
+    }
+}
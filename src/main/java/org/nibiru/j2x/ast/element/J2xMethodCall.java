@@ -2,26 +2,40 @@ package org.nibiru.j2x.ast.element;
 
 import com.google.common.base.Objects;
 
+import org.nibiru.j2x.ast.J2xClass;
 import org.nibiru.j2x.ast.J2xMethod;
 
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class J2xMethodCall {
-    private final J2xVariable target;
+    private final J2xClass owner;
+    @Nullable
+    private final Object target;
     private final J2xMethod method;
     private final List<Object> args;
 
-    public J2xMethodCall(J2xVariable target,
+    public J2xMethodCall(J2xClass owner,
+                         @Nullable Object target,
                          J2xMethod method,
                          List<Object> args) {
-        this.target = checkNotNull(target);
+        this.owner = checkNotNull(owner);
+        this.target = target;
         this.method = checkNotNull(method);
         this.args = checkNotNull(args);
     }
 
-    public J2xVariable getTarget() {
+    // Clase referenciada por la instrucción, que puede ser una subclase de la que declara el método
+    public J2xClass getOwner() {
+        return owner;
+    }
+
+    // null en las llamadas estáticas
+    @Nullable
+    public Object getTarget() {
         return target;
     }
 
@@ -38,13 +52,14 @@ public class J2xMethodCall {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         J2xMethodCall that = (J2xMethodCall) o;
-        return Objects.equal(target, that.target) &&
+        return Objects.equal(owner, that.owner) &&
+                Objects.equal(target, that.target) &&
                 Objects.equal(method, that.method) &&
                 Objects.equal(args, that.args);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(target, method, args);
+        return Objects.hashCode(owner, target, method, args);
     }
 }
@@ -0,0 +1,45 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xArray;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Puede traer menos tamaños que dimensiones tiene el array: new int[3][] crea solo el primer nivel
+public class J2xNewArray {
+    private final J2xArray type;
+    private final List<Object> dimensions;
+
+    public J2xNewArray(J2xArray type,
+                       List<Object> dimensions) {
+        this.type = checkNotNull(type);
+        this.dimensions = checkNotNull(dimensions);
+        checkArgument(!dimensions.isEmpty() && dimensions.size() <= type.getDimensions());
+    }
+
+    public J2xArray getType() {
+        return type;
+    }
+
+    public List<Object> getDimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xNewArray that = (J2xNewArray) o;
+        return Objects.equal(type, that.type) &&
+                Objects.equal(dimensions, that.dimensions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(type, dimensions);
+    }
+}
@@ -0,0 +1,51 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xNewObject {
+    private final J2xClass type;
+    private final J2xMethod constructor;
+    private final List<Object> args;
+
+    public J2xNewObject(J2xClass type,
+                        J2xMethod constructor,
+                        List<Object> args) {
+        this.type = checkNotNull(type);
+        this.constructor = checkNotNull(constructor);
+        this.args = checkNotNull(args);
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    public J2xMethod getConstructor() {
+        return constructor;
+    }
+
+    public List<Object> getArgs() {
+        return args;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xNewObject that = (J2xNewObject) o;
+        return Objects.equal(type, that.type) &&
+                Objects.equal(constructor, that.constructor) &&
+                Objects.equal(args, that.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(type, constructor, args);
+    }
+}
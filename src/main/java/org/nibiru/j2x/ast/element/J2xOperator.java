@@ -0,0 +1,7 @@
+package org.nibiru.j2x.ast.element;
+
+public enum J2xOperator {
+    ADD, SUBTRACT, MULTIPLY, DIVIDE, REMAINDER, NEGATE,
+    SHIFT_LEFT, SHIFT_RIGHT, UNSIGNED_SHIFT_RIGHT,
+    AND, OR, XOR
+}
@@ -0,0 +1,40 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Bloque synchronized: las sentencias entre el MONITORENTER y el MONITOREXIT
+public class J2xSynchronized {
+    private final Object lock;
+    private final List<Object> elements;
+
+    public J2xSynchronized(Object lock, List<Object> elements) {
+        this.lock = checkNotNull(lock);
+        this.elements = checkNotNull(elements);
+    }
+
+    public Object getLock() {
+        return lock;
+    }
+
+    public List<Object> getElements() {
+        return elements;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xSynchronized that = (J2xSynchronized) o;
+        return Objects.equal(lock, that.lock) &&
+                Objects.equal(elements, that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(lock, elements);
+    }
+}
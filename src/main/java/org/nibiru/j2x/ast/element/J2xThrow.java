@@ -0,0 +1,30 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xThrow {
+    private final Object exception;
+
+    public J2xThrow(Object exception) {
+        this.exception = checkNotNull(exception);
+    }
+
+    public Object getException() {
+        return exception;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xThrow j2xThrow = (J2xThrow) o;
+        return Objects.equal(exception, j2xThrow.exception);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(exception);
+    }
+}
@@ -0,0 +1,48 @@
+package org.nibiru.j2x.ast.element;
+
+import com.google.common.base.Objects;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+public class J2xUnaryOperation {
+    private final J2xOperator operator;
+    private final J2xClass type;
+    private final Object value;
+
+    public J2xUnaryOperation(J2xOperator operator,
+                             J2xClass type,
+                             Object value) {
+        this.operator = checkNotNull(operator);
+        this.type = checkNotNull(type);
+        this.value = checkNotNull(value);
+    }
+
+    public J2xOperator getOperator() {
+        return operator;
+    }
+
+    public J2xClass getType() {
+        return type;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        J2xUnaryOperation that = (J2xUnaryOperation) o;
+        return operator == that.operator &&
+                Objects.equal(type, that.type) &&
+                Objects.equal(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(operator, type, value);
+    }
+}
@@ -1,29 +1,44 @@
 package org.nibiru.j2x.borrame;
 
-
-import com.google.common.base.CaseFormat;
-import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
-import com.google.common.collect.Iterables;
-
 import org.nibiru.j2x.asm.ClassParser;
 import org.nibiru.j2x.asm.IgnoreSystemClassesPolicy;
+import org.nibiru.j2x.asm.ParsePolicy;
 import org.nibiru.j2x.ast.J2xClass;
-import org.nibiru.j2x.cs.CsWritter;
+import org.nibiru.j2x.incremental.IncrementalTranslator;
+import org.nibiru.j2x.metrics.TranslationListener;
+import org.nibiru.j2x.metrics.TranslationMetrics;
+import org.nibiru.j2x.profile.JfrProfileReader;
+import org.nibiru.j2x.profile.JfrTranslationListener;
+import org.nibiru.j2x.profile.Profile;
+import org.nibiru.j2x.transform.Inliner;
+import org.nibiru.j2x.transform.InliningHints;
 
-import java.io.File;
+import java.io.FileWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Paths;
 import java.util.Map;
 
 public class Test {
     public static void main(String[] args) throws Exception {
-        Map<String, J2xClass> result = ClassParser.parse("org/nibiru/j2x/borrame/Hola", new IgnoreSystemClassesPolicy());
-        for (J2xClass clazz : result.values()) {
-            File dir = new File("f:/workspace/core/" + Joiner.on('/')
-                    .join(Iterables.transform(Splitter.on('.')
-                            .split(clazz.getPackageName()), CaseFormat.LOWER_CAMEL.converterTo(CaseFormat.UPPER_CAMEL))));
-            dir.mkdirs();
-            new CsWritter(new PrintWriter(new File(dir, CsWritter.keyword(clazz.getName()) + ".cs")), true).write(clazz);
+        ParsePolicy parsePolicy = new IgnoreSystemClassesPolicy();
+        TranslationMetrics metrics = new TranslationMetrics();
+        // Los eventos de JFR solo se emiten si la grabación los habilita
+        TranslationListener listener = metrics.andThen(new JfrTranslationListener());
+        Map<String, J2xClass> result = ClassParser.parse("org/nibiru/j2x/borrame/Hola", parsePolicy, listener);
+        Inliner.inline(result, parsePolicy);
+        // Opcionalmente, una grabación de JFR de la versión Java guía la traducción
+        Profile profile = args.length > 0
+                ? JfrProfileReader.read(Paths.get(args[0]))
+                : Profile.EMPTY;
+        InliningHints.analyze(result, parsePolicy, profile);
+        // Solo se reescriben las clases que cambiaron desde la corrida anterior y las que dependen de ellas
+        new IncrementalTranslator(Paths.get("f:/workspace/core"), Paths.get("f:/workspace/core/j2x-state.txt"),
+                true, listener)
+                .translate(profile.hottestFirst(result.values()));
+        metrics.writeSummary(new PrintWriter(System.out));
+        try (Writer json = new FileWriter("f:/workspace/core/j2x-metrics.json")) {
+            metrics.writeJson(json);
         }
     }
 }
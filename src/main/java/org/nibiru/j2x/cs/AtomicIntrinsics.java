@@ -0,0 +1,93 @@
+package org.nibiru.j2x.cs;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+// Las clases de java.util.concurrent.atomic se traducen solo con sus firmas, así que sus métodos quedarían vacíos.
+// Se escriben con Interlocked y Volatile sobre el campo "value" que declaran, y con AggressiveInlining el JIT
+// deja la instrucción atómica directamente en quien los llama.
+class AtomicIntrinsics {
+    private static final String VALUE_FIELD = "value";
+    private static final String INTERLOCKED = "System.Threading.Interlocked.";
+    private static final String VOLATILE = "System.Threading.Volatile.";
+
+    // Cuerpos por nombre y descriptor; %1$s es el campo con el valor, %2$s y %3$s los argumentos
+    private static final Map<String, Map<String, String>> BODIES = ImmutableMap.of(
+            "java.util.concurrent.atomic.AtomicInteger", numeric("I",
+                    VOLATILE + "Read(ref %1$s)",
+                    "return " + VOLATILE + "Read(ref %1$s);"),
+            // Volatile no garantiza lecturas atómicas de long en 32 bits; Interlocked sí
+            "java.util.concurrent.atomic.AtomicLong", numeric("J",
+                    INTERLOCKED + "Read(ref %1$s)",
+                    "return unchecked((int) " + INTERLOCKED + "Read(ref %1$s));"),
+            "java.util.concurrent.atomic.AtomicReference", reference("Ljava/lang/Object;"));
+
+    private AtomicIntrinsics() {
+    }
+
+    @Nullable
+    static String body(J2xClass owner, J2xMethod method, Iterable<String> arguments) {
+        Map<String, String> bodies = BODIES.get(owner.getFullName());
+        String body = bodies != null && owner.findField(VALUE_FIELD) != null
+                ? bodies.get(method.getName() + method.getArgDesc())
+                : null;
+        if (body == null) {
+            return null;
+        }
+        Object[] values = new Object[3];
+        values[0] = "this." + VALUE_FIELD;
+        int index = 1;
+        for (String argument : arguments) {
+            values[index++] = argument;
+        }
+        return String.format(body, values);
+    }
+
+    // set() es una escritura volatile de Java, secuencialmente consistente: Volatile.Write solo es release, así que
+    // va con Interlocked.Exchange, que es una barrera completa. lazySet() sí es solo release.
+    private static Map<String, String> numeric(String type, String read, String intValue) {
+        return ImmutableMap.<String, String>builder()
+                .put("<init>(" + type + ")V", "%1$s = %2$s;")
+                .put("get()" + type, "return " + read + ";")
+                .put("set(" + type + ")V", INTERLOCKED + "Exchange(ref %1$s, %2$s);")
+                .put("lazySet(" + type + ")V", VOLATILE + "Write(ref %1$s, %2$s);")
+                .put("getAndSet(" + type + ")" + type, "return " + INTERLOCKED + "Exchange(ref %1$s, %2$s);")
+                .put("compareAndSet(" + type + type + ")Z",
+                        "return " + INTERLOCKED + "CompareExchange(ref %1$s, %3$s, %2$s) == %2$s;")
+                .put("weakCompareAndSet(" + type + type + ")Z",
+                        "return " + INTERLOCKED + "CompareExchange(ref %1$s, %3$s, %2$s) == %2$s;")
+                .put("incrementAndGet()" + type, "return " + INTERLOCKED + "Increment(ref %1$s);")
+                .put("decrementAndGet()" + type, "return " + INTERLOCKED + "Decrement(ref %1$s);")
+                .put("addAndGet(" + type + ")" + type, "return " + INTERLOCKED + "Add(ref %1$s, %2$s);")
+                .put("getAndIncrement()" + type, "return unchecked(" + INTERLOCKED + "Increment(ref %1$s) - 1);")
+                .put("getAndDecrement()" + type, "return unchecked(" + INTERLOCKED + "Decrement(ref %1$s) + 1);")
+                .put("getAndAdd(" + type + ")" + type,
+                        "return unchecked(" + INTERLOCKED + "Add(ref %1$s, %2$s) - %2$s);")
+                .put("intValue()I", intValue)
+                .put("longValue()J", "return " + read + ";")
+                .put("floatValue()F", "return " + read + ";")
+                .put("doubleValue()D", "return " + read + ";")
+                .build();
+    }
+
+    private static Map<String, String> reference(String type) {
+        return ImmutableMap.<String, String>builder()
+                .put("<init>(" + type + ")V", "%1$s = %2$s;")
+                .put("get()" + type, "return " + VOLATILE + "Read(ref %1$s);")
+                .put("set(" + type + ")V", INTERLOCKED + "Exchange(ref %1$s, %2$s);")
+                .put("lazySet(" + type + ")V", VOLATILE + "Write(ref %1$s, %2$s);")
+                .put("getAndSet(" + type + ")" + type, "return " + INTERLOCKED + "Exchange(ref %1$s, %2$s);")
+                // Como en Java, la comparación es por identidad
+                .put("compareAndSet(" + type + type + ")Z",
+                        "return object.ReferenceEquals(" + INTERLOCKED + "CompareExchange(ref %1$s, %3$s, %2$s), %2$s);")
+                .put("weakCompareAndSet(" + type + type + ")Z",
+                        "return object.ReferenceEquals(" + INTERLOCKED + "CompareExchange(ref %1$s, %3$s, %2$s), %2$s);")
+                .build();
+    }
+}
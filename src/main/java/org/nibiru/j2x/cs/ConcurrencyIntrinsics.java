@@ -0,0 +1,274 @@
+package org.nibiru.j2x.cs;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xReturn;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+// Los hilos, ejecutores y futuros del JDK se traducirían a sus stubs vacíos, y el programa perdería el paralelismo.
+// Se reemplazan por sus equivalentes de .NET: un ejecutor es un TaskScheduler (el pool común es el ThreadPool),
+// un futuro es un Task<object>, y un Thread es un System.Threading.Thread.
+// Las funciones se pasan como estado de la tarea, así se evalúan antes de encolarla, como en Java. Las clases
+// traducidas no implementan los interfaces del JDK, así que el estado es un delegate ligado al método de la función.
+class ConcurrencyIntrinsics {
+    private static final String TASK = "System.Threading.Tasks.Task<object>";
+    private static final String SCHEDULER = "System.Threading.Tasks.TaskScheduler";
+    private static final String DEFAULT_SCHEDULER = SCHEDULER + ".Default";
+    private static final String START = "System.Threading.Tasks.Task.Factory.StartNew";
+    private static final String CONTINUE = ".ContinueWith";
+    private static final String OPTIONS = "System.Threading.CancellationToken.None, "
+            + "System.Threading.Tasks.TaskCreationOptions.DenyChildAttach, ";
+    // Las continuaciones síncronas corren en el hilo que completa la tarea, como thenApply en Java
+    private static final String SYNCHRONOUS = "System.Threading.CancellationToken.None, "
+            + "System.Threading.Tasks.TaskContinuationOptions.ExecuteSynchronously, " + DEFAULT_SCHEDULER;
+    private static final String ASYNCHRONOUS = "System.Threading.CancellationToken.None, "
+            + "System.Threading.Tasks.TaskContinuationOptions.None, " + DEFAULT_SCHEDULER;
+    private static final String ACTION = "System.Action";
+    private static final String SUPPLIER_FUNC = "System.Func<object>";
+    private static final String CONSUMER_ACTION = "System.Action<object>";
+    private static final String FUNC = "System.Func<object, object>";
+    private static final String BI_FUNC = "System.Func<object, object, object>";
+    private static final String RUNNABLE = "((" + ACTION + ") __s)()";
+    private static final String SUPPLIER = "((" + SUPPLIER_FUNC + ") __s)()";
+    private static final String FUNCTION = "((" + FUNC + ") __s)(__p.Result)";
+    private static final String CONSUMER = "((" + CONSUMER_ACTION + ") __s)(__p.Result)";
+
+    static final Map<String, String> TYPES = ImmutableMap.<String, String>builder()
+            .put("java.util.concurrent.Executor", SCHEDULER)
+            .put("java.util.concurrent.ExecutorService", SCHEDULER)
+            .put("java.util.concurrent.AbstractExecutorService", SCHEDULER)
+            .put("java.util.concurrent.ThreadPoolExecutor", SCHEDULER)
+            .put("java.util.concurrent.ForkJoinPool", SCHEDULER)
+            .put("java.util.concurrent.Future", TASK)
+            .put("java.util.concurrent.CompletionStage", TASK)
+            .put("java.util.concurrent.CompletableFuture", TASK)
+            .put("java.lang.Thread", "System.Threading.Thread")
+            .build();
+
+    private static final Set<String> EXECUTORS = ImmutableSet.of("java.util.concurrent.Executor",
+            "java.util.concurrent.ExecutorService",
+            "java.util.concurrent.AbstractExecutorService",
+            "java.util.concurrent.ThreadPoolExecutor",
+            "java.util.concurrent.ForkJoinPool");
+    private static final Set<String> FUTURES = ImmutableSet.of("java.util.concurrent.Future",
+            "java.util.concurrent.CompletionStage",
+            "java.util.concurrent.CompletableFuture");
+
+    // Por clase (o familia de clases), nombre y tipos de los argumentos. Sin el tipo de retorno, porque de los
+    // interfaces no se modela la herencia y el stub puede haberse quedado con el método puente.
+    // %1$s es el objeto sobre el que se invoca; %2$s, %3$s y %4$s, los argumentos
+    private static final Map<String, String> STATIC_CALLS = ImmutableMap.<String, String>builder()
+            .put("java.util.concurrent.Executors#newFixedThreadPool(I)",
+                    "new System.Threading.Tasks.ConcurrentExclusiveSchedulerPair(" + DEFAULT_SCHEDULER + ", %2$s)"
+                            + ".ConcurrentScheduler")
+            .put("java.util.concurrent.Executors#newWorkStealingPool(I)",
+                    "new System.Threading.Tasks.ConcurrentExclusiveSchedulerPair(" + DEFAULT_SCHEDULER + ", %2$s)"
+                            + ".ConcurrentScheduler")
+            .put("java.util.concurrent.Executors#newWorkStealingPool()",
+                    DEFAULT_SCHEDULER)
+            .put("java.util.concurrent.Executors#newCachedThreadPool()",
+                    DEFAULT_SCHEDULER)
+            // El scheduler exclusivo ejecuta de a una tarea, en el orden en que se encolan
+            .put("java.util.concurrent.Executors#newSingleThreadExecutor()",
+                    "new System.Threading.Tasks.ConcurrentExclusiveSchedulerPair().ExclusiveScheduler")
+            .put("java.util.concurrent.ForkJoinPool#commonPool()",
+                    DEFAULT_SCHEDULER)
+            .put("java.util.concurrent.CompletableFuture#supplyAsync(Ljava/util/function/Supplier;)",
+                    START + "<object>(__s => " + SUPPLIER + ", " + bound(SUPPLIER_FUNC, 2, "Get") + ", " + OPTIONS
+                            + DEFAULT_SCHEDULER + ")")
+            .put("java.util.concurrent.CompletableFuture#supplyAsync(Ljava/util/function/Supplier;"
+                            + "Ljava/util/concurrent/Executor;)",
+                    START + "<object>(__s => " + SUPPLIER + ", " + bound(SUPPLIER_FUNC, 2, "Get") + ", "
+                            + OPTIONS + "%3$s)")
+            .put("java.util.concurrent.CompletableFuture#runAsync(Ljava/lang/Runnable;)",
+                    START + "<object>(__s => { " + RUNNABLE + "; return null; }, " + bound(ACTION, 2, "Run") + ", "
+                            + OPTIONS + DEFAULT_SCHEDULER + ")")
+            .put("java.util.concurrent.CompletableFuture#runAsync(Ljava/lang/Runnable;"
+                            + "Ljava/util/concurrent/Executor;)",
+                    START + "<object>(__s => { " + RUNNABLE + "; return null; }, " + bound(ACTION, 2, "Run") + ", "
+                            + OPTIONS + "%3$s)")
+            .put("java.util.concurrent.CompletableFuture#completedFuture(Ljava/lang/Object;)",
+                    "System.Threading.Tasks.Task.FromResult<object>(%2$s)")
+            // Wait relanza la excepción si alguna falló
+            .put("java.util.concurrent.CompletableFuture#allOf([Ljava/util/concurrent/CompletableFuture;)",
+                    "System.Threading.Tasks.Task.WhenAll(%2$s)" + CONTINUE
+                            + "<object>(__p => { __p.Wait(); return null; }, " + SYNCHRONOUS + ")")
+            .put("java.util.concurrent.CompletableFuture#anyOf([Ljava/util/concurrent/CompletableFuture;)",
+                    "System.Threading.Tasks.Task.WhenAny(%2$s)" + CONTINUE
+                            + "<object>(__p => __p.Result.Result, " + SYNCHRONOUS + ")")
+            // Las creaciones de objetos tampoco tienen destino
+            .put("java.lang.Thread#<init>(Ljava/lang/Runnable;)", "new System.Threading.Thread((%2$s).Run)")
+            .put("java.lang.Thread#currentThread()", "System.Threading.Thread.CurrentThread")
+            .put("java.lang.Thread#sleep(J)", "System.Threading.Thread.Sleep(System.TimeSpan.FromMilliseconds(%2$s))")
+            .put("java.lang.Thread#yield()", "System.Threading.Thread.Yield()")
+            .put("java.lang.Thread#onSpinWait()", "System.Threading.Thread.SpinWait(1)")
+            .build();
+
+    private static final Map<String, String> EXECUTOR_CALLS = ImmutableMap.<String, String>builder()
+            .put("execute(Ljava/lang/Runnable;)",
+                    START + "(__s => " + RUNNABLE + ", " + bound(ACTION, 2, "Run") + ", " + OPTIONS + "%1$s)")
+            .put("submit(Ljava/lang/Runnable;)",
+                    START + "<object>(__s => { " + RUNNABLE + "; return null; }, " + bound(ACTION, 2, "Run") + ", "
+                            + OPTIONS + "%1$s)")
+            .put("submit(Ljava/util/concurrent/Callable;)",
+                    START + "<object>(__s => " + SUPPLIER + ", " + bound(SUPPLIER_FUNC, 2, "Call") + ", "
+                            + OPTIONS + "%1$s)")
+            // Las tareas del ThreadPool no impiden que termine el proceso: no hay nada que cerrar
+            .put("shutdown()", "")
+            .build();
+
+    private static final Map<String, String> FUTURE_CALLS = ImmutableMap.<String, String>builder()
+            .put("get()", "%1$s.Result")
+            .put("join()", "%1$s.Result")
+            .put("isDone()", "%1$s.IsCompleted")
+            .put("thenApply(Ljava/util/function/Function;)",
+                    "%1$s" + CONTINUE + "<object>((__p, __s) => " + FUNCTION + ", " + bound(FUNC, 2, "Apply") + ", "
+                            + SYNCHRONOUS + ")")
+            .put("thenApplyAsync(Ljava/util/function/Function;)",
+                    "%1$s" + CONTINUE + "<object>((__p, __s) => " + FUNCTION + ", " + bound(FUNC, 2, "Apply") + ", "
+                            + ASYNCHRONOUS + ")")
+            .put("thenAccept(Ljava/util/function/Consumer;)",
+                    "%1$s" + CONTINUE + "<object>((__p, __s) => { " + CONSUMER + "; return null; }, "
+                            + bound(CONSUMER_ACTION, 2, "Accept") + ", " + SYNCHRONOUS + ")")
+            // Leer el resultado (o esperar) propaga la falla de la etapa anterior
+            .put("thenRun(Ljava/lang/Runnable;)",
+                    "%1$s" + CONTINUE + "<object>((__p, __s) => { __p.Wait(); " + RUNNABLE + "; return null; }, "
+                            + bound(ACTION, 2, "Run") + ", " + SYNCHRONOUS + ")")
+            .put("thenCompose(Ljava/util/function/Function;)",
+                    "System.Threading.Tasks.TaskExtensions.Unwrap(%1$s" + CONTINUE + "<" + TASK + ">((__p, __s) => ("
+                            + TASK + ") " + FUNCTION + ", " + bound(FUNC, 2, "Apply") + ", " + SYNCHRONOUS + "))")
+            .put("thenCombine(Ljava/util/concurrent/CompletionStage;Ljava/util/function/BiFunction;)",
+                    "System.Threading.Tasks.Task.WhenAll(%1$s, (" + TASK + ") %2$s)" + CONTINUE
+                            + "<object>((__p, __s) => ((" + BI_FUNC + ") __s)(__p.Result[0], __p.Result[1]), "
+                            + bound(BI_FUNC, 3, "Apply") + ", " + SYNCHRONOUS + ")")
+            .build();
+
+    private static final Map<String, String> THREAD_CALLS = ImmutableMap.<String, String>builder()
+            .put("start()", "%1$s.Start()")
+            .put("join()", "%1$s.Join()")
+            .put("join(J)", "%1$s.Join(System.TimeSpan.FromMilliseconds(%2$s))")
+            .put("interrupt()", "%1$s.Interrupt()")
+            .put("isAlive()", "%1$s.IsAlive")
+            .put("isDaemon()", "%1$s.IsBackground")
+            .put("setDaemon(Z)", "%1$s.IsBackground = %2$s")
+            .put("getId()", "%1$s.ManagedThreadId")
+            .build();
+
+    // Descartar el resultado de un futuro igual espera a que termine
+    private static final Map<String, String> DISCARDED_FUTURE_CALLS = ImmutableMap.of(
+            "get()", "%1$s.Wait()",
+            "join()", "%1$s.Wait()");
+
+    private ConcurrencyIntrinsics() {
+    }
+
+    // El delegate ligado al método de la función que se pasa como argumento; el objeto se evalúa al crearlo
+    private static String bound(String delegate, int arg, String method) {
+        return "new " + delegate + "((%" + arg + "$s)." + method + ")";
+    }
+
+    // La expresión que reemplaza a la llamada (o a la creación del objeto), o null si no es de un tipo reemplazado.
+    // Una cadena vacía indica que la llamada no hace nada en .NET.
+    // Los tipos reemplazados no tienen stub en C#, así que un miembro sin equivalente no se puede traducir.
+    @Nullable
+    static String call(J2xClass owner, J2xMethod method, @Nullable String target, List<String> args) {
+        String template = template(owner.getFullName(), signature(method), target == null);
+        if (template == null && TYPES.containsKey(owner.getFullName())) {
+            throw new IllegalArgumentException("Method not supported (yet): " + owner.getFullName() + "#"
+                    + signature(method) + " has no equivalent in " + TYPES.get(owner.getFullName()));
+        }
+        return format(template, target, args);
+    }
+
+    // Una clase con código no puede extender ni implementar un tipo reemplazado: System.Threading.Thread es sealed,
+    // y un Task o un TaskScheduler de .NET nunca llamaría a sus métodos. Los stubs del JDK, que solo devuelven el
+    // valor por defecto, se escriben igual.
+    static void checkSuperTypes(J2xClass j2xClass) {
+        String superType = remappedSuperType(j2xClass);
+        if (superType != null && hasCode(j2xClass)) {
+            throw new IllegalArgumentException("Class not supported (yet): " + j2xClass.getFullName()
+                    + " is a " + superType + ", which is translated to " + TYPES.get(superType));
+        }
+    }
+
+    @Nullable
+    private static String remappedSuperType(J2xClass j2xClass) {
+        for (J2xClass current = j2xClass; current != null; current = current.getSuperClass()) {
+            if (current != j2xClass && TYPES.containsKey(current.getFullName())) {
+                return current.getFullName();
+            }
+            for (String interfaceName : current.getInterfaceNames()) {
+                if (TYPES.containsKey(interfaceName)) {
+                    return interfaceName;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasCode(J2xClass j2xClass) {
+        for (J2xMethod method : j2xClass.getMethods()) {
+            List<Object> elements = method.getBody().getElements();
+            if (elements.size() > 1 || elements.size() == 1 && !(elements.get(0) instanceof J2xReturn)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Igual que call, para una llamada cuyo resultado se descarta
+    @Nullable
+    static String statement(J2xClass owner, J2xMethod method, @Nullable String target, List<String> args) {
+        String template = target != null && FUTURES.contains(owner.getFullName())
+                ? DISCARDED_FUTURE_CALLS.get(signature(method))
+                : null;
+        String statement = template != null
+                ? format(template, target, args)
+                : call(owner, method, target, args);
+        // Leer una propiedad no tiene efectos, y en C# no es una sentencia válida
+        return statement != null && !statement.endsWith(")") && !statement.contains(" = ")
+                ? ""
+                : statement;
+    }
+
+    @Nullable
+    private static String format(@Nullable String template, @Nullable String target, List<String> args) {
+        if (template == null) {
+            return null;
+        }
+        Object[] values = new Object[4];
+        values[0] = target;
+        for (int i = 0; i < args.size() && i < values.length - 1; i++) {
+            values[i + 1] = args.get(i);
+        }
+        return String.format(template, values);
+    }
+
+    private static String signature(J2xMethod method) {
+        String desc = method.getArgDesc();
+        return method.getName() + desc.substring(0, desc.indexOf(')') + 1);
+    }
+
+    @Nullable
+    private static String template(String owner, String method, boolean isStatic) {
+        if (isStatic) {
+            return STATIC_CALLS.get(owner + "#" + method);
+        } else if (EXECUTORS.contains(owner)) {
+            return EXECUTOR_CALLS.get(method);
+        } else if (FUTURES.contains(owner)) {
+            return FUTURE_CALLS.get(method);
+        } else if ("java.lang.Thread".equals(owner)) {
+            return THREAD_CALLS.get(method);
+        } else {
+            return null;
+        }
+    }
+}
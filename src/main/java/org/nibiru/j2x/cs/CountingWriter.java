@@ -0,0 +1,51 @@
+package org.nibiru.j2x.cs;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Cuenta los bytes que ocupa en UTF-8 lo escrito, sin codificarlo
+class CountingWriter extends Writer {
+    private final Writer out;
+    private long bytes;
+
+    CountingWriter(Writer out) {
+        this.out = checkNotNull(out);
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            count(cbuf[i]);
+        }
+        out.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            count(str.charAt(i));
+        }
+        out.write(str, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void count(char c) {
+        // Cada mitad de un par surrogate cuenta 2: el par ocupa 4
+        bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+    }
+}
@@ -2,75 +2,180 @@ package org.nibiru.j2x.cs;
 
 import com.google.common.base.CaseFormat;
 import com.google.common.base.Joiner;
-import com.google.common.base.MoreObjects;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.nibiru.j2x.ast.J2xAccess;
 import org.nibiru.j2x.ast.J2xArray;
 import org.nibiru.j2x.ast.J2xBlock;
 import org.nibiru.j2x.ast.J2xClass;
 import org.nibiru.j2x.ast.J2xField;
+import org.nibiru.j2x.ast.J2xInlining;
 import org.nibiru.j2x.ast.J2xMember;
 import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xArrayLength;
+import org.nibiru.j2x.ast.element.J2xArrayLoad;
+import org.nibiru.j2x.ast.element.J2xArrayStore;
 import org.nibiru.j2x.ast.element.J2xAssignment;
+import org.nibiru.j2x.ast.element.J2xBinaryOperation;
+import org.nibiru.j2x.ast.element.J2xCast;
+import org.nibiru.j2x.ast.element.J2xComparison;
+import org.nibiru.j2x.ast.element.J2xConversion;
+import org.nibiru.j2x.ast.element.J2xElements;
+import org.nibiru.j2x.ast.element.J2xFieldLoad;
+import org.nibiru.j2x.ast.element.J2xFieldStore;
+import org.nibiru.j2x.ast.element.J2xIf;
+import org.nibiru.j2x.ast.element.J2xInstanceOf;
 import org.nibiru.j2x.ast.element.J2xLiteral;
 import org.nibiru.j2x.ast.element.J2xMethodCall;
 import org.nibiru.j2x.ast.element.J2xNativeCode;
+import org.nibiru.j2x.ast.element.J2xNewArray;
+import org.nibiru.j2x.ast.element.J2xNewObject;
+import org.nibiru.j2x.ast.element.J2xOperator;
 import org.nibiru.j2x.ast.element.J2xReturn;
+import org.nibiru.j2x.ast.element.J2xSynchronized;
+import org.nibiru.j2x.ast.element.J2xThrow;
+import org.nibiru.j2x.ast.element.J2xUnaryOperation;
 import org.nibiru.j2x.ast.element.J2xVariable;
+import org.nibiru.j2x.metrics.TranslationListener;
 import org.objectweb.asm.Type;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class CsWritter {
     private static final Map<String, String> PREDEFINED_TYPES =
-            ImmutableMap.of(Object.class.getName(), "object",
-                    "string", "string",
-                    "boolean", "bool");
-    private static final Map<String, String> KEYWORD_SUBSTITUTION =
-            ImmutableMap.of("unsafe", "_unsafe");
-    private final Writer out;
+            ImmutableMap.<String, String>builder()
+                    .put(Object.class.getName(), "object")
+                    .put("string", "string")
+                    .put("boolean", "bool")
+                    .put("byte", "sbyte")
+                    .putAll(ConcurrencyIntrinsics.TYPES)
+                    .build();
+    private static final Map<J2xOperator, String> OPERATORS =
+            ImmutableMap.<J2xOperator, String>builder()
+                    .put(J2xOperator.ADD, "+")
+                    .put(J2xOperator.SUBTRACT, "-")
+                    .put(J2xOperator.MULTIPLY, "*")
+                    .put(J2xOperator.DIVIDE, "/")
+                    .put(J2xOperator.REMAINDER, "%")
+                    .put(J2xOperator.NEGATE, "-")
+                    .put(J2xOperator.SHIFT_LEFT, "<<")
+                    .put(J2xOperator.SHIFT_RIGHT, ">>")
+                    .put(J2xOperator.AND, "&")
+                    .put(J2xOperator.OR, "|")
+                    .put(J2xOperator.XOR, "^")
+                    .build();
+    private static final Map<Double, String> SPECIAL_FLOATING_POINT_VALUES =
+            ImmutableMap.of(Double.NaN, "NaN",
+                    Double.POSITIVE_INFINITY, "PositiveInfinity",
+                    Double.NEGATIVE_INFINITY, "NegativeInfinity");
+    private static final Set<J2xOperator> OVERFLOW_OPERATORS =
+            ImmutableSet.of(J2xOperator.ADD,
+                    J2xOperator.SUBTRACT,
+                    J2xOperator.MULTIPLY,
+                    J2xOperator.DIVIDE,
+                    J2xOperator.NEGATE,
+                    J2xOperator.UNSIGNED_SHIFT_RIGHT);
+    // Palabras reservadas de C# que son identificadores válidos en Java
+    private static final Set<String> KEYWORDS =
+            ImmutableSet.of("unsafe", "in", "out", "ref", "params", "base", "lock", "object", "string",
+                    "event", "internal", "is", "as", "checked", "unchecked", "fixed", "operator", "delegate",
+                    "readonly", "sealed", "override", "virtual", "extern", "implicit", "explicit", "namespace",
+                    "using", "struct", "decimal", "sbyte", "uint", "ulong", "ushort", "foreach", "typeof",
+                    "sizeof", "stackalloc");
+    private static final String NEW_ARRAY_HELPER = "__NewArray";
+    private static final String METHOD_IMPL_OPTIONS = "System.Runtime.CompilerServices.MethodImplOptions.";
+    private static final String ENUM_EXTENSIONS_SUFFIX = "Extensions";
+    private static final String ENUM_VALUES_FIELD = "$VALUES";
+    private static final String ENUM_CONSTRUCTOR_DESC = "(Ljava/lang/String;I)V";
+    // Miembros que javac genera en todo enum
+    private static final Set<String> ENUM_METHODS =
+            ImmutableSet.of("values", "valueOf", "$values", J2xMethod.CONSTRUCTOR_NAME, J2xMethod.STATIC_CONSTRUCTOR_NAME);
+    private final CountingWriter out;
     private final boolean pretty;
+    private final TranslationListener listener;
     private int indentation;
 
     public CsWritter(Writer out, boolean pretty) {
-        this.out = checkNotNull(out);
+        this(out, pretty, TranslationListener.NONE);
+    }
+
+    public CsWritter(Writer out, boolean pretty, TranslationListener listener) {
+        this.out = new CountingWriter(checkNotNull(out));
         this.pretty = pretty;
+        this.listener = checkNotNull(listener);
     }
 
     public void write(J2xClass j2xClass) {
-        try {
-            if (j2xClass.getFullName().equals(String.class.getName())) {
-                updateStringClass(j2xClass);
-            }
+        listener.writeStarted(j2xClass);
+        long start = System.nanoTime();
+        long startBytes = out.getBytes();
+        writeClass(j2xClass);
+        listener.classWritten(j2xClass, System.nanoTime() - start, out.getBytes() - startBytes);
+    }
 
+    private void writeClass(J2xClass j2xClass) {
+        ConcurrencyIntrinsics.checkSuperTypes(j2xClass);
+        try {
             line("namespace %s", capitalize(j2xClass.getPackageName()));
             line("{");
             indentation++;
-            line("%sclass %s%s", access(j2xClass.getAccess()),
-                    keyword(j2xClass.getName()),
-                    (j2xClass.getSuperClass() == null)
-                            ? ""
-                            : (" : " + capitalize(j2xClass.getSuperClass().getFullName())));
+            if (isValueEnum(j2xClass)) {
+                writeEnum(j2xClass);
+                indentation--;
+                line("}");
+                out.flush();
+                return;
+            }
+            if (isStruct(j2xClass)) {
+                line("%sreadonly struct %s", access(j2xClass.getAccess()), keyword(j2xClass.getName()));
+            } else {
+                line("%sclass %s%s", access(j2xClass.getAccess()),
+                        keyword(j2xClass.getName()),
+                        (j2xClass.getSuperClass() == null)
+                                ? ""
+                                : (" : " + superClass(j2xClass)));
+            }
             line("{");
             indentation++;
 
+            Map<J2xField, Object> initializers = fieldInitializers(j2xClass);
             for (J2xField field : j2xClass.getFields()) {
-                write(field);
+                write(j2xClass, field, initializers != null
+                        ? initializers.get(field)
+                        : null);
             }
 
-            for (J2xMethod method : j2xClass.getMethods()) {
-                write(j2xClass, method);
+            for (J2xMethod method : methods(j2xClass)) {
+                if (initializers == null || !isStaticConstructor(method)) {
+                    write(j2xClass, method);
+                }
+            }
+            for (OnceExpression helper : helpers(j2xClass)) {
+                writeHelper(helper);
+            }
+            int newArrayDimensions = newArrayDimensions(j2xClass);
+            for (int dimensions = 2; dimensions <= newArrayDimensions; dimensions++) {
+                writeNewArrayHelper(dimensions);
             }
             indentation--;
             line("}");
@@ -82,11 +187,199 @@ public class CsWritter {
         }
     }
 
-    private void write(J2xField field) {
-        line("%s%s %s;",
-                modifiers(field),
+    // Un enum sin estado propio se traduce a un enum de C#, que es un value type: las constantes no son
+    // objetos en el heap y ordinal() es una conversión. El resto de la API va en una clase de extensiones.
+    private void writeEnum(J2xClass j2xClass) {
+        String name = keyword(j2xClass.getName());
+        List<J2xField> constants = ImmutableList.copyOf(j2xClass.getEnumConstants());
+        line("%senum %s", access(j2xClass.getAccess()), name);
+        line("{");
+        indentation++;
+        for (int i = 0; i < constants.size(); i++) {
+            line("%s%s", keyword(constants.get(i).getName()), i < constants.size() - 1 ? "," : "");
+        }
+        indentation--;
+        line("}");
+
+        String stringType = capitalize(String.class.getName());
+        line("%sstatic class %s", access(j2xClass.getAccess()), name + ENUM_EXTENSIONS_SUFFIX);
+        line("{");
+        indentation++;
+        line("private static readonly %s[] NAMES = {%s};", stringType,
+                Joiner.on(", ").join(Iterables.transform(constants,
+                        constant -> literalElement(new J2xLiteral(constant.getName())))));
+        line("private static readonly %s[] VALUES = {%s};", name,
+                Joiner.on(", ").join(Iterables.transform(constants,
+                        constant -> name + "." + keyword(constant.getName()))));
+        line("public static int Ordinal(this %s value) { return (int) value; }", name);
+        line("public static %s Name(this %s value) { return NAMES[(int) value]; }", stringType, name);
+        line("public static %s ToString(this %s value) { return NAMES[(int) value]; }", stringType, name);
+        line("public static int CompareTo(this %s value, %s other) { return (int) value - (int) other; }", name, name);
+        line("public static bool Equals(this %s value, object other) { return other is %s && (%s) other == value; }",
+                name, name, name);
+        line("public static int HashCode(this %s value) { return (int) value; }", name);
+        // Como en Java, values() devuelve una copia para que nadie modifique el array compartido
+        line("public static %s[] Values() { return (%s[]) VALUES.Clone(); }", name, name);
+        line("public static %s ValueOf(%s name)", name, stringType);
+        line("{");
+        indentation++;
+        line("for (int i = 0; i < NAMES.Length; i++) { if (NAMES[i].Equals(name)) { return VALUES[i]; } }");
+        line("throw new System.ArgumentException(\"No enum constant %s\");", name);
+        indentation--;
+        line("}");
+        indentation--;
+        line("}");
+    }
+
+    // Enums finales (sin constantes con cuerpo) que no declaran campos ni métodos más allá de los que genera javac,
+    // y cuyos valores nunca son null ni se usan por identidad: un enum de C# no puede ser null
+    private static boolean isValueEnum(J2xClass j2xClass) {
+        if (!j2xClass.isEnum() || !j2xClass.isFinal() || j2xClass.isIdentitySensitive()) {
+            return false;
+        }
+        for (J2xField field : j2xClass.getFields()) {
+            if (!field.isEnumConstant() && !ENUM_VALUES_FIELD.equals(field.getName())) {
+                return false;
+            }
+        }
+        for (J2xMethod method : j2xClass.getMethods()) {
+            if (!ENUM_METHODS.contains(method.getName())
+                    || J2xMethod.CONSTRUCTOR_NAME.equals(method.getName())
+                    && !ENUM_CONSTRUCTOR_DESC.equals(method.getArgDesc())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // C# solo permite lanzar subclases de System.Exception
+    private static String superClass(J2xClass j2xClass) {
+        return j2xClass.getFullName().equals(Throwable.class.getName())
+                ? "System.Exception"
+                : capitalize(j2xClass.getSuperClass().getFullName());
+    }
+
+    // Una clase final e inmutable que extiende de Object y nunca se usa por identidad (ver
+    // J2xClass.isIdentitySensitive) se traduce a un readonly struct, que no aloca en el heap
+    private static boolean isStruct(J2xClass j2xClass) {
+        return isStructCandidate(j2xClass)
+                && !contains(j2xClass, j2xClass, Sets.newIdentityHashSet());
+    }
+
+    // Un struct no puede contenerse a sí mismo, ni directamente ni a través de los campos de otro struct (CS0523)
+    private static boolean contains(J2xClass container, J2xClass j2xClass, Set<J2xClass> visited) {
+        for (J2xField field : container.getFields()) {
+            J2xClass type = field.getType();
+            if (!field.isStatic()
+                    && isStructCandidate(type)
+                    && (type.equals(j2xClass) || visited.add(type) && contains(type, j2xClass, visited))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStructCandidate(J2xClass j2xClass) {
+        if (!j2xClass.isFinal()
+                || j2xClass.isEnum()
+                || j2xClass.isPrimitive()
+                || j2xClass instanceof J2xArray
+                || j2xClass.isIdentitySensitive()
+                || j2xClass.getSuperClass() == null
+                || !j2xClass.getSuperClass().getFullName().equals(Object.class.getName())) {
+            return false;
+        }
+        boolean hasState = false;
+        for (J2xField field : j2xClass.getFields()) {
+            if (!field.isStatic()) {
+                if (!field.isFinal()) {
+                    return false;
+                }
+                hasState = true;
+            }
+        }
+        // Los structs no pueden declarar un constructor sin parámetros
+        return hasState
+                && j2xClass.findMethod(J2xMethod.CONSTRUCTOR_NAME, "()V") == null;
+    }
+
+    private void write(J2xClass j2xClass, J2xField field, @Nullable Object initializer) {
+        line("%s%s %s%s;",
+                modifiers(j2xClass, field),
                 type(field.getType()),
-                keyword(field.getName()));
+                keyword(field.getName()),
+                field.isConstant()
+                        ? " = " + literalElement(new J2xLiteral(field.getConstantValue()))
+                        : initializer != null
+                        ? " = " + (requiresUnchecked(initializer)
+                        ? "unchecked(" + value(field.getType(), initializer) + ")"
+                        : value(field.getType(), initializer))
+                        : "");
+    }
+
+    // Un constructor estático explícito le saca el beforefieldinit a la clase, y entonces el JIT tiene que
+    // chequear la inicialización en cada acceso estático. Si el <clinit> solo asigna, en el orden en que se
+    // declaran, valores sin efectos secundarios a campos propios, se traduce a inicializadores de campos.
+    // Devuelve null si hace falta el constructor estático.
+    @Nullable
+    private static Map<J2xField, Object> fieldInitializers(J2xClass j2xClass) {
+        J2xMethod staticConstructor = Iterables.tryFind(j2xClass.getMethods(), CsWritter::isStaticConstructor)
+                .orNull();
+        if (staticConstructor == null) {
+            return ImmutableMap.of();
+        }
+        if (!staticConstructor.getBody().getVariables().isEmpty()) {
+            return null;
+        }
+        List<J2xField> fields = ImmutableList.copyOf(j2xClass.getFields());
+        Map<J2xField, Object> initializers = Maps.newHashMap();
+        int lastIndex = -1;
+        for (Object element : staticConstructor.getBody().getElements()) {
+            if (element instanceof J2xReturn && ((J2xReturn) element).getValue() == null) {
+                continue;
+            }
+            if (!(element instanceof J2xFieldStore)) {
+                return null;
+            }
+            J2xFieldStore store = (J2xFieldStore) element;
+            int index = fields.indexOf(store.getField());
+            if (store.getTarget() != null
+                    || !store.getOwner().equals(j2xClass)
+                    || index <= lastIndex
+                    || !isPure(store.getValue(), j2xClass)) {
+                return null;
+            }
+            lastIndex = index;
+            initializers.put(store.getField(), store.getValue());
+        }
+        return initializers;
+    }
+
+    private static boolean isPure(Object element, J2xClass j2xClass) {
+        if (element instanceof J2xLiteral) {
+            return true;
+        } else if (element instanceof J2xNewArray) {
+            return Iterables.all(((J2xNewArray) element).getDimensions(), dimension -> isPure(dimension, j2xClass));
+        } else if (element instanceof J2xBinaryOperation) {
+            J2xBinaryOperation operation = (J2xBinaryOperation) element;
+            return isPure(operation.getLeft(), j2xClass)
+                    && isPure(operation.getRight(), j2xClass);
+        } else if (element instanceof J2xUnaryOperation) {
+            return isPure(((J2xUnaryOperation) element).getValue(), j2xClass);
+        } else if (element instanceof J2xConversion) {
+            return isPure(((J2xConversion) element).getValue(), j2xClass);
+        } else if (element instanceof J2xFieldLoad) {
+            // Leer un campo estático de otra clase dispararía su inicialización
+            J2xFieldLoad load = (J2xFieldLoad) element;
+            return load.getTarget() == null
+                    && load.getOwner().equals(j2xClass);
+        } else {
+            return false;
+        }
+    }
+
+    private static boolean isStaticConstructor(J2xMethod method) {
+        return J2xMethod.STATIC_CONSTRUCTOR_NAME.equals(method.getName());
     }
 
     private void write(J2xClass j2xClass, J2xMethod method) {
@@ -96,32 +389,51 @@ public class CsWritter {
             System.out.print(22);
         }
 
+        String intrinsic = AtomicIntrinsics.body(j2xClass, method,
+                Iterables.transform(method.getArguments(), argument -> keyword(argument.getName())));
+        List<String> options = methodImplOptions(method, intrinsic != null);
+        if (!options.isEmpty()) {
+            line("[System.Runtime.CompilerServices.MethodImpl(%s)]", Joiner.on(" | ").join(options));
+        }
         line("%s%s%s(%s)    %s",
-                modifiers(method),
+                modifiers(j2xClass, method),
                 method.isConstructor()
                         ? ""
                         : type(method.getType()) + " ",
-                capitalize(method.isConstructor()
-                        ? j2xClass.getName()
-                        : method.getName()),
+                method.isConstructor()
+                        ? capitalize(j2xClass.getName())
+                        : methodName(j2xClass, method),
                 Joiner.on(", ").join(StreamSupport.stream(method.getArguments().spliterator(), false)
                         .map(CsWritter::variable)
                         .collect(Collectors.toList())),
                 superCall != null
-                        ? " : base(" + buildArgs(superCall) + ")"
+                        ? " : " + constructorCall(j2xClass, superCall)
                         : "");
         line("{");
         indentation++;
+        if (intrinsic != null) {
+            line("%s", intrinsic);
+            indentation--;
+            line("}");
+            return;
+        }
         for (J2xVariable variable : method.getBody().getVariables()) {
             if (!variable.isThis()) {
                 line(type(variable.getType()) + " " + keyword(variable.getName()) + ";");
             }
         }
+        boolean unchecked = Iterables.any(method.getBody().getElements(), CsWritter::requiresUnchecked);
+        if (unchecked) {
+            line("unchecked");
+            line("{");
+            indentation++;
+        }
         for (Object element : method.getBody().getElements()) {
-            String line = element(element);
-            if (line != null) {
-                line(line);
-            }
+            writeStatement(method, element);
+        }
+        if (unchecked) {
+            indentation--;
+            line("}");
         }
 
         indentation--;
@@ -129,6 +441,87 @@ public class CsWritter {
         line("}");
     }
 
+    private static List<String> methodImplOptions(J2xMethod method, boolean isIntrinsic) {
+        List<String> options = Lists.newArrayList();
+        if (method.isSynchronized()) {
+            // Toma el monitor de this, o el del tipo si es estático, igual que en Java
+            options.add(METHOD_IMPL_OPTIONS + "Synchronized");
+        }
+        if (isIntrinsic || method.getInlining() == J2xInlining.AGGRESSIVE) {
+            options.add(METHOD_IMPL_OPTIONS + "AggressiveInlining");
+        } else if (method.getInlining() == J2xInlining.NEVER) {
+            options.add(METHOD_IMPL_OPTIONS + "NoInlining");
+        }
+        return options;
+    }
+
+    private void writeStatement(J2xMethod method, Object element) {
+        if (element instanceof J2xSynchronized) {
+            J2xSynchronized block = (J2xSynchronized) element;
+            line("lock (%s)", element(block.getLock()));
+            line("{");
+            indentation++;
+            for (Object blockElement : block.getElements()) {
+                writeStatement(method, blockElement);
+            }
+            indentation--;
+            line("}");
+        } else if (element instanceof J2xIf) {
+            J2xIf block = (J2xIf) element;
+            line("if (%s)", condition(block.getCondition()));
+            line("{");
+            indentation++;
+            for (Object blockElement : block.getElements()) {
+                writeStatement(method, blockElement);
+            }
+            indentation--;
+            line("}");
+        } else if (element instanceof J2xFieldStore && ((J2xFieldStore) element).getField().isVolatile()) {
+            // Las escrituras volatile de Java son secuencialmente consistentes: una lectura volatile posterior no
+            // puede adelantarse. En C#, volatile y Volatile.Write solo tienen semántica de release, así que la
+            // escritura va seguida de una barrera completa.
+            line("%s;", element(element));
+            line("System.Threading.Thread.MemoryBarrier();");
+        } else {
+            String line = statement(method, element);
+            if (line != null) {
+                line("%s", line);
+            }
+        }
+    }
+
+    private static String constructorCall(J2xClass j2xClass, J2xMethodCall call) {
+        if (call.getOwner().equals(j2xClass)) {
+            return "this(" + buildArgs(call) + ")";
+        } else if (isStruct(j2xClass)) {
+            // El constructor de Object no hace nada; this() inicializa todos los campos del struct,
+            // que C# exige asignar antes de salir del constructor
+            return "this()";
+        } else {
+            return "base(" + buildArgs(call) + ")";
+        }
+    }
+
+    private static String statement(J2xMethod method, Object element) {
+        if (element instanceof J2xReturn) {
+            return returnElement(method, (J2xReturn) element);
+        } else if (element instanceof J2xNativeCode) {
+            return nativeCodeElement((J2xNativeCode) element);
+        } else if (element instanceof J2xThrow) {
+            return "throw " + element(((J2xThrow) element).getException()) + ";";
+        } else if (isSuperCall(element)) {
+            return null;
+        } else {
+            String statement = element instanceof J2xMethodCall
+                    ? methodCallStatement((J2xMethodCall) element)
+                    : element(element);
+            // Una llamada sin equivalente en .NET, que no hace falta traducir
+            return statement.isEmpty()
+                    ? null
+                    : statement + ";";
+        }
+    }
+
     private static String element(Object element) {
         if (element instanceof J2xMethodCall) {
             return methodCallElement((J2xMethodCall) element);
@@ -138,26 +531,103 @@ public class CsWritter {
             return variableElement((J2xVariable) element);
         } else if (element instanceof J2xAssignment) {
             return assignmentElement((J2xAssignment) element);
-        } else if (element instanceof J2xReturn) {
-            return returnElement((J2xReturn) element);
-        } else if (element instanceof J2xNativeCode) {
-            return nativeCodeElement((J2xNativeCode) element);
+        } else if (element instanceof J2xBinaryOperation) {
+            return binaryOperationElement((J2xBinaryOperation) element);
+        } else if (element instanceof J2xUnaryOperation) {
+            return unaryOperationElement((J2xUnaryOperation) element);
+        } else if (element instanceof J2xConversion) {
+            return conversionElement((J2xConversion) element);
+        } else if (element instanceof J2xComparison) {
+            return comparisonElement((J2xComparison) element);
+        } else if (element instanceof J2xNewArray) {
+            return newArrayElement((J2xNewArray) element);
+        } else if (element instanceof J2xArrayLoad) {
+            return arrayLoadElement((J2xArrayLoad) element);
+        } else if (element instanceof J2xArrayStore) {
+            return arrayStoreElement((J2xArrayStore) element);
+        } else if (element instanceof J2xArrayLength) {
+            return arrayLengthElement((J2xArrayLength) element);
+        } else if (element instanceof J2xFieldLoad) {
+            return fieldLoadElement((J2xFieldLoad) element);
+        } else if (element instanceof J2xFieldStore) {
+            return fieldStoreElement((J2xFieldStore) element);
+        } else if (element instanceof J2xNewObject) {
+            return newObjectElement((J2xNewObject) element);
+        } else if (element instanceof J2xCast) {
+            return castElement((J2xCast) element);
+        } else if (element instanceof J2xInstanceOf) {
+            return "(" + condition(element) + ")";
         } else {
-            throw new IllegalArgumentException();
+            throw new IllegalArgumentException("Element not supported (yet): " + element.getClass());
         }
     }
 
+    private static String methodCallStatement(J2xMethodCall element) {
+        String intrinsic = ConcurrencyIntrinsics.statement(element.getOwner(),
+                element.getMethod(),
+                element.getTarget() != null
+                        ? target(element.getTarget())
+                        : null,
+                intrinsicArgs(element.getMethod(), element.getArgs()));
+        return intrinsic != null
+                ? intrinsic
+                : methodCallElement(element);
+    }
+
     private static String methodCallElement(J2xMethodCall element) {
-        if (!isSuperCall(element)) {
-            return (element.getTarget().getName()
+        String intrinsic = ConcurrencyIntrinsics.call(element.getOwner(),
+                element.getMethod(),
+                element.getTarget() != null
+                        ? target(element.getTarget())
+                        : null,
+                intrinsicArgs(element.getMethod(), element.getArgs()));
+        if (intrinsic != null) {
+            return intrinsic;
+        }
+        if (isValueEnum(element.getOwner())) {
+            // Los métodos de un enum de C# están en su clase de extensiones; se invocan como estáticos
+            // para no depender de un "using" del namespace
+            List<Object> args = Lists.newArrayList(element.getArgs());
+            if (element.getTarget() != null) {
+                args.add(0, element.getTarget());
+            }
+            return capitalize(element.getOwner().getFullName()) + ENUM_EXTENSIONS_SUFFIX
                     + "."
-                    + capitalize(element.getMethod().getName())
+                    + methodName(element.getOwner(), element.getMethod())
                     + "("
-                    + buildArgs(element)
-                    + ");");
-        } else {
-            return null;
+                    + buildArgs(args)
+                    + ")";
         }
+        return (element.getTarget() != null
+                ? target(element.getTarget())
+                : capitalize(element.getOwner().getFullName()))
+                + "."
+                + methodName(element.getOwner(), element.getMethod())
+                + "("
+                + buildArgs(element)
+                + ")";
+    }
+
+    private static String newObjectElement(J2xNewObject element) {
+        String intrinsic = ConcurrencyIntrinsics.call(element.getType(),
+                element.getConstructor(),
+                null,
+                intrinsicArgs(element.getConstructor(), element.getArgs()));
+        return intrinsic != null
+                ? intrinsic
+                : "new " + type(element.getType()) + "(" + buildArgs(element.getArgs()) + ")";
+    }
+
+    // Los argumentos ya escritos, con los literales convertidos al tipo del parámetro cuando se conoce
+    private static List<String> intrinsicArgs(J2xMethod method, List<Object> args) {
+        List<J2xVariable> parameters = ImmutableList.copyOf(method.getArguments());
+        List<String> values = Lists.newArrayListWithCapacity(args.size());
+        for (int i = 0; i < args.size(); i++) {
+            values.add(i < parameters.size()
+                    ? value(parameters.get(i).getType(), args.get(i))
+                    : element(args.get(i)));
+        }
+        return values;
     }
 
     private static String literalElement(J2xLiteral element) {
@@ -170,17 +640,24 @@ public class CsWritter {
                 || value instanceof Boolean) {
             return String.valueOf(value);
         } else if (value instanceof Long) {
-            return value + "l";
+            return value + "L";
         } else if (value instanceof Float) {
-            return value + "f";
+            Float floatValue = (Float) value;
+            return floatValue.isNaN() || floatValue.isInfinite()
+                    ? "float." + SPECIAL_FLOATING_POINT_VALUES.get(floatValue.doubleValue())
+                    : value + "f";
         } else if (value instanceof Double) {
-            return value + "d";
+            Double doubleValue = (Double) value;
+            return doubleValue.isNaN() || doubleValue.isInfinite()
+                    ? "double." + SPECIAL_FLOATING_POINT_VALUES.get(doubleValue)
+                    : value + "d";
         } else if (value instanceof Character) {
-            Character charValue = (Character) value;
-            return "'" + charValue + "'";
+            char charValue = (Character) value;
+            return charValue >= ' ' && charValue <= '~' && charValue != '\'' && charValue != '\\'
+                    ? "'" + charValue + "'"
+                    : String.format("'\\u%04x'", (int) charValue);
         } else if (value instanceof String) {
-            String stringValue = (String) value;
-            return "Java.Lang.String.FromNative(\"" + stringValue.replaceAll("%", "%%") + "\")";
+            return "Java.Lang.String.FromNative(\"" + escape((String) value) + "\")";
         } else if (value instanceof Type) {
             Type typeValue = (Type) value;
             return "typeof(" + capitalize(typeValue.getClassName()) + ")";
@@ -189,17 +666,31 @@ public class CsWritter {
         }
     }
 
+    // Como en los literales char: lo que no es ASCII imprimible, las comillas y la barra van como escapes Unicode
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char charValue = value.charAt(i);
+            if (charValue >= ' ' && charValue <= '~' && charValue != '"' && charValue != '\\') {
+                escaped.append(charValue);
+            } else {
+                escaped.append(String.format("\\u%04x", (int) charValue));
+            }
+        }
+        return escaped.toString();
+    }
+
     private static String variableElement(J2xVariable element) {
-        return element.getName();
+        return keyword(element.getName());
     }
 
     private static String assignmentElement(J2xAssignment element) {
-        return element(element.getTarget()) + " = " + element(element.getValue()) + ";";
+        return element(element.getTarget()) + " = " + value(element.getTarget().getType(), element.getValue());
     }
 
-    private static String returnElement(J2xReturn element) {
+    private static String returnElement(J2xMethod method, J2xReturn element) {
         return "return" + (element.getValue() != null
-                ? " " + element(element.getValue())
+                ? " " + value(method.getType(), element.getValue())
                 : "")
                 + ";";
     }
@@ -208,6 +699,392 @@ public class CsWritter {
         return element.getCode();
     }
 
+    private static String binaryOperationElement(J2xBinaryOperation element) {
+        String left = element(element.getLeft());
+        String right = element(element.getRight());
+        if (element.getOperator() == J2xOperator.UNSIGNED_SHIFT_RIGHT) {
+            return "((" + type(element.getType()) + ") ((" + unsignedType(element.getType()) + ") "
+                    + left + " >> " + right + "))";
+        } else if (isIntegral(element.getType())
+                && (element.getOperator() == J2xOperator.DIVIDE || element.getOperator() == J2xOperator.REMAINDER)) {
+            return integralDivision(element);
+        } else {
+            return "(" + left + " " + OPERATORS.get(element.getOperator()) + " " + right + ")";
+        }
+    }
+
+    // En C#, MinValue / -1 y MinValue % -1 lanzan OverflowException; en Java dan MinValue y 0
+    private static String integralDivision(J2xBinaryOperation element) {
+        String operator = OPERATORS.get(element.getOperator());
+        Object right = element.getRight();
+        if (isNumberLiteral(right)) {
+            // Con un divisor constante, el caso -1 se resuelve al traducir
+            String left = element(element.getLeft());
+            return ((Number) ((J2xLiteral) right).getValue()).longValue() != -1
+                    ? "(" + left + " " + operator + " " + element(right) + ")"
+                    : element.getOperator() == J2xOperator.DIVIDE
+                    ? "(-(" + left + "))"
+                    : "(" + left + " % 1)";
+        }
+        return evaluateOnce(checkNotNull(onceExpression(element)));
+    }
+
+    private static boolean isNumberLiteral(Object element) {
+        return element instanceof J2xLiteral && ((J2xLiteral) element).getValue() instanceof Number;
+    }
+
+    // Las expresiones que usan cada operando más de una vez: la división entera con un divisor que no es constante,
+    // la conversión de punto flotante a entero y la comparación de punto flotante. Null para el resto.
+    @Nullable
+    private static OnceExpression onceExpression(Object element) {
+        if (element instanceof J2xBinaryOperation) {
+            J2xBinaryOperation operation = (J2xBinaryOperation) element;
+            boolean divide = operation.getOperator() == J2xOperator.DIVIDE;
+            String operator = OPERATORS.get(operation.getOperator());
+            if (!isIntegral(operation.getType())
+                    || !divide && operation.getOperator() != J2xOperator.REMAINDER
+                    || isNumberLiteral(operation.getRight())) {
+                return null;
+            }
+            return new OnceExpression(divide ? "__Divide" : "__Remainder",
+                    operation.getType(),
+                    operation.getType(),
+                    ImmutableList.of(operation.getLeft(), operation.getRight()),
+                    ImmutableList.of("__l", "__r"),
+                    operands -> "(" + operands.get(1) + " == -1 ? "
+                            + (divide ? "-(" + operands.get(0) + ")" : "0")
+                            + " : " + operands.get(0) + " " + operator + " " + operands.get(1) + ")");
+        } else if (element instanceof J2xConversion) {
+            J2xConversion conversion = (J2xConversion) element;
+            if (isIntegral(conversion.getSourceType()) || !isIntegral(conversion.getType())) {
+                return null;
+            }
+            // Java satura al pasar de punto flotante a int o long, y NaN da 0; en C# el resultado no está definido
+            String source = type(conversion.getSourceType());
+            String target = type(conversion.getType());
+            return new OnceExpression("__To" + capitalize(target),
+                    conversion.getSourceType(),
+                    conversion.getType(),
+                    ImmutableList.of(conversion.getValue()),
+                    ImmutableList.of("__v"),
+                    operands -> {
+                        String value = operands.get(0);
+                        return "(" + source + ".IsNaN(" + value + ") ? 0"
+                                + " : " + value + " >= " + target + ".MaxValue ? " + target + ".MaxValue"
+                                + " : " + value + " <= " + target + ".MinValue ? " + target + ".MinValue"
+                                + " : (" + target + ") " + value + ")";
+                    });
+        } else if (element instanceof J2xComparison) {
+            J2xComparison comparison = (J2xComparison) element;
+            if (J2xClass.LONG.equals(comparison.getType())) {
+                return null;
+            }
+            // CompareTo no sirve: ordena NaN antes que todo, y fcmpl/fcmpg dan -1 o 1 según la instrucción
+            return new OnceExpression(comparison.getNanResult() < 0 ? "__CompareL" : "__CompareG",
+                    comparison.getType(),
+                    J2xClass.INT,
+                    ImmutableList.of(comparison.getLeft(), comparison.getRight()),
+                    ImmutableList.of("__l", "__r"),
+                    operands -> "(" + operands.get(0) + " < " + operands.get(1) + " ? -1 : "
+                            + "(" + operands.get(0) + " > " + operands.get(1) + " ? 1 : "
+                            + "(" + operands.get(0) + " == " + operands.get(1) + " ? 0 : "
+                            + comparison.getNanResult() + ")))");
+        } else {
+            return null;
+        }
+    }
+
+    // Si todos los operandos son simples, la expresión se escribe en el lugar. Si no, se llama a un método estático
+    // de la clase (ver helpers) para que, como en Java, se evalúen una sola vez y en orden, sin alocar un delegate.
+    private static String evaluateOnce(OnceExpression once) {
+        List<String> values = Lists.transform(once.operands, CsWritter::element);
+        return Iterables.all(once.operands, CsWritter::isSimple)
+                ? once.expression.apply(values)
+                : once.name + "(" + Joiner.on(", ").join(values) + ")";
+    }
+
+    // Los métodos que necesita evaluateOnce en los cuerpos de la clase, uno por nombre y tipos
+    private static Collection<OnceExpression> helpers(J2xClass j2xClass) {
+        Map<String, OnceExpression> helpers = Maps.newLinkedHashMap();
+        for (J2xMethod method : methods(j2xClass)) {
+            for (Object element : method.getBody().getElements()) {
+                J2xElements.any(element, node -> {
+                    OnceExpression once = onceExpression(node);
+                    if (once != null && !Iterables.all(once.operands, CsWritter::isSimple)) {
+                        helpers.putIfAbsent(once.name + "(" + type(once.operandType) + ")", once);
+                    }
+                    return false;
+                });
+            }
+        }
+        return helpers.values();
+    }
+
+    private void writeHelper(OnceExpression helper) {
+        line("[System.Runtime.CompilerServices.MethodImpl(%s)]", METHOD_IMPL_OPTIONS + "AggressiveInlining");
+        line("static %s %s(%s)",
+                type(helper.resultType),
+                helper.name,
+                Joiner.on(", ").join(Lists.transform(helper.parameters,
+                        parameter -> type(helper.operandType) + " " + parameter)));
+        line("{");
+        indentation++;
+        line("%s", "return unchecked(" + helper.expression.apply(helper.parameters) + ");");
+        indentation--;
+        line("}");
+    }
+
+    private static String unaryOperationElement(J2xUnaryOperation element) {
+        return "(" + OPERATORS.get(element.getOperator()) + element(element.getValue()) + ")";
+    }
+
+    private static String conversionElement(J2xConversion element) {
+        OnceExpression once = onceExpression(element);
+        if (once != null) {
+            return evaluateOnce(once);
+        }
+        return "((" + type(element.getType()) + ") " + element(element.getValue()) + ")";
+    }
+
+    private static String castElement(J2xCast element) {
+        return "((" + type(element.getType()) + ") " + element(element.getValue()) + ")";
+    }
+
+    // Con binding, el patrón evita la segunda conversión: "x is T t" comprueba el tipo y asigna t
+    private static String condition(Object element) {
+        if (element instanceof J2xInstanceOf) {
+            J2xInstanceOf instanceOf = (J2xInstanceOf) element;
+            return element(instanceOf.getValue()) + " is " + type(instanceOf.getType())
+                    + (instanceOf.getBinding() != null
+                    ? " " + instanceOf.getBinding().getName()
+                    : "");
+        } else {
+            return element(element);
+        }
+    }
+
+    private static String comparisonElement(J2xComparison element) {
+        if (J2xClass.LONG.equals(element.getType())) {
+            return "(" + element(element.getLeft()) + ").CompareTo(" + element(element.getRight()) + ")";
+        } else {
+            return evaluateOnce(checkNotNull(onceExpression(element)));
+        }
+    }
+
+    // Los arrays multidimensionales de Java son arrays de arrays, así que se mapean a jagged arrays de C#.
+    // C# solo permite dar el tamaño del primer nivel: con más de un tamaño se llama a un método estático de la clase
+    // (ver writeNewArrayHelper), que recibe los tamaños ya evaluados, una vez y en orden como en Java.
+    private static String newArrayElement(J2xNewArray element) {
+        J2xArray type = element.getType();
+        List<Object> dimensions = element.getDimensions();
+        if (dimensions.size() == 1) {
+            return "new " + type(type.getItemClass()) + "[" + element(dimensions.get(0)) + "]"
+                    + Strings.repeat(J2xArray.ARRAY, type.getDimensions() - 1);
+        }
+        // Los niveles sin tamaño quedan en el tipo de los elementos
+        String itemType = type(type.getItemClass()) + Strings.repeat(J2xArray.ARRAY, type.getDimensions()
+                - dimensions.size());
+        return NEW_ARRAY_HELPER + "<" + itemType + ">(" + buildArgs(dimensions) + ")";
+    }
+
+    // Máximo de tamaños que recibe newArrayElement en los cuerpos de la clase. Se escriben los métodos de 2 hasta ese
+    // máximo, porque el de n tamaños usa el de n - 1.
+    private static int newArrayDimensions(J2xClass j2xClass) {
+        int[] maxDimensions = {1};
+        for (J2xMethod method : methods(j2xClass)) {
+            for (Object element : method.getBody().getElements()) {
+                J2xElements.any(element, node -> {
+                    if (node instanceof J2xNewArray) {
+                        maxDimensions[0] = Math.max(maxDimensions[0], ((J2xNewArray) node).getDimensions().size());
+                    }
+                    return false;
+                });
+            }
+        }
+        return maxDimensions[0];
+    }
+
+    private void writeNewArrayHelper(int dimensions) {
+        List<String> parameters = Lists.newArrayList();
+        for (int i = 0; i < dimensions; i++) {
+            parameters.add("__d" + i);
+        }
+        String arrayType = "T" + Strings.repeat(J2xArray.ARRAY, dimensions);
+        line("static %s %s<T>(%s)", arrayType, NEW_ARRAY_HELPER, "int " + Joiner.on(", int ").join(parameters));
+        line("{");
+        indentation++;
+        line("%s __a = new T[__d0]%s;", arrayType, Strings.repeat(J2xArray.ARRAY, dimensions - 1));
+        line("for (int __i = 0; __i < __d0; __i++)");
+        line("{");
+        indentation++;
+        line("__a[__i] = %s;", dimensions == 2
+                ? "new T[__d1]"
+                : NEW_ARRAY_HELPER + "<T>(" + Joiner.on(", ").join(parameters.subList(1, dimensions)) + ")");
+        indentation--;
+        line("}");
+        line("return __a;");
+        indentation--;
+        line("}");
+    }
+
+    private static String arrayLoadElement(J2xArrayLoad element) {
+        return target(element.getArray()) + "[" + element(element.getIndex()) + "]";
+    }
+
+    private static String arrayStoreElement(J2xArrayStore element) {
+        return target(element.getArray()) + "[" + element(element.getIndex()) + "] = "
+                + value(element.getType(), element.getValue());
+    }
+
+    private static String arrayLengthElement(J2xArrayLength element) {
+        return target(element.getArray()) + ".Length";
+    }
+
+    private static String fieldLoadElement(J2xFieldLoad element) {
+        String field = field(element.getOwner(), element.getField(), element.getTarget());
+        return isVolatileAccessed(element.getField())
+                ? "System.Threading.Volatile.Read(ref " + field + ")"
+                : field;
+    }
+
+    private static String fieldStoreElement(J2xFieldStore element) {
+        String field = field(element.getOwner(), element.getField(), element.getTarget());
+        String value = value(element.getField().getType(), element.getValue());
+        return isVolatileAccessed(element.getField())
+                ? "System.Threading.Volatile.Write(ref " + field + ", " + value + ")"
+                : field + " = " + value;
+    }
+
+    // C# no admite volatile en campos long ni double: se declaran comunes y cada acceso pasa por Volatile
+    private static boolean isVolatileAccessed(J2xField field) {
+        return field.isVolatile()
+                && (J2xClass.LONG.equals(field.getType()) || J2xClass.DOUBLE.equals(field.getType()));
+    }
+
+    private static String field(J2xClass owner, J2xField field, @Nullable Object target) {
+        return (target == null
+                ? capitalize(owner.getFullName())
+                : target(target))
+                + "."
+                + keyword(field.getName());
+    }
+
+    // En el bytecode boolean y char son int, pero en C# no hay conversión implícita
+    private static String value(J2xClass type, Object element) {
+        if (element instanceof J2xLiteral && isIntegralConstant(((J2xLiteral) element).getValue())) {
+            int value = ((Number) ((J2xLiteral) element).getValue()).intValue();
+            if (J2xClass.BOOLEAN.equals(type)) {
+                return literalElement(new J2xLiteral(value != 0));
+            } else if (J2xClass.CHAR.equals(type)) {
+                return literalElement(new J2xLiteral((char) value));
+            }
+        }
+        return element(element);
+    }
+
+    // ICONST da un Integer, pero BIPUSH y SIPUSH dan Byte y Short
+    private static boolean isIntegralConstant(@Nullable Object value) {
+        return value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof Long;
+    }
+
+    private static String target(Object target) {
+        // Sin paréntesis, indexar "new int[3]" se leería como la creación de un jagged array
+        return target instanceof J2xNewArray
+                ? "(" + element(target) + ")"
+                : element(target);
+    }
+
+    // La aritmética entera de Java no chequea overflow, así que el cuerpo va en un contexto unchecked
+    // si alguna operación puede desbordar (aunque el proyecto C# compile con /checked)
+    private static boolean requiresUnchecked(Object element) {
+        if (element instanceof J2xBinaryOperation) {
+            J2xBinaryOperation operation = (J2xBinaryOperation) element;
+            return isIntegral(operation.getType()) && OVERFLOW_OPERATORS.contains(operation.getOperator())
+                    || requiresUnchecked(operation.getLeft())
+                    || requiresUnchecked(operation.getRight());
+        } else if (element instanceof J2xUnaryOperation) {
+            J2xUnaryOperation operation = (J2xUnaryOperation) element;
+            return isIntegral(operation.getType()) && OVERFLOW_OPERATORS.contains(operation.getOperator())
+                    || requiresUnchecked(operation.getValue());
+        } else if (element instanceof J2xConversion) {
+            J2xConversion conversion = (J2xConversion) element;
+            return isIntegral(conversion.getType())
+                    && !(J2xClass.LONG.equals(conversion.getType()) && J2xClass.INT.equals(conversion.getSourceType()))
+                    || requiresUnchecked(conversion.getValue());
+        } else if (element instanceof J2xComparison) {
+            J2xComparison comparison = (J2xComparison) element;
+            return requiresUnchecked(comparison.getLeft())
+                    || requiresUnchecked(comparison.getRight());
+        } else if (element instanceof J2xNewArray) {
+            return Iterables.any(((J2xNewArray) element).getDimensions(), CsWritter::requiresUnchecked);
+        } else if (element instanceof J2xArrayLoad) {
+            J2xArrayLoad load = (J2xArrayLoad) element;
+            return requiresUnchecked(load.getArray())
+                    || requiresUnchecked(load.getIndex());
+        } else if (element instanceof J2xArrayStore) {
+            J2xArrayStore store = (J2xArrayStore) element;
+            return requiresUnchecked(store.getArray())
+                    || requiresUnchecked(store.getIndex())
+                    || requiresUnchecked(store.getValue());
+        } else if (element instanceof J2xArrayLength) {
+            return requiresUnchecked(((J2xArrayLength) element).getArray());
+        } else if (element instanceof J2xFieldLoad) {
+            J2xFieldLoad load = (J2xFieldLoad) element;
+            return load.getTarget() != null
+                    && requiresUnchecked(load.getTarget());
+        } else if (element instanceof J2xFieldStore) {
+            J2xFieldStore store = (J2xFieldStore) element;
+            return store.getTarget() != null && requiresUnchecked(store.getTarget())
+                    || requiresUnchecked(store.getValue());
+        } else if (element instanceof J2xAssignment) {
+            return requiresUnchecked(((J2xAssignment) element).getValue());
+        } else if (element instanceof J2xReturn) {
+            return ((J2xReturn) element).getValue() != null
+                    && requiresUnchecked(((J2xReturn) element).getValue());
+        } else if (element instanceof J2xThrow) {
+            return requiresUnchecked(((J2xThrow) element).getException());
+        } else if (element instanceof J2xSynchronized) {
+            J2xSynchronized block = (J2xSynchronized) element;
+            return requiresUnchecked(block.getLock())
+                    || Iterables.any(block.getElements(), CsWritter::requiresUnchecked);
+        } else if (element instanceof J2xIf) {
+            J2xIf block = (J2xIf) element;
+            return requiresUnchecked(block.getCondition())
+                    || Iterables.any(block.getElements(), CsWritter::requiresUnchecked);
+        } else if (element instanceof J2xCast) {
+            return requiresUnchecked(((J2xCast) element).getValue());
+        } else if (element instanceof J2xInstanceOf) {
+            return requiresUnchecked(((J2xInstanceOf) element).getValue());
+        } else if (element instanceof J2xMethodCall) {
+            J2xMethodCall call = (J2xMethodCall) element;
+            return call.getTarget() != null && requiresUnchecked(call.getTarget())
+                    || Iterables.any(call.getArgs(), CsWritter::requiresUnchecked);
+        } else if (element instanceof J2xNewObject) {
+            return Iterables.any(((J2xNewObject) element).getArgs(), CsWritter::requiresUnchecked);
+        } else {
+            return false;
+        }
+    }
+
+    private static boolean isIntegral(J2xClass type) {
+        return !J2xClass.FLOAT.equals(type)
+                && !J2xClass.DOUBLE.equals(type);
+    }
+
+    private static boolean isSimple(Object element) {
+        return element instanceof J2xVariable
+                || element instanceof J2xLiteral;
+    }
+
+    private static String unsignedType(J2xClass type) {
+        return J2xClass.LONG.equals(type)
+                ? "ulong"
+                : "uint";
+    }
+
     private static J2xMethodCall getSuperCall(J2xBlock block) {
         if (block.getElements().isEmpty()) {
             return null;
@@ -229,8 +1106,12 @@ public class CsWritter {
     }
 
     private static String buildArgs(J2xMethodCall callSentence) {
+        return buildArgs(callSentence.getArgs());
+    }
+
+    private static String buildArgs(List<Object> args) {
         return Joiner.on(',')
-                .join(Iterables.transform(callSentence.getArgs(),
+                .join(Iterables.transform(args,
                         CsWritter::element));
     }
 
@@ -243,7 +1124,7 @@ public class CsWritter {
     private static String type(J2xClass type) {
         if (type instanceof J2xArray) {
             J2xArray arrayType = (J2xArray) type;
-            return type(arrayType.getItemClass()) + Strings.repeat("[]", arrayType.getDimensions());
+            return type(arrayType.getItemClass()) + Strings.repeat(J2xArray.ARRAY, arrayType.getDimensions());
         } else {
             return PREDEFINED_TYPES.getOrDefault(type.getFullName(), type.isPrimitive()
                     ? type.getName()
@@ -257,9 +1138,22 @@ public class CsWritter {
                 : "";
     }
 
-    private static String modifiers(J2xMethod method) {
+    // Lo protegido en Java también se ve desde el paquete. Una clase final no tiene subclases, y un struct no puede
+    // declarar miembros protegidos: ahí alcanza con internal.
+    private static String access(J2xClass owner, J2xMember member) {
+        if (member.getAccess() == J2xAccess.PROTECTED) {
+            return owner.isFinal()
+                    ? "internal "
+                    : "protected internal ";
+        }
+        return member.isNestAccessed() && member.getAccess() == J2xAccess.PRIVATE
+                ? "internal "
+                : access(member.getAccess());
+    }
+
+    private static String modifiers(J2xClass owner, J2xMethod method) {
         return (!(method.isConstructor() && method.isStatic())
-                ? access(method.getAccess())
+                ? access(owner, method)
                 : "")
                 + (method.isStatic()
                 ? "static "
@@ -267,13 +1161,17 @@ public class CsWritter {
         // + (method.isFinal() ? "sealed " : ""); // TODO: habria que ver todo el tema del virttual y todo eso. Por defecto es sealed, por lo que solo hay que especificarlo si se está sobreescribiendo un método virtual.
     }
 
-    private static String modifiers(J2xField field) {
-        return commonModifiers(field)
-                + (field.isFinal() ? "readonly " : "");
+    private static String modifiers(J2xClass owner, J2xField field) {
+        // Los String de Java se traducen a una clase, que no puede ser const en C#
+        return field.isConstant() && field.getType().isPrimitive()
+                ? access(owner, field) + "const "
+                : commonModifiers(owner, field)
+                + (field.isFinal() ? "readonly " : "")
+                + (field.isVolatile() && !isVolatileAccessed(field) ? "volatile " : "");
     }
 
-    private static String commonModifiers(J2xMember member) {
-        return access(member.getAccess())
+    private static String commonModifiers(J2xClass owner, J2xMember member) {
+        return access(owner, member)
                 + (member.isStatic() ? "static " : "");
     }
 
@@ -317,24 +1215,71 @@ public class CsWritter {
                         .split(name), CaseFormat.LOWER_CAMEL.converterTo(CaseFormat.UPPER_CAMEL))));
     }
 
+    // C# no permite un miembro con el nombre del tipo que lo declara (CS0542): se le agrega un "_", en la clase que
+    // declara el método, en las que lo sobreescriben y en cada llamada
+    private static String methodName(J2xClass owner, J2xMethod method) {
+        String name = capitalize(method.getName());
+        J2xClass declaring = owner;
+        while (declaring.getSuperClass() != null
+                && declaring.findMethod(method.getName(), method.getArgDesc()) == null) {
+            declaring = declaring.getSuperClass();
+        }
+        for (J2xClass current = declaring; current != null; current = current.getSuperClass()) {
+            if (keyword(current.getName()).equals(name)) {
+                return name + "_";
+            }
+        }
+        return name;
+    }
+
     public static String keyword(String name) {
-        return MoreObjects.firstNonNull(KEYWORD_SUBSTITUTION.get(name),
-                name).replaceAll("\\$", "_");
+        return (KEYWORDS.contains(name)
+                ? "_" + name
+                : name).replaceAll("\\$", "_");
     }
 
-    private static void updateStringClass(J2xClass j2xClass) {
+    // String suma la conversión desde el string nativo. No se agrega a la clase, que puede estar compartida
+    // con otras sesiones (ver ClassRegistry)
+    private static Iterable<J2xMethod> methods(J2xClass j2xClass) {
+        if (!j2xClass.getFullName().equals(String.class.getName())) {
+            return j2xClass.getMethods();
+        }
         J2xBlock body = new J2xBlock();
         body.getElements()
                 .add(new J2xReturn(new J2xLiteral(null)));
 
-        j2xClass.getMethods()
-                .add(new J2xMethod("FromNative",
+        return Iterables.concat(j2xClass.getMethods(),
+                ImmutableList.of(new J2xMethod("FromNative",
                         j2xClass,
                         J2xAccess.PUBLIC,
                         true,
                         true,
                         "()V",
                         ImmutableList.of(new J2xVariable("value", new J2xClass("string", "", null, J2xAccess.PUBLIC))),
-                        body));
+                        body)));
+    }
+
+    // Una expresión sobre operandos del mismo tipo; escrita sobre los parámetros es el cuerpo del método estático
+    private static final class OnceExpression {
+        private final String name;
+        private final J2xClass operandType;
+        private final J2xClass resultType;
+        private final List<Object> operands;
+        private final List<String> parameters;
+        private final Function<List<String>, String> expression;
+
+        private OnceExpression(String name,
+                               J2xClass operandType,
+                               J2xClass resultType,
+                               List<Object> operands,
+                               List<String> parameters,
+                               Function<List<String>, String> expression) {
+            this.name = name;
+            this.operandType = operandType;
+            this.resultType = resultType;
+            this.operands = operands;
+            this.parameters = parameters;
+            this.expression = expression;
+        }
     }
 }
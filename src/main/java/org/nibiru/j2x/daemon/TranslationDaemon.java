@@ -0,0 +1,166 @@
+package org.nibiru.j2x.daemon;
+
+import com.google.common.base.Splitter;
+import com.google.common.io.BaseEncoding;
+
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.asm.ClassRegistry;
+import org.nibiru.j2x.asm.IgnoreSystemClassesPolicy;
+import org.nibiru.j2x.asm.ParsePolicy;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.incremental.IncrementalTranslator;
+import org.nibiru.j2x.metrics.TranslationListener;
+import org.nibiru.j2x.transform.Inliner;
+import org.nibiru.j2x.transform.InliningHints;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+// Traductor que queda corriendo, para no pagar en cada módulo el arranque del JVM, el JIT y el parseo de las
+// clases de biblioteca, que quedan en un ClassRegistry compartido por todos los pedidos.
+// Escucha solo en loopback, pero cualquier proceso de la máquina puede conectarse: al arrancar escribe un token
+// al azar en un archivo que solo puede leer su dueño, y cada conexión tiene que empezar con una línea con ese token.
+// Si no coincide responde "ERROR" y cierra la conexión.
+// Después, cada línea que recibe es un pedido "classPath<TAB>directorio de salida"; responde los archivos que
+// escribió o borró, uno por línea, y una línea vacía. Si el pedido falla responde una línea "ERROR mensaje"
+// antes de la vacía. Cada conexión puede hacer varios pedidos, y las conexiones se atienden en paralelo; dos
+// pedidos simultáneos no deben escribir en el mismo directorio.
+// Como el resto del traductor, lee las clases de su propio classpath.
+public class TranslationDaemon {
+    private static final char SEPARATOR = '\t';
+    private static final String ERROR_PREFIX = "ERROR ";
+    private static final String STATE_FILE = "j2x-state.txt";
+    private static final int TOKEN_BYTES = 32;
+
+    private final ParsePolicy parsePolicy;
+    private final ClassRegistry registry;
+    private final ExecutorService executor;
+
+    public TranslationDaemon(ParsePolicy parsePolicy, ClassRegistry registry, int threads) {
+        this.parsePolicy = checkNotNull(parsePolicy);
+        this.registry = checkNotNull(registry);
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    // Argumentos: el puerto, el archivo del token y, opcionalmente, el peso máximo del registro
+    public static void main(String[] args) throws IOException {
+        ClassRegistry registry = args.length > 2
+                ? new ClassRegistry(Long.parseLong(args[2]))
+                : new ClassRegistry();
+        new TranslationDaemon(new IgnoreSystemClassesPolicy(), registry, Runtime.getRuntime().availableProcessors())
+                .serve(Integer.parseInt(args[0]), Paths.get(args[1]));
+    }
+
+    // El archivo del token no tiene que existir; se borra al terminar
+    public void serve(int port, Path tokenFile) throws IOException {
+        serve(new ServerSocket(port, 0, InetAddress.getLoopbackAddress()), tokenFile);
+    }
+
+    // Atiende hasta que se cierra el socket
+    void serve(ServerSocket serverSocket, Path tokenFile) throws IOException {
+        byte[] token = BaseEncoding.base16().lowerCase().encode(randomBytes(TOKEN_BYTES))
+                .getBytes(StandardCharsets.UTF_8);
+        try (ServerSocket server = serverSocket) {
+            writeToken(tokenFile, token);
+            while (true) {
+                Socket socket = server.accept();
+                executor.execute(() -> handle(socket, token));
+            }
+        } finally {
+            executor.shutdown();
+            Files.deleteIfExists(tokenFile);
+        }
+    }
+
+    private void handle(Socket socket, byte[] token) {
+        try (Socket connection = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            // Comparación en tiempo constante, para no revelar cuántos caracteres coinciden
+            if (line == null || !MessageDigest.isEqual(token, line.getBytes(StandardCharsets.UTF_8))) {
+                out.write(ERROR_PREFIX + "token inválido\n");
+                return;
+            }
+            String request;
+            while ((request = in.readLine()) != null) {
+                try {
+                    for (Path file : translate(request)) {
+                        out.write(file + "\n");
+                    }
+                } catch (Throwable e) {
+                    // También un Error (un StackOverflowError de una clase muy anidada, por ejemplo): el cliente
+                    // espera la respuesta
+                    out.write(ERROR_PREFIX + String.valueOf(e).replace('\n', ' ') + "\n");
+                }
+                out.write("\n");
+                out.flush();
+            }
+        } catch (IOException e) {
+            // El cliente cerró la conexión
+        }
+    }
+
+    private static byte[] randomBytes(int count) {
+        byte[] bytes = new byte[count];
+        new SecureRandom().nextBytes(bytes);
+        return bytes;
+    }
+
+    // Se crea ya con los permisos, para que nadie llegue a leerlo antes de restringirlos
+    private static void writeToken(Path tokenFile, byte[] token) throws IOException {
+        Files.deleteIfExists(tokenFile);
+        if (tokenFile.getParent() != null) {
+            Files.createDirectories(tokenFile.getParent());
+        }
+        if (tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        } else {
+            Files.createFile(tokenFile);
+            File file = tokenFile.toFile();
+            checkState(file.setReadable(false, false) && file.setReadable(true, true),
+                    "No se pueden restringir los permisos de %s", tokenFile);
+        }
+        Files.write(tokenFile, token);
+    }
+
+    List<Path> translate(String request) throws IOException {
+        List<String> fields = Splitter.on(SEPARATOR).splitToList(request);
+        checkArgument(fields.size() == 2, "Se esperaba \"classPath<TAB>directorio de salida\": %s", request);
+        Map<String, J2xClass> classes = ClassParser.parse(fields.get(0),
+                parsePolicy,
+                TranslationListener.NONE,
+                registry);
+        Inliner.inline(classes, parsePolicy);
+        InliningHints.analyze(classes, parsePolicy);
+        Path outputDir = Paths.get(fields.get(1));
+        return new IncrementalTranslator(outputDir, outputDir.resolve(STATE_FILE))
+                .translate(classes.values());
+    }
+}
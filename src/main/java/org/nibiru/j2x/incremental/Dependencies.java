@@ -0,0 +1,83 @@
+package org.nibiru.j2x.incremental;
+
+import com.google.common.collect.Sets;
+
+import org.nibiru.j2x.ast.J2xArray;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xField;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xCast;
+import org.nibiru.j2x.ast.element.J2xElements;
+import org.nibiru.j2x.ast.element.J2xFieldLoad;
+import org.nibiru.j2x.ast.element.J2xFieldStore;
+import org.nibiru.j2x.ast.element.J2xInstanceOf;
+import org.nibiru.j2x.ast.element.J2xMethodCall;
+import org.nibiru.j2x.ast.element.J2xNewArray;
+import org.nibiru.j2x.ast.element.J2xNewObject;
+import org.nibiru.j2x.ast.element.J2xVariable;
+
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+// Clases de las que depende la traducción de una clase: su superclase, los tipos de sus campos y firmas,
+// y todo lo que sus cuerpos referencian (llamadas, campos, instanciaciones y conversiones).
+class Dependencies {
+    private Dependencies() {
+    }
+
+    static Set<String> of(J2xClass j2xClass) {
+        Set<String> dependencies = Sets.newTreeSet();
+        add(dependencies, j2xClass.getSuperClass());
+        for (J2xField field : j2xClass.getFields()) {
+            add(dependencies, field.getType());
+        }
+        for (J2xMethod method : j2xClass.getMethods()) {
+            add(dependencies, method.getType());
+            for (J2xVariable argument : method.getArguments()) {
+                add(dependencies, argument.getType());
+            }
+            for (J2xVariable variable : method.getBody().getVariables()) {
+                add(dependencies, variable.getType());
+            }
+            for (Object element : method.getBody().getElements()) {
+                J2xElements.transform(element, node -> {
+                    addReferences(dependencies, node);
+                    return node;
+                });
+            }
+        }
+        dependencies.remove(j2xClass.getFullName());
+        return dependencies;
+    }
+
+    private static void addReferences(Set<String> dependencies, Object node) {
+        if (node instanceof J2xMethodCall) {
+            J2xMethodCall call = (J2xMethodCall) node;
+            add(dependencies, call.getOwner());
+            add(dependencies, call.getMethod().getType());
+        } else if (node instanceof J2xNewObject) {
+            add(dependencies, ((J2xNewObject) node).getType());
+        } else if (node instanceof J2xFieldLoad) {
+            J2xFieldLoad load = (J2xFieldLoad) node;
+            add(dependencies, load.getOwner());
+            add(dependencies, load.getField().getType());
+        } else if (node instanceof J2xFieldStore) {
+            add(dependencies, ((J2xFieldStore) node).getOwner());
+        } else if (node instanceof J2xNewArray) {
+            add(dependencies, ((J2xNewArray) node).getType());
+        } else if (node instanceof J2xCast) {
+            add(dependencies, ((J2xCast) node).getType());
+        } else if (node instanceof J2xInstanceOf) {
+            add(dependencies, ((J2xInstanceOf) node).getType());
+        }
+    }
+
+    private static void add(Set<String> dependencies, @Nullable J2xClass type) {
+        if (type instanceof J2xArray) {
+            add(dependencies, ((J2xArray) type).getItemClass());
+        } else if (type != null && !type.isPrimitive()) {
+            dependencies.add(type.getFullName());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.nibiru.j2x.incremental;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Lo que queda de una traducción para la siguiente: por clase, la huella del .class leído, el archivo
+// generado, si se usa por identidad y las clases de las que depende. Se guarda como texto, una clase por línea.
+// La marca de identidad la ponen los cuerpos de otras clases (ver J2xClass.isIdentitySensitive), sin que haya
+// una dependencia que lo refleje; se guarda para detectar cuando cambia y con ella la forma de la clase.
+class IncrementalState {
+    static final IncrementalState EMPTY = new IncrementalState(ImmutableMap.of());
+
+    private static final String HEADER = "# j2x incremental state v2";
+    private static final char SEPARATOR = '\t';
+    private static final char DEPENDENCY_SEPARATOR = ',';
+
+    private final Map<String, Entry> entries;
+
+    IncrementalState(Map<String, Entry> entries) {
+        this.entries = ImmutableMap.copyOf(checkNotNull(entries));
+    }
+
+    static IncrementalState load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return EMPTY;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+            // Estado de otra versión: se traduce todo de nuevo
+            return EMPTY;
+        }
+        Map<String, Entry> entries = Maps.newLinkedHashMap();
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> columns = Splitter.on(SEPARATOR).splitToList(line);
+            if (columns.size() != 5 || !isRelative(columns.get(2))) {
+                // Estado dañado o editado a mano: se traduce todo de nuevo, sin borrar nada de lo que nombra
+                return EMPTY;
+            }
+            entries.put(columns.get(0), new Entry(columns.get(1),
+                    columns.get(2).isEmpty()
+                            ? null
+                            : columns.get(2),
+                    Boolean.parseBoolean(columns.get(3)),
+                    Splitter.on(DEPENDENCY_SEPARATOR).omitEmptyStrings().split(columns.get(4))));
+        }
+        return new IncrementalState(entries);
+    }
+
+    // Los archivos generados están siempre dentro del directorio de salida
+    private static boolean isRelative(String output) {
+        try {
+            Path path = Paths.get(output).normalize();
+            return !path.isAbsolute() && !path.getName(0).toString().equals("..");
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    void save(Path file) throws IOException {
+        List<String> lines = Lists.newArrayList(HEADER);
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry value = entry.getValue();
+            lines.add(Joiner.on(SEPARATOR).join(entry.getKey(),
+                    value.fingerprint,
+                    value.output != null
+                            ? value.output
+                            : "",
+                    value.isIdentitySensitive,
+                    Joiner.on(DEPENDENCY_SEPARATOR).join(value.dependencies)));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    Set<String> classNames() {
+        return entries.keySet();
+    }
+
+    @Nullable
+    Entry get(String className) {
+        return entries.get(className);
+    }
+
+    // Las clases dadas y todas las que dependen de ellas, directa o indirectamente
+    Set<String> withDependents(Collection<String> classNames) {
+        Map<String, Set<String>> dependents = Maps.newHashMap();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            for (String dependency : entry.getValue().dependencies) {
+                dependents.computeIfAbsent(dependency, name -> Sets.newHashSet())
+                        .add(entry.getKey());
+            }
+        }
+        Set<String> result = Sets.newHashSet(classNames);
+        Deque<String> pending = Queues.newArrayDeque(classNames);
+        while (!pending.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(pending.pop(), ImmutableSet.of())) {
+                if (result.add(dependent)) {
+                    pending.push(dependent);
+                }
+            }
+        }
+        return result;
+    }
+
+    static class Entry {
+        private final String fingerprint;
+        // Relativo al directorio de salida; null si la clase no se escribe
+        @Nullable
+        private final String output;
+        private final boolean isIdentitySensitive;
+        private final Set<String> dependencies;
+
+        Entry(String fingerprint,
+              @Nullable String output,
+              boolean isIdentitySensitive,
+              Iterable<String> dependencies) {
+            this.fingerprint = checkNotNull(fingerprint);
+            this.output = output;
+            this.isIdentitySensitive = isIdentitySensitive;
+            this.dependencies = ImmutableSet.copyOf(dependencies);
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        @Nullable
+        String getOutput() {
+            return output;
+        }
+
+        boolean isIdentitySensitive() {
+            return isIdentitySensitive;
+        }
+    }
+}
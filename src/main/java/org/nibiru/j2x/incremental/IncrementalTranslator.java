@@ -0,0 +1,149 @@
+package org.nibiru.j2x.incremental;
+
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Joiner;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.cs.CsWritter;
+import org.nibiru.j2x.metrics.TranslationListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Escribe la traducción de un programa ya parseado, rehaciendo solo lo necesario respecto de la corrida anterior.
+// Se vuelven a escribir las clases cuyo .class cambió y las que dependen de ellas; de esas, un archivo cuyo
+// contenido no cambió no se toca, así que conserva su fecha y el build de C# sigue siendo incremental.
+public class IncrementalTranslator {
+    private static final String SOURCE_EXTENSION = ".cs";
+    private static final HashFunction HASH = Hashing.sha256();
+
+    private final Path outputDir;
+    private final Path stateFile;
+    private final boolean pretty;
+    private final TranslationListener listener;
+
+    public IncrementalTranslator(Path outputDir, Path stateFile) {
+        this(outputDir, stateFile, true, TranslationListener.NONE);
+    }
+
+    public IncrementalTranslator(Path outputDir, Path stateFile, boolean pretty, TranslationListener listener) {
+        this.outputDir = checkNotNull(outputDir);
+        this.stateFile = checkNotNull(stateFile);
+        this.pretty = pretty;
+        this.listener = checkNotNull(listener);
+    }
+
+    // Devuelve los archivos que se escribieron o borraron
+    public List<Path> translate(Iterable<J2xClass> classes) throws IOException {
+        IncrementalState previous = IncrementalState.load(stateFile);
+        Map<String, IncrementalState.Entry> entries = Maps.newLinkedHashMap();
+        Set<String> changed = Sets.newHashSet();
+        for (J2xClass j2xClass : classes) {
+            String className = j2xClass.getFullName();
+            IncrementalState.Entry entry = new IncrementalState.Entry(fingerprint(j2xClass),
+                    outputPath(j2xClass),
+                    j2xClass.isIdentitySensitive(),
+                    Dependencies.of(j2xClass));
+            entries.put(className, entry);
+            IncrementalState.Entry previousEntry = previous.get(className);
+            if (previousEntry == null
+                    || !previousEntry.getFingerprint().equals(entry.getFingerprint())
+                    // Pasa de struct a clase (o al revés) por cómo la usan otras clases
+                    || previousEntry.isIdentitySensitive() != entry.isIdentitySensitive()
+                    || !Files.exists(resolve(entry.getOutput()))) {
+                changed.add(className);
+            }
+        }
+
+        List<Path> touched = Lists.newArrayList();
+        // Una clase que ya no se alcanza afecta a las que dependían de ella, y su archivo sobra
+        for (String className : previous.classNames()) {
+            if (!entries.containsKey(className)) {
+                changed.add(className);
+                String output = previous.get(className).getOutput();
+                if (output != null && Files.deleteIfExists(resolve(output))) {
+                    touched.add(resolve(output));
+                }
+            }
+        }
+
+        IncrementalState current = new IncrementalState(entries);
+        // Con el grafo nuevo y el anterior: una dependencia puede haber aparecido o desaparecido
+        Set<String> dirty = Sets.union(current.withDependents(changed), previous.withDependents(changed));
+        for (J2xClass j2xClass : classes) {
+            if (dirty.contains(j2xClass.getFullName())) {
+                StringWriter content = new StringWriter();
+                new CsWritter(content, pretty, listener).write(j2xClass);
+                Path file = resolve(entries.get(j2xClass.getFullName()).getOutput());
+                if (writeIfChanged(file, content.toString().getBytes(StandardCharsets.UTF_8))) {
+                    touched.add(file);
+                }
+            }
+        }
+        current.save(stateFile);
+        return touched;
+    }
+
+    // El estado se lee de un archivo que no controlamos: nunca se escribe ni se borra fuera del directorio de salida
+    private Path resolve(String output) throws IOException {
+        Path root = outputDir.toAbsolutePath().normalize();
+        Path file = root.resolve(output).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IOException("Output outside of " + root + ": " + output);
+        }
+        return file;
+    }
+
+    // Un directorio por paquete, en UpperCamelCase como los namespaces de C#
+    public static String outputPath(J2xClass j2xClass) {
+        List<String> path = Lists.newArrayList(Iterables.transform(
+                Splitter.on('.').omitEmptyStrings().split(j2xClass.getPackageName()),
+                CaseFormat.LOWER_CAMEL.converterTo(CaseFormat.UPPER_CAMEL)));
+        path.add(CsWritter.keyword(j2xClass.getName()) + SOURCE_EXTENSION);
+        return Joiner.on('/').join(path);
+    }
+
+    private static String fingerprint(J2xClass j2xClass) throws IOException {
+        // El mismo recurso que leyó ClassParser, con el mismo class loader
+        ClassLoader loader = MoreObjects.firstNonNull(Thread.currentThread().getContextClassLoader(),
+                IncrementalTranslator.class.getClassLoader());
+        try (InputStream input = loader
+                .getResourceAsStream(String.format("%s.class", j2xClass.getFullName().replace('.', '/')))) {
+            return input != null
+                    ? HASH.hashBytes(ByteStreams.toByteArray(input)).toString()
+                    : "";
+        }
+    }
+
+    private static boolean writeIfChanged(Path file, byte[] content) throws IOException {
+        if (Files.exists(file)) {
+            HashCode existing = HASH.hashBytes(Files.readAllBytes(file));
+            if (existing.equals(HASH.hashBytes(content))) {
+                return false;
+            }
+        } else if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, content);
+        return true;
+    }
+}
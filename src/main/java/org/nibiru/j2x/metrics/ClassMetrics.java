@@ -0,0 +1,74 @@
+package org.nibiru.j2x.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Lo medido para una clase. Los valores de escritura quedan en 0 si la clase no se escribió.
+public class ClassMetrics {
+    private final String className;
+    private final String packageName;
+    private boolean content;
+    private int bytesRead;
+    private int methods;
+    private int instructions;
+    private long writeNanos;
+    private long bytesWritten;
+    private long writeAllocatedBytes;
+
+    ClassMetrics(String className, String packageName) {
+        this.className = checkNotNull(className);
+        this.packageName = checkNotNull(packageName);
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public boolean isContent() {
+        return content;
+    }
+
+    public int getBytesRead() {
+        return bytesRead;
+    }
+
+    public int getMethods() {
+        return methods;
+    }
+
+    public int getInstructions() {
+        return instructions;
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // -1 si la JVM no mide la memoria asignada por thread
+    public long getWriteAllocatedBytes() {
+        return writeAllocatedBytes;
+    }
+
+    void parsed(boolean content, int bytesRead, int methods, int instructions) {
+        this.content = content;
+        this.bytesRead = bytesRead;
+        this.methods = methods;
+        this.instructions = instructions;
+    }
+
+    // Una clase puede escribirse más de una vez; se acumula
+    void written(long nanos, long bytesWritten, long allocatedBytes) {
+        writeNanos += nanos;
+        this.bytesWritten += bytesWritten;
+        writeAllocatedBytes = allocatedBytes < 0 || writeAllocatedBytes < 0
+                ? -1
+                : writeAllocatedBytes + allocatedBytes;
+    }
+}
@@ -0,0 +1,51 @@
+package org.nibiru.j2x.metrics;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+class CompositeTranslationListener implements TranslationListener {
+    private final TranslationListener first;
+    private final TranslationListener second;
+
+    CompositeTranslationListener(TranslationListener first, TranslationListener second) {
+        this.first = checkNotNull(first);
+        this.second = checkNotNull(second);
+    }
+
+    @Override
+    public void parseStarted(String className) {
+        first.parseStarted(className);
+        second.parseStarted(className);
+    }
+
+    @Override
+    public void classParsed(J2xClass j2xClass, boolean content, int bytesRead, int methods, int instructions) {
+        first.classParsed(j2xClass, content, bytesRead, methods, instructions);
+        second.classParsed(j2xClass, content, bytesRead, methods, instructions);
+    }
+
+    @Override
+    public void methodStarted(J2xClass owner, String name, String desc) {
+        first.methodStarted(owner, name, desc);
+        second.methodStarted(owner, name, desc);
+    }
+
+    @Override
+    public void methodParsed(J2xClass owner, String name, String desc, int instructions) {
+        first.methodParsed(owner, name, desc, instructions);
+        second.methodParsed(owner, name, desc, instructions);
+    }
+
+    @Override
+    public void writeStarted(J2xClass j2xClass) {
+        first.writeStarted(j2xClass);
+        second.writeStarted(j2xClass);
+    }
+
+    @Override
+    public void classWritten(J2xClass j2xClass, long nanos, long bytesWritten) {
+        first.classWritten(j2xClass, nanos, bytesWritten);
+        second.classWritten(j2xClass, nanos, bytesWritten);
+    }
+}
@@ -0,0 +1,34 @@
+package org.nibiru.j2x.metrics;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+// Recibe los avances de una traducción: ClassParser informa cada clase y cada método leídos, y CsWritter
+// cada clase escrita. Los métodos se invocan en el thread que hace el trabajo; el parseo de una clase puede
+// anidar el de las que referencia, así que los inicios y finales llegan como una pila.
+public interface TranslationListener {
+    TranslationListener NONE = new TranslationListener() {
+    };
+
+    default void parseStarted(String className) {
+    }
+
+    // content indica si se parsearon los cuerpos o solo las firmas
+    default void classParsed(J2xClass j2xClass, boolean content, int bytesRead, int methods, int instructions) {
+    }
+
+    default void methodStarted(J2xClass owner, String name, String desc) {
+    }
+
+    default void methodParsed(J2xClass owner, String name, String desc, int instructions) {
+    }
+
+    default void writeStarted(J2xClass j2xClass) {
+    }
+
+    default void classWritten(J2xClass j2xClass, long nanos, long bytesWritten) {
+    }
+
+    default TranslationListener andThen(TranslationListener other) {
+        return new CompositeTranslationListener(this, other);
+    }
+}
@@ -0,0 +1,228 @@
+package org.nibiru.j2x.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.nibiru.j2x.ast.J2xClass;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Listener que acumula las métricas de una traducción, para un resumen por paquete o un volcado JSON.
+// Puede compartirse entre threads.
+public class TranslationMetrics implements TranslationListener {
+    private static final long UNSUPPORTED = -1;
+
+    private final long startNanos;
+    private final Map<String, ClassMetrics> classes;
+    // Memoria asignada por cada thread al verlo por primera vez y en su último evento
+    private final Map<Long, ThreadAllocation> threads;
+    private final ThreadLocal<Long> writeStart;
+
+    public TranslationMetrics() {
+        startNanos = System.nanoTime();
+        classes = Maps.newLinkedHashMap();
+        threads = Maps.newLinkedHashMap();
+        writeStart = new ThreadLocal<>();
+        // Lo que asigne el thread que crea las métricas se cuenta desde ahora, no desde su primer evento
+        sampleThread();
+    }
+
+    @Override
+    public synchronized void classParsed(J2xClass j2xClass,
+                                         boolean content,
+                                         int bytesRead,
+                                         int methods,
+                                         int instructions) {
+        metrics(j2xClass).parsed(content, bytesRead, methods, instructions);
+        sampleThread();
+    }
+
+    @Override
+    public void writeStarted(J2xClass j2xClass) {
+        writeStart.set(allocatedBytes());
+    }
+
+    @Override
+    public synchronized void classWritten(J2xClass j2xClass, long nanos, long bytesWritten) {
+        Long start = writeStart.get();
+        long end = allocatedBytes();
+        metrics(j2xClass).written(nanos, bytesWritten, start == null || start == UNSUPPORTED || end == UNSUPPORTED
+                ? UNSUPPORTED
+                : end - start);
+        writeStart.remove();
+        sampleThread();
+    }
+
+    public synchronized List<ClassMetrics> getClasses() {
+        return ImmutableList.copyOf(classes.values());
+    }
+
+    // Bytes asignados por cada thread que participó, por nombre; -1 si la JVM no lo mide
+    public synchronized Map<String, Long> getThreadAllocatedBytes() {
+        Map<String, Long> allocations = Maps.newLinkedHashMap();
+        for (ThreadAllocation thread : threads.values()) {
+            allocations.merge(thread.name, thread.allocated(), TranslationMetrics::sum);
+        }
+        return allocations;
+    }
+
+    public void writeSummary(Writer out) {
+        List<ClassMetrics> classes = getClasses();
+        PrintWriter writer = new PrintWriter(out);
+        Totals totals = new Totals("total");
+        Map<String, Totals> packages = Maps.newHashMap();
+        for (ClassMetrics metrics : classes) {
+            totals.add(metrics);
+            packages.computeIfAbsent(metrics.getPackageName(), Totals::new)
+                    .add(metrics);
+        }
+        writer.printf("Translation metrics (%d ms)%n", (System.nanoTime() - startNanos) / 1_000_000);
+        writer.printf("%-50s %8s %8s %12s %8s %12s %10s %12s%n",
+                "package", "classes", "content", "bytes read", "methods", "instructions", "write ms", "bytes out");
+        List<Totals> sorted = Lists.newArrayList(packages.values());
+        // Primero los paquetes más caros
+        sorted.sort(Comparator.comparingLong((Totals packageTotals) -> packageTotals.instructions)
+                .thenComparingLong(packageTotals -> packageTotals.writeNanos)
+                .reversed());
+        for (Totals packageTotals : sorted) {
+            packageTotals.print(writer);
+        }
+        totals.print(writer);
+        for (Map.Entry<String, Long> thread : getThreadAllocatedBytes().entrySet()) {
+            writer.printf("allocated by %s: %s%n", thread.getKey(), thread.getValue() == UNSUPPORTED
+                    ? "n/a"
+                    : thread.getValue() + " bytes");
+        }
+        writer.flush();
+    }
+
+    public void writeJson(Writer out) throws IOException {
+        List<ClassMetrics> classes = getClasses();
+        out.write("{\"elapsedNanos\":" + (System.nanoTime() - startNanos));
+        out.write(",\"threads\":[");
+        String separator = "";
+        for (Map.Entry<String, Long> thread : getThreadAllocatedBytes().entrySet()) {
+            out.write(separator + "{\"name\":" + jsonString(thread.getKey())
+                    + ",\"allocatedBytes\":" + thread.getValue() + "}");
+            separator = ",";
+        }
+        out.write("],\"classes\":[");
+        separator = "";
+        for (ClassMetrics metrics : classes) {
+            out.write(separator + "{\"name\":" + jsonString(metrics.getClassName())
+                    + ",\"package\":" + jsonString(metrics.getPackageName())
+                    + ",\"content\":" + metrics.isContent()
+                    + ",\"bytesRead\":" + metrics.getBytesRead()
+                    + ",\"methods\":" + metrics.getMethods()
+                    + ",\"instructions\":" + metrics.getInstructions()
+                    + ",\"writeNanos\":" + metrics.getWriteNanos()
+                    + ",\"bytesWritten\":" + metrics.getBytesWritten()
+                    + ",\"writeAllocatedBytes\":" + metrics.getWriteAllocatedBytes() + "}");
+            separator = ",";
+        }
+        out.write("]}");
+        out.flush();
+    }
+
+    private ClassMetrics metrics(J2xClass j2xClass) {
+        return classes.computeIfAbsent(j2xClass.getFullName(),
+                name -> new ClassMetrics(name, j2xClass.getPackageName()));
+    }
+
+    private void sampleThread() {
+        Thread current = Thread.currentThread();
+        long allocated = allocatedBytes();
+        threads.computeIfAbsent(current.getId(), id -> new ThreadAllocation(current.getName(), allocated))
+                .last = allocated;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        // La medición por thread es una extensión de HotSpot
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotSpotBean = (com.sun.management.ThreadMXBean) bean;
+            if (hotSpotBean.isThreadAllocatedMemorySupported() && hotSpotBean.isThreadAllocatedMemoryEnabled()) {
+                return hotSpotBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return UNSUPPORTED;
+    }
+
+    private static long sum(long value, long other) {
+        return value == UNSUPPORTED || other == UNSUPPORTED
+                ? UNSUPPORTED
+                : value + other;
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static class ThreadAllocation {
+        private final String name;
+        private final long first;
+        private long last;
+
+        private ThreadAllocation(String name, long first) {
+            this.name = name;
+            this.first = first;
+            this.last = first;
+        }
+
+        private long allocated() {
+            return first == UNSUPPORTED || last == UNSUPPORTED
+                    ? UNSUPPORTED
+                    : last - first;
+        }
+    }
+
+    private static class Totals {
+        private final String name;
+        private int classes;
+        private int contentClasses;
+        private long bytesRead;
+        private long methods;
+        private long instructions;
+        private long writeNanos;
+        private long bytesWritten;
+
+        private Totals(String name) {
+            this.name = name;
+        }
+
+        private void add(ClassMetrics metrics) {
+            classes++;
+            if (metrics.isContent()) {
+                contentClasses++;
+            }
+            bytesRead += metrics.getBytesRead();
+            methods += metrics.getMethods();
+            instructions += metrics.getInstructions();
+            writeNanos += metrics.getWriteNanos();
+            bytesWritten += metrics.getBytesWritten();
+        }
+
+        private void print(PrintWriter writer) {
+            writer.printf("%-50s %8d %8d %12d %8d %12d %10.1f %12d%n",
+                    name, classes, contentClasses, bytesRead, methods, instructions, writeNanos / 1e6, bytesWritten);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.nibiru.j2x.profile;
+
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import javax.annotation.Nullable;
+
+// Arma un Profile a partir de una grabación de Java Flight Recorder.
+// Cada muestra de ejecución se le atribuye al método que estaba en el tope de la pila.
+// Requiere una JVM con la API de consumo de JFR (11 o posterior, u 8u262 o posterior).
+public class JfrProfileReader {
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private JfrProfileReader() {
+    }
+
+    public static Profile read(Path recording) throws IOException {
+        Map<String, Long> samples = Maps.newHashMap();
+        // Se recorre de a un evento, sin cargar la grabación completa en memoria
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (EXECUTION_SAMPLE.equals(event.getEventType().getName())) {
+                    RecordedMethod method = topMethod(event.getStackTrace());
+                    if (method != null) {
+                        samples.merge(Profile.key(method.getType().getName(), method.getName(), method.getDescriptor()),
+                                1L, Long::sum);
+                    }
+                }
+            }
+        }
+        return new Profile(samples);
+    }
+
+    @Nullable
+    private static RecordedMethod topMethod(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.isEmpty() || !frames.get(0).isJavaFrame()
+                ? null
+                : frames.get(0).getMethod();
+    }
+}
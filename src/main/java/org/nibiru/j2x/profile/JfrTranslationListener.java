@@ -0,0 +1,97 @@
+package org.nibiru.j2x.profile;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.metrics.TranslationListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import jdk.jfr.EventType;
+
+// Emite un TranslationEvent por cada clase parseada, cada método y cada clase escrita, para ver en una
+// grabación de JFR qué clases y fases son caras junto a los eventos de GC y de locks.
+// Con el evento deshabilitado (el default) no se crean eventos: cada aviso consulta ese estado y apila un marcador.
+public class JfrTranslationListener implements TranslationListener {
+    private static final EventType EVENT_TYPE = EventType.getEventType(TranslationEvent.class);
+    // Ocupa el lugar de las fases que empezaron con el evento deshabilitado, para no desparejar la pila
+    // si la grabación arranca en medio de una traducción
+    private static final TranslationEvent DISABLED = new TranslationEvent();
+
+    // Los parseos se anidan: cada thread tiene su pila de eventos abiertos
+    private final ThreadLocal<Deque<TranslationEvent>> openEvents = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void parseStarted(String className) {
+        begin();
+    }
+
+    @Override
+    public void classParsed(J2xClass j2xClass, boolean content, int bytesRead, int methods, int instructions) {
+        TranslationEvent event = end();
+        if (event != null) {
+            event.className = j2xClass.getFullName();
+            event.phase = content
+                    ? TranslationEvent.PARSE
+                    : TranslationEvent.SIGNATURES;
+            event.instructions = instructions;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void methodStarted(J2xClass owner, String name, String desc) {
+        begin();
+    }
+
+    @Override
+    public void methodParsed(J2xClass owner, String name, String desc, int instructions) {
+        TranslationEvent event = end();
+        if (event != null) {
+            event.className = owner.getFullName();
+            event.methodName = name + desc;
+            event.phase = TranslationEvent.METHOD;
+            event.instructions = instructions;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void writeStarted(J2xClass j2xClass) {
+        begin();
+    }
+
+    @Override
+    public void classWritten(J2xClass j2xClass, long nanos, long bytesWritten) {
+        TranslationEvent event = end();
+        if (event != null) {
+            event.className = j2xClass.getFullName();
+            event.phase = TranslationEvent.EMIT;
+            event.outputSize = bytesWritten;
+            event.commit();
+        }
+    }
+
+    private void begin() {
+        TranslationEvent event = DISABLED;
+        if (EVENT_TYPE.isEnabled()) {
+            event = new TranslationEvent();
+            event.begin();
+        }
+        openEvents.get().push(event);
+    }
+
+    // null si el evento estaba deshabilitado al empezar la fase, o si no supera el umbral de la grabación
+    private TranslationEvent end() {
+        Deque<TranslationEvent> events = openEvents.get();
+        TranslationEvent event = events.isEmpty()
+                ? DISABLED
+                : events.pop();
+        if (event == DISABLED) {
+            return null;
+        }
+        event.end();
+        return event.shouldCommit()
+                ? event
+                : null;
+    }
+}
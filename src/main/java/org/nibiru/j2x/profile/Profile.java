@@ -0,0 +1,75 @@
+package org.nibiru.j2x.profile;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Muestras de ejecución por método, tomadas de la versión Java del programa.
+// Los métodos se identifican como en la JVM: nombre binario de la clase, nombre y descriptor.
+public class Profile {
+    public static final Profile EMPTY = new Profile(ImmutableMap.of());
+
+    // Porción mínima del total de muestras para que un método se considere caliente
+    private static final double HOT_SHARE = 0.01;
+
+    private final Map<String, Long> methodSamples;
+    private final Map<String, Long> classSamples;
+    private final long totalSamples;
+
+    public Profile(Map<String, Long> methodSamples) {
+        this.methodSamples = ImmutableMap.copyOf(checkNotNull(methodSamples));
+        Map<String, Long> classSamples = Maps.newHashMap();
+        long totalSamples = 0;
+        for (Map.Entry<String, Long> entry : methodSamples.entrySet()) {
+            classSamples.merge(className(entry.getKey()), entry.getValue(), Long::sum);
+            totalSamples += entry.getValue();
+        }
+        this.classSamples = ImmutableMap.copyOf(classSamples);
+        this.totalSamples = totalSamples;
+    }
+
+    public static String key(String className, String methodName, String desc) {
+        return className + '#' + methodName + desc;
+    }
+
+    public boolean isEmpty() {
+        return totalSamples == 0;
+    }
+
+    public long getSamples(J2xClass owner, J2xMethod method) {
+        return methodSamples.getOrDefault(key(owner.getFullName(), method.getName(), method.getArgDesc()), 0L);
+    }
+
+    public long getSamples(J2xClass j2xClass) {
+        return classSamples.getOrDefault(j2xClass.getFullName(), 0L);
+    }
+
+    public boolean isSampled(J2xClass owner, J2xMethod method) {
+        return getSamples(owner, method) > 0;
+    }
+
+    public boolean isHot(J2xClass owner, J2xMethod method) {
+        return !isEmpty() && getSamples(owner, method) >= totalSamples * HOT_SHARE;
+    }
+
+    // Las clases con más muestras primero; el resto conserva el orden recibido
+    public List<J2xClass> hottestFirst(Collection<J2xClass> classes) {
+        List<J2xClass> sorted = Lists.newArrayList(classes);
+        sorted.sort(Comparator.comparingLong((J2xClass j2xClass) -> getSamples(j2xClass)).reversed());
+        return sorted;
+    }
+
+    private static String className(String key) {
+        return key.substring(0, key.indexOf('#'));
+    }
+}
@@ -0,0 +1,41 @@
+package org.nibiru.j2x.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Una fase de la traducción de una clase o un método. Apagado por defecto: se habilita en la grabación
+// con "org.nibiru.j2x.Translation#enabled=true".
+@Name("org.nibiru.j2x.Translation")
+@Label("Translation")
+@Category("J2x")
+@Description("Parsing or emission of a class or method")
+@Enabled(false)
+@StackTrace(false)
+class TranslationEvent extends Event {
+    static final String PARSE = "parse";
+    static final String SIGNATURES = "signatures";
+    static final String METHOD = "method";
+    static final String EMIT = "emit";
+
+    @Label("Class")
+    String className;
+
+    @Label("Method")
+    String methodName;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Instructions")
+    int instructions;
+
+    @Label("Output Size")
+    @DataAmount
+    long outputSize;
+}
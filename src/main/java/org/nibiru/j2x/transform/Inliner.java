@@ -0,0 +1,359 @@
+package org.nibiru.j2x.transform;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.nibiru.j2x.asm.ParsePolicy;
+import org.nibiru.j2x.ast.J2xAccess;
+import org.nibiru.j2x.ast.J2xBlock;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMember;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xAssignment;
+import org.nibiru.j2x.ast.element.J2xElements;
+import org.nibiru.j2x.ast.element.J2xFieldLoad;
+import org.nibiru.j2x.ast.element.J2xFieldStore;
+import org.nibiru.j2x.ast.element.J2xIf;
+import org.nibiru.j2x.ast.element.J2xLiteral;
+import org.nibiru.j2x.ast.element.J2xMethodCall;
+import org.nibiru.j2x.ast.element.J2xNativeCode;
+import org.nibiru.j2x.ast.element.J2xNewObject;
+import org.nibiru.j2x.ast.element.J2xReturn;
+import org.nibiru.j2x.ast.element.J2xSynchronized;
+import org.nibiru.j2x.ast.element.J2xVariable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Reemplaza las llamadas a métodos triviales (getters, setters y los accessors sintéticos access$NNN que
+// genera javac para las clases anidadas) por su cuerpo, y elimina los accessors que quedan sin usar.
+// Solo se inlinean métodos que no se sobreescriben en ninguna de las clases parseadas.
+public class Inliner {
+    // Tamaño máximo, en nodos, del cuerpo de un método inlineable
+    private static final int MAX_SIZE = 8;
+    // Cuántas veces se vuelve a inlinear dentro de un cuerpo ya inlineado (acota los métodos recursivos)
+    private static final int MAX_DEPTH = 3;
+    private static final String ACCESSOR_PREFIX = "access$";
+
+    public static void inline(Map<String, J2xClass> classes, ParsePolicy parsePolicy) {
+        new Inliner(new Program(classes.values(), parsePolicy)).run();
+    }
+
+    private final Program program;
+
+    private Inliner(Program program) {
+        this.program = checkNotNull(program);
+    }
+
+    private void run() {
+        for (J2xClass j2xClass : program.parsedClasses()) {
+            for (J2xMethod method : j2xClass.getMethods()) {
+                inline(j2xClass, method.getBody());
+            }
+        }
+        removeUnusedAccessors();
+    }
+
+    private void inline(J2xClass caller, J2xBlock body) {
+        List<Object> elements = inlineStatements(caller, body.getElements());
+        body.getElements().clear();
+        body.getElements().addAll(elements);
+    }
+
+    private List<Object> inlineStatements(J2xClass caller, List<Object> statements) {
+        List<Object> elements = Lists.newArrayList();
+        for (Object element : statements) {
+            List<Object> inlined = element instanceof J2xMethodCall
+                    ? inlineStatement(caller, (J2xMethodCall) element, 0)
+                    : null;
+            if (inlined != null) {
+                elements.addAll(inlined);
+            } else if (element instanceof J2xSynchronized) {
+                J2xSynchronized block = (J2xSynchronized) element;
+                elements.add(new J2xSynchronized(inlineExpressions(caller, block.getLock(), 0),
+                        inlineStatements(caller, block.getElements())));
+            } else if (element instanceof J2xIf) {
+                J2xIf block = (J2xIf) element;
+                elements.add(new J2xIf(inlineExpressions(caller, block.getCondition(), 0),
+                        inlineStatements(caller, block.getElements())));
+            } else {
+                elements.add(inlineExpressions(caller, element, 0));
+            }
+        }
+        return elements;
+    }
+
+    private Object inlineExpressions(J2xClass caller, Object element, int depth) {
+        return J2xElements.transform(element, child -> child instanceof J2xMethodCall
+                ? inlineExpression(caller, (J2xMethodCall) child, depth)
+                : child);
+    }
+
+    // Cuerpo "return <expresión>": la llamada se reemplaza por la expresión
+    private Object inlineExpression(J2xClass caller, J2xMethodCall call, int depth) {
+        List<Object> elements = inlinableBody(call, depth);
+        if (elements == null || elements.size() != 1 || ((J2xReturn) elements.get(0)).getValue() == null) {
+            return call;
+        }
+        List<Object> inlined = substitute(caller, call, elements);
+        return inlined != null
+                ? inlineExpressions(caller, ((J2xReturn) inlined.get(0)).getValue(), depth + 1)
+                : call;
+    }
+
+    // Llamada como sentencia (void o con el resultado descartado): se reemplaza por las sentencias del cuerpo.
+    // El valor de retorno se descarta, así que tiene que ser simple.
+    @Nullable
+    private List<Object> inlineStatement(J2xClass caller, J2xMethodCall call, int depth) {
+        List<Object> elements = inlinableBody(call, depth);
+        if (elements == null) {
+            return null;
+        }
+        List<Object> inlined = substitute(caller, call, elements);
+        if (inlined == null) {
+            return null;
+        }
+        Object returnValue = ((J2xReturn) Iterables.getLast(inlined)).getValue();
+        if (returnValue != null && !isSimple(returnValue)) {
+            return null;
+        }
+        List<Object> statements = Lists.newArrayList();
+        for (Object statement : inlined.subList(0, inlined.size() - 1)) {
+            List<Object> nested = statement instanceof J2xMethodCall
+                    ? inlineStatement(caller, (J2xMethodCall) statement, depth + 1)
+                    : null;
+            if (nested != null) {
+                statements.addAll(nested);
+            } else {
+                statements.add(inlineExpressions(caller, statement, depth + 1));
+            }
+        }
+        return statements;
+    }
+
+    // Sentencias del método invocado si se puede inlinear: no es un constructor ni se sobreescribe, no tiene
+    // variables locales, código nativo ni monitores, es chico y termina en su único return
+    @Nullable
+    private List<Object> inlinableBody(J2xMethodCall call, int depth) {
+        J2xMethod method = call.getMethod();
+        if (depth >= MAX_DEPTH || method.isConstructor() || method.isSynchronized()) {
+            return null;
+        }
+        J2xClass declaringClass = declaringClass(call.getOwner(), method);
+        if (declaringClass == null
+                || !program.isParsed(declaringClass)
+                || program.isOverridden(declaringClass, method)) {
+            return null;
+        }
+        J2xBlock body = method.getBody();
+        List<Object> elements = body.getElements();
+        if (!body.getVariables().isEmpty()
+                || elements.isEmpty()
+                || !(Iterables.getLast(elements) instanceof J2xReturn)) {
+            return null;
+        }
+        int size = 0;
+        for (Object element : elements) {
+            if (element instanceof J2xNativeCode
+                    || element instanceof J2xSynchronized
+                    || element instanceof J2xIf
+                    || element instanceof J2xAssignment
+                    || element instanceof J2xReturn && element != Iterables.getLast(elements)) {
+                return null;
+            }
+            size += J2xElements.size(element);
+        }
+        return size <= MAX_SIZE
+                ? elements
+                : null;
+    }
+
+    // Reemplaza "this" y los parámetros por el target y los argumentos de la llamada.
+    // Devuelve null si así cambiaría la cantidad o el orden de evaluación de los argumentos,
+    // o si el cuerpo usa miembros a los que el que llama no tiene acceso.
+    @Nullable
+    private List<Object> substitute(J2xClass caller, J2xMethodCall call, List<Object> elements) {
+        Map<J2xVariable, Object> bindings = Maps.newIdentityHashMap();
+        List<J2xVariable> parameters = Lists.newArrayList();
+        int arg = 0;
+        for (J2xVariable argument : call.getMethod().getArguments()) {
+            bindings.put(argument, call.getArgs().get(arg++));
+            parameters.add(argument);
+        }
+
+        // Los argumentos que no son simples tienen que evaluarse una sola vez, en el mismo orden y antes que
+        // cualquier otra parte del cuerpo, que podría leer lo que ellos modifican o modificar lo que ellos leen
+        List<J2xVariable> uses = Lists.newArrayList();
+        boolean evaluated = false;
+        Set<J2xMember> nestAccessed = Sets.newIdentityHashSet();
+        for (Object element : elements) {
+            for (Object node : nodes(element)) {
+                if (node instanceof J2xVariable) {
+                    J2xVariable variable = (J2xVariable) node;
+                    if (variable.isThis() && !bindings.containsKey(variable)) {
+                        if (call.getTarget() == null) {
+                            return null;
+                        }
+                        bindings.put(variable, call.getTarget());
+                        parameters.add(0, variable);
+                    }
+                    if (!bindings.containsKey(variable) || evaluated && !isSimple(bindings.get(variable))) {
+                        return null;
+                    }
+                    uses.add(variable);
+                } else if (!(node instanceof J2xLiteral)) {
+                    evaluated = true;
+                }
+                J2xMember member = member(node);
+                if (member != null && !isAccessible(caller, owner(node), member, nestAccessed)) {
+                    return null;
+                }
+            }
+        }
+
+        // Un cuerpo que no lee "this" descartaría la evaluación del target y su chequeo de null; solo el "this" del
+        // que llama no tiene efectos y nunca es null
+        if (call.getTarget() != null
+                && !Iterables.any(parameters, J2xVariable::isThis)
+                && !(call.getTarget() instanceof J2xVariable && ((J2xVariable) call.getTarget()).isThis())) {
+            return null;
+        }
+
+        for (J2xVariable parameter : parameters) {
+            int count = 0;
+            for (J2xVariable use : uses) {
+                count += use == parameter ? 1 : 0;
+            }
+            if (!isSimple(bindings.get(parameter)) && count != 1) {
+                return null;
+            }
+        }
+        int lastIndex = -1;
+        for (J2xVariable use : uses) {
+            if (!isSimple(bindings.get(use))) {
+                int index = Iterables.indexOf(parameters, parameter -> parameter == use);
+                if (index < lastIndex) {
+                    return null;
+                }
+                lastIndex = index;
+            }
+        }
+
+        for (J2xMember member : nestAccessed) {
+            member.markNestAccessed();
+        }
+        List<Object> inlined = Lists.newArrayList();
+        for (Object element : elements) {
+            inlined.add(J2xElements.transform(element, node -> node instanceof J2xVariable
+                    && bindings.containsKey(node)
+                    ? bindings.get(node)
+                    : node));
+        }
+        return inlined;
+    }
+
+    // Los miembros privados solo se pueden usar desde su clase, salvo dentro del mismo nest: ahí se los marca para
+    // que el writer los publique como internal. Los protegidos quedan protected internal, como los del paquete.
+    private static boolean isAccessible(J2xClass caller, J2xClass owner, J2xMember member, Set<J2xMember> nestAccessed) {
+        if (member.getAccess() != J2xAccess.PRIVATE
+                || owner.equals(caller)) {
+            return true;
+        } else if (nestHost(owner).equals(nestHost(caller))) {
+            nestAccessed.add(member);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private static String nestHost(J2xClass j2xClass) {
+        String name = j2xClass.getFullName();
+        int pos = name.indexOf('$', name.lastIndexOf('.') + 1);
+        return pos >= 0
+                ? name.substring(0, pos)
+                : name;
+    }
+
+    @Nullable
+    private static J2xMember member(Object node) {
+        if (node instanceof J2xFieldLoad) {
+            return ((J2xFieldLoad) node).getField();
+        } else if (node instanceof J2xFieldStore) {
+            return ((J2xFieldStore) node).getField();
+        } else if (node instanceof J2xMethodCall) {
+            return ((J2xMethodCall) node).getMethod();
+        } else if (node instanceof J2xNewObject) {
+            return ((J2xNewObject) node).getConstructor();
+        } else {
+            return null;
+        }
+    }
+
+    private static J2xClass owner(Object node) {
+        if (node instanceof J2xFieldLoad) {
+            return ((J2xFieldLoad) node).getOwner();
+        } else if (node instanceof J2xFieldStore) {
+            return ((J2xFieldStore) node).getOwner();
+        } else if (node instanceof J2xMethodCall) {
+            return ((J2xMethodCall) node).getOwner();
+        } else {
+            return ((J2xNewObject) node).getType();
+        }
+    }
+
+    // Todos los nodos del elemento, en orden de evaluación
+    static List<Object> nodes(Object element) {
+        // transform recorre en post-orden, así que las variables quedan en el orden en que se leen
+        List<Object> nodes = Lists.newArrayList();
+        J2xElements.transform(element, node -> {
+            nodes.add(node);
+            return node;
+        });
+        return nodes;
+    }
+
+    @Nullable
+    private static J2xClass declaringClass(J2xClass owner, J2xMethod method) {
+        for (J2xClass current = owner; current != null; current = current.getSuperClass()) {
+            if (Iterables.any(current.getMethods(), candidate -> candidate == method)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private void removeUnusedAccessors() {
+        Set<J2xMethod> used = Sets.newIdentityHashSet();
+        for (J2xClass j2xClass : program.parsedClasses()) {
+            for (J2xMethod method : j2xClass.getMethods()) {
+                for (Object element : method.getBody().getElements()) {
+                    for (Object node : nodes(element)) {
+                        if (node instanceof J2xMethodCall) {
+                            used.add(((J2xMethodCall) node).getMethod());
+                        }
+                    }
+                }
+            }
+        }
+        for (J2xClass j2xClass : program.parsedClasses()) {
+            j2xClass.getMethods().removeIf(method -> isAccessor(method) && !used.contains(method));
+        }
+    }
+
+    private static boolean isAccessor(J2xMethod method) {
+        return method.isStatic()
+                && method.getName().startsWith(ACCESSOR_PREFIX);
+    }
+
+    private static boolean isSimple(Object element) {
+        return element instanceof J2xVariable
+                || element instanceof J2xLiteral;
+    }
+}
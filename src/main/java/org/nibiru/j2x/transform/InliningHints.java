@@ -0,0 +1,105 @@
+package org.nibiru.j2x.transform;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.nibiru.j2x.asm.ParsePolicy;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xInlining;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.ast.element.J2xElements;
+import org.nibiru.j2x.ast.element.J2xMethodCall;
+import org.nibiru.j2x.ast.element.J2xReturn;
+import org.nibiru.j2x.ast.element.J2xThrow;
+import org.nibiru.j2x.profile.Profile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Marca los métodos para el JIT del lenguaje destino, a partir del tamaño de su cuerpo y de las llamadas
+// estáticas en todo el programa: los chicos, no virtuales y llamados desde varios lugares se inlinean siempre;
+// los que solo lanzan excepciones, o solo se llaman para armarlas, nunca (así no engordan a quien los llama).
+// Con un perfil de ejecución alcanza con una llamada si el método es caliente, y los que no tienen muestras
+// no se marcan: el esfuerzo del JIT va donde el perfil dice que importa.
+public class InliningHints {
+    // Tamaño máximo, en nodos, de un método que se inlinea siempre
+    private static final int MAX_AGGRESSIVE_SIZE = 24;
+    private static final int MIN_CALL_SITES = 2;
+
+    public static void analyze(Map<String, J2xClass> classes, ParsePolicy parsePolicy) {
+        analyze(classes, parsePolicy, Profile.EMPTY);
+    }
+
+    public static void analyze(Map<String, J2xClass> classes, ParsePolicy parsePolicy, Profile profile) {
+        Program program = new Program(classes.values(), parsePolicy);
+
+        Map<J2xMethod, Integer> callSites = Maps.newIdentityHashMap();
+        Set<J2xMethod> warmCalls = Sets.newIdentityHashSet();
+        for (J2xClass j2xClass : program.parsedClasses()) {
+            for (J2xMethod method : j2xClass.getMethods()) {
+                boolean coldMethod = isThrowHelper(method);
+                for (Object element : method.getBody().getElements()) {
+                    boolean cold = coldMethod || element instanceof J2xThrow;
+                    for (Object node : Inliner.nodes(element)) {
+                        if (node instanceof J2xMethodCall) {
+                            J2xMethod called = ((J2xMethodCall) node).getMethod();
+                            callSites.merge(called, 1, Integer::sum);
+                            if (!cold) {
+                                warmCalls.add(called);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        for (J2xClass j2xClass : program.parsedClasses()) {
+            for (J2xMethod method : j2xClass.getMethods()) {
+                int count = callSites.getOrDefault(method, 0);
+                if (isThrowHelper(method) || count > 0 && !warmCalls.contains(method)) {
+                    method.setInlining(J2xInlining.NEVER);
+                } else if (count >= minCallSites(profile, j2xClass, method)
+                        && !J2xMethod.STATIC_CONSTRUCTOR_NAME.equals(method.getName())
+                        // El JIT nunca inlinea un método synchronized
+                        && !method.isSynchronized()
+                        && !method.getBody().getElements().isEmpty()
+                        && size(method) <= MAX_AGGRESSIVE_SIZE
+                        && !program.isOverridden(j2xClass, method)) {
+                    method.setInlining(J2xInlining.AGGRESSIVE);
+                }
+            }
+        }
+    }
+
+    private static int minCallSites(Profile profile, J2xClass owner, J2xMethod method) {
+        if (profile.isEmpty()) {
+            return MIN_CALL_SITES;
+        } else if (profile.isHot(owner, method)) {
+            return 1;
+        } else {
+            return profile.isSampled(owner, method)
+                    ? MIN_CALL_SITES
+                    : Integer.MAX_VALUE;
+        }
+    }
+
+    // Termina siempre lanzando una excepción
+    private static boolean isThrowHelper(J2xMethod method) {
+        List<Object> elements = method.getBody().getElements();
+        return !elements.isEmpty()
+                && Iterables.getLast(elements) instanceof J2xThrow
+                // Un return dentro de un bloque también es una salida normal
+                && !Iterables.any(elements, element -> Iterables.any(Inliner.nodes(element),
+                node -> node instanceof J2xReturn));
+    }
+
+    private static int size(J2xMethod method) {
+        int size = 0;
+        for (Object element : method.getBody().getElements()) {
+            size += J2xElements.size(element);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,63 @@
+package org.nibiru.j2x.transform;
+
+import com.google.common.collect.Iterables;
+
+import org.nibiru.j2x.asm.ParsePolicy;
+import org.nibiru.j2x.ast.J2xAccess;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+// Las clases resultado de un parseo, para los análisis que necesitan ver el programa completo
+class Program {
+    private final Collection<J2xClass> classes;
+    private final ParsePolicy parsePolicy;
+
+    Program(Collection<J2xClass> classes, ParsePolicy parsePolicy) {
+        this.classes = checkNotNull(classes);
+        this.parsePolicy = checkNotNull(parsePolicy);
+    }
+
+    public Collection<J2xClass> getClasses() {
+        return classes;
+    }
+
+    // Las clases de las que solo se parsearon las firmas tienen cuerpos vacíos
+    public Iterable<J2xClass> parsedClasses() {
+        return Iterables.filter(classes, this::isParsed);
+    }
+
+    public boolean isParsed(J2xClass j2xClass) {
+        return parsePolicy.mustParseContent(j2xClass.getFullName());
+    }
+
+    public boolean isOverridden(J2xClass declaringClass, J2xMethod method) {
+        if (method.isStatic()
+                || method.isFinal()
+                || method.isConstructor()
+                || method.getAccess() == J2xAccess.PRIVATE
+                || declaringClass.isFinal()) {
+            return false;
+        }
+        for (J2xClass j2xClass : classes) {
+            if (!j2xClass.equals(declaringClass)
+                    && isSubclass(j2xClass, declaringClass)
+                    && j2xClass.findMethod(method.getName(), method.getArgDesc()) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isSubclass(J2xClass type, J2xClass superClass) {
+        for (J2xClass current = type; current != null; current = current.getSuperClass()) {
+            if (current.equals(superClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,106 @@
+package org.nibiru.j2x;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+import com.google.common.io.Resources;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.asm.ParsePolicy;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xMethod;
+import org.nibiru.j2x.cs.CsWritter;
+import org.nibiru.j2x.metrics.TranslationListener;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Traduce cada clase de org.nibiru.j2x.fixture y compara el C# con el esperado, que está en
+// src/test/resources/org/nibiru/j2x/fixture/<Clase>.cs. Se escriben todas las clases del paquete que alcanza
+// la traducción, ordenadas por nombre, porque decisiones como struct o enum dependen de cómo se usan.
+// Un cambio en la traducción tiene que venir con el cambio de los archivos esperados.
+@RunWith(Parameterized.class)
+public class GoldenOutputTest {
+    static final String FIXTURE_PACKAGE = "org.nibiru.j2x.fixture";
+    static final String FIXTURE_PATH = "org/nibiru/j2x/fixture/";
+    static final ParsePolicy FIXTURE_POLICY = className -> className.startsWith(FIXTURE_PACKAGE + ".");
+
+    private final String fixture;
+
+    public GoldenOutputTest(String fixture) {
+        this.fixture = fixture;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<String> fixtures() {
+        return ImmutableList.of("Arrays", "Color", "Conc", "Consts", "Enums", "Fields", "Hints", "Increments",
+                "Inlining", "Level", "Literals", "Locals", "Money", "Numeric", "Outer", "Overflow", "Planet", "Point",
+                "Shapes", "Statics", "Statics2", "Sub", "Sync", "Sync2", "Uses", "Values");
+    }
+
+    @Test
+    public void translation() throws IOException {
+        assertEquals(expected(), translate(ClassParser.parse(FIXTURE_PATH + fixture, FIXTURE_POLICY)));
+    }
+
+    // Las clases se escriben antes de que se decodifiquen los cuerpos que las usan
+    @Test
+    public void lazyTranslation() throws IOException {
+        assertEquals(expected(), translate(ClassParser.parseLazy(FIXTURE_PATH + fixture,
+                FIXTURE_POLICY,
+                TranslationListener.NONE)));
+    }
+
+    // Cada clase se escribe al entregarse, antes de que se liberen sus cuerpos; una clase que se entrega de nuevo
+    // reemplaza a la anterior. Al final no queda ningún cuerpo
+    @Test
+    public void streamedTranslation() throws IOException {
+        Map<String, String> written = Maps.newTreeMap();
+        Map<String, J2xClass> classes = ClassParser.stream(FIXTURE_PATH + fixture,
+                FIXTURE_POLICY,
+                TranslationListener.NONE,
+                j2xClass -> {
+                    if (FIXTURE_PACKAGE.equals(j2xClass.getPackageName())) {
+                        StringWriter out = new StringWriter();
+                        new CsWritter(out, true).write(j2xClass);
+                        written.put(j2xClass.getFullName(), out.toString().replace("\r\n", "\n"));
+                    }
+                });
+        assertEquals(expected(), Joiner.on("").join(written.values()));
+        for (J2xClass j2xClass : classes.values()) {
+            for (J2xMethod method : j2xClass.getMethods()) {
+                assertTrue(method.getBody().getVariables().isEmpty());
+                assertEquals(1, method.getBody().getElements().size());
+            }
+        }
+    }
+
+    static String translate(Map<String, J2xClass> parsed) {
+        List<J2xClass> classes = Ordering.natural()
+                .onResultOf(J2xClass::getFullName)
+                .sortedCopy(parsed.values());
+        StringWriter out = new StringWriter();
+        CsWritter writter = new CsWritter(out, true);
+        for (J2xClass j2xClass : classes) {
+            if (FIXTURE_PACKAGE.equals(j2xClass.getPackageName())) {
+                writter.write(j2xClass);
+            }
+        }
+        // CsWritter termina las líneas con \r\n; los archivos esperados se guardan con \n
+        return out.toString().replace("\r\n", "\n");
+    }
+
+    private String expected() throws IOException {
+        return Resources.toString(Resources.getResource(FIXTURE_PATH + fixture + ".cs"), Charsets.UTF_8);
+    }
+}
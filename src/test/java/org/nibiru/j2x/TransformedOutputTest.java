@@ -0,0 +1,54 @@
+package org.nibiru.j2x;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Resources;
+
+import org.junit.Test;
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.profile.Profile;
+import org.nibiru.j2x.transform.Inliner;
+import org.nibiru.j2x.transform.InliningHints;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.nibiru.j2x.GoldenOutputTest.FIXTURE_PACKAGE;
+import static org.nibiru.j2x.GoldenOutputTest.FIXTURE_PATH;
+import static org.nibiru.j2x.GoldenOutputTest.FIXTURE_POLICY;
+import static org.nibiru.j2x.GoldenOutputTest.translate;
+
+// Como GoldenOutputTest, pero con las transformaciones de todo el programa aplicadas antes de escribir.
+// El esperado de cada caso está en src/test/resources/org/nibiru/j2x/fixture/<Clase>.<caso>.cs.
+public class TransformedOutputTest {
+    @Test
+    public void inlining() throws IOException {
+        Map<String, J2xClass> classes = ClassParser.parse(FIXTURE_PATH + "Inlining", FIXTURE_POLICY);
+        Inliner.inline(classes, FIXTURE_POLICY);
+        assertEquals(expected("Inlining.inlined"), translate(classes));
+    }
+
+    @Test
+    public void hints() throws IOException {
+        Map<String, J2xClass> classes = ClassParser.parse(FIXTURE_PATH + "Hints", FIXTURE_POLICY);
+        InliningHints.analyze(classes, FIXTURE_POLICY);
+        assertEquals(expected("Hints.hints"), translate(classes));
+    }
+
+    // Un perfil sintético en el que solo half tiene muestras: alcanza con su única llamada, y sq, que sin perfil
+    // se inlinea por sus tres llamadas, queda sin marcar
+    @Test
+    public void profiledHints() throws IOException {
+        Map<String, J2xClass> classes = ClassParser.parse(FIXTURE_PATH + "Hints", FIXTURE_POLICY);
+        InliningHints.analyze(classes, FIXTURE_POLICY, new Profile(ImmutableMap.of(
+                Profile.key(FIXTURE_PACKAGE + ".Hints", "half", "(I)I"), 90L,
+                Profile.key(FIXTURE_PACKAGE + ".Hints", "c", "()I"), 10L)));
+        assertEquals(expected("Hints.profiled"), translate(classes));
+    }
+
+    private static String expected(String name) throws IOException {
+        return Resources.toString(Resources.getResource(FIXTURE_PATH + name + ".cs"), Charsets.UTF_8);
+    }
+}
@@ -0,0 +1,190 @@
+package org.nibiru.j2x;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.asm.ClassRegistry;
+import org.nibiru.j2x.asm.ParsePolicy;
+import org.nibiru.j2x.ast.J2xArray;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.ast.J2xField;
+import org.nibiru.j2x.cs.CsWritter;
+import org.nibiru.j2x.metrics.ClassMetrics;
+import org.nibiru.j2x.metrics.TranslationListener;
+import org.nibiru.j2x.metrics.TranslationMetrics;
+
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+// Traduce corpus fijos de punta a punta y falla si el costo se aleja de lo medido al armar el test.
+// Los presupuestos tienen margen (alrededor del doble de lo medido) para tolerar diferencias entre JVMs;
+// lo que buscan atrapar es un cambio que duplique las asignaciones o el tamaño del modelo.
+public class TranslationBudgetTest {
+    // Clausura de ConcurrentHashMap, solo firmas: se puede leer en cualquier JVM
+    private static final String JDK_CORPUS = "java/util/concurrent/ConcurrentHashMap";
+    // Los cuerpos se parsean solo para el paquete de Hola; el resto se resuelve con las firmas
+    private static final String HOLA_CORPUS = "org/nibiru/j2x/borrame/Hola";
+    private static final String HOLA_PACKAGE = "org.nibiru.j2x.borrame.";
+
+    // Medido: ~330 KB asignados, ~10 KB retenidos y ~2 KB escritos por clase
+    private static final long JDK_ALLOCATED_PER_CLASS = 700_000;
+    private static final long JDK_RETAINED_PER_CLASS = 25_000;
+    private static final long JDK_OUTPUT_PER_CLASS = 4_000;
+    private static final long HOLA_ALLOCATED_PER_CLASS = 700_000;
+    private static final long HOLA_RETAINED_PER_CLASS = 25_000;
+    private static final long HOLA_OUTPUT_PER_CLASS = 4_000;
+    // Menos que el peso de la clausura de JDK_CORPUS (~42.000), que está toda conectada: no entra nada de ella
+    private static final long SMALL_REGISTRY_WEIGHT = 5_000;
+
+    @Test
+    public void jdkClosure() throws Exception {
+        assertWithinBudget(JDK_CORPUS,
+                className -> false,
+                JDK_ALLOCATED_PER_CLASS,
+                JDK_RETAINED_PER_CLASS,
+                JDK_OUTPUT_PER_CLASS);
+    }
+
+    @Test
+    public void hola() throws Exception {
+        assertWithinBudget(HOLA_CORPUS,
+                className -> className.startsWith(HOLA_PACKAGE),
+                HOLA_ALLOCATED_PER_CLASS,
+                HOLA_RETAINED_PER_CLASS,
+                HOLA_OUTPUT_PER_CLASS);
+    }
+
+    // Un registro acotado tiene que soltar lo que desaloja; uno sin límite retiene toda la clausura
+    @Test
+    public void boundedRegistry() throws Exception {
+        // Las primeras sesiones dejan cachés del JDK que después se liberan y desvirtúan la medición
+        for (int i = 0; i < 3; i++) {
+            retainedBy(new ClassRegistry());
+            retainedBy(new ClassRegistry(SMALL_REGISTRY_WEIGHT));
+        }
+
+        ClassRegistry unbounded = new ClassRegistry();
+        long unboundedRetained = retainedBy(unbounded);
+        long boundedRetained = retainedBy(new ClassRegistry(SMALL_REGISTRY_WEIGHT));
+        assertTrue(String.format("%s: a registry bounded to %d retains %d bytes, an unbounded one %d",
+                JDK_CORPUS, SMALL_REGISTRY_WEIGHT, boundedRetained, unboundedRetained),
+                boundedRetained * 2 < unboundedRetained);
+
+        // Lo que una sesión toma del registro apunta a las mismas instancias que tiene la sesión
+        Map<String, J2xClass> classes = ClassParser.parse(JDK_CORPUS,
+                className -> false,
+                TranslationListener.NONE,
+                unbounded);
+        assertTrue(unbounded.stats().hitCount() > 0);
+        for (J2xClass j2xClass : classes.values()) {
+            assertSameInstance(classes, j2xClass.getSuperClass());
+            for (J2xField field : j2xClass.getFields()) {
+                assertSameInstance(classes, field.getType());
+            }
+        }
+    }
+
+    // Lo que queda vivo después de una sesión que publica en el registro
+    private static long retainedBy(ClassRegistry registry) throws Exception {
+        long heapBefore = liveHeapBytes();
+        int count = ClassParser.parse(JDK_CORPUS, className -> false, TranslationListener.NONE, registry).size();
+        long retained = liveHeapBytes() - heapBefore;
+        // El registro tiene que seguir vivo hasta la segunda medición del heap
+        assertTrue(registry.size() <= count);
+        return retained;
+    }
+
+    private static void assertSameInstance(Map<String, J2xClass> classes, @Nullable J2xClass type) {
+        if (type != null && !type.isPrimitive() && !(type instanceof J2xArray)) {
+            assertSame(type.getFullName(), classes.get(type.getFullName().replace('.', '/')), type);
+        }
+    }
+
+    private static void assertWithinBudget(String classPath,
+                                           ParsePolicy parsePolicy,
+                                           long allocatedPerClass,
+                                           long retainedPerClass,
+                                           long outputPerClass) throws Exception {
+        // Una pasada previa carga las clases del traductor y las del JDK que usa, que no son del corpus
+        translate(classPath, parsePolicy, new TranslationMetrics());
+
+        long heapBefore = liveHeapBytes();
+        long allocatedBefore = allocatedBytes();
+        TranslationMetrics metrics = new TranslationMetrics();
+        Map<String, J2xClass> classes = translate(classPath, parsePolicy, metrics);
+        long allocated = allocatedBytes() - allocatedBefore;
+        long retained = liveHeapBytes() - heapBefore;
+
+        int count = classes.size();
+        long output = 0;
+        for (ClassMetrics classMetrics : metrics.getClasses()) {
+            output += classMetrics.getBytesWritten();
+        }
+        assertTrue("Nothing translated from " + classPath, count > 0);
+        assertBudget(classPath, "allocated bytes per class", allocated / count, allocatedPerClass);
+        assertBudget(classPath, "retained bytes per class", retained / count, retainedPerClass);
+        assertBudget(classPath, "output bytes per class", output / count, outputPerClass);
+        // El modelo tiene que seguir vivo hasta la segunda medición del heap
+        assertTrue(classes.containsKey(classPath));
+    }
+
+    private static Map<String, J2xClass> translate(String classPath,
+                                                   ParsePolicy parsePolicy,
+                                                   TranslationMetrics metrics) {
+        Map<String, J2xClass> classes = ClassParser.parse(classPath, parsePolicy, metrics);
+        CsWritter writter = new CsWritter(new DiscardingWriter(), true, metrics);
+        for (J2xClass j2xClass : classes.values()) {
+            writter.write(j2xClass);
+        }
+        return classes;
+    }
+
+    private static void assertBudget(String classPath, String measure, long value, long budget) {
+        assertTrue(String.format("%s: %s is %d, budget is %d", classPath, measure, value, budget),
+                value <= budget);
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Total del histograma de clases, que antes de contar hace un GC completo: solo cuenta objetos vivos
+    private static long liveHeapBytes() throws Exception {
+        String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram",
+                new Object[]{new String[0]},
+                new String[]{String[].class.getName()});
+        // Última línea: "Total <instancias> <bytes>"
+        List<String> lines = Splitter.on('\n').trimResults().omitEmptyStrings().splitToList(histogram);
+        List<String> total = Splitter.on(' ').omitEmptyStrings().splitToList(Iterables.getLast(lines));
+        return Long.parseLong(Iterables.getLast(total));
+    }
+
+    private static class DiscardingWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.nibiru.j2x;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharStreams;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.cs.CsWritter;
+
+import java.util.List;
+
+// Las clases de org.nibiru.j2x.fixture.unsupported usan control de flujo, lambdas, catch, finally, o tipos del JDK
+// que se reemplazan por los de .NET de una forma que no tiene traducción; tienen que fallar con un error en lugar
+// de generar C# que no compila o que hace otra cosa
+@RunWith(Parameterized.class)
+public class UnsupportedTranslationTest {
+    private static final String FIXTURE_PACKAGE = "org.nibiru.j2x.fixture.unsupported";
+    private static final String FIXTURE_PATH = "org/nibiru/j2x/fixture/unsupported/";
+
+    private final String fixture;
+
+    public UnsupportedTranslationTest(String fixture) {
+        this.fixture = fixture;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<String> fixtures() {
+        return ImmutableList.of("Awaits", "Catches", "Finally", "Inline", "Lambdas", "Promises", "Same", "Switch",
+                "Ternary", "Worker");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void translation() {
+        CsWritter writter = new CsWritter(CharStreams.nullWriter(), true);
+        for (J2xClass j2xClass : ClassParser.parse(FIXTURE_PATH + fixture,
+                className -> className.startsWith(FIXTURE_PACKAGE + ".")).values()) {
+            if (FIXTURE_PACKAGE.equals(j2xClass.getPackageName())) {
+                writter.write(j2xClass);
+            }
+        }
+    }
+}
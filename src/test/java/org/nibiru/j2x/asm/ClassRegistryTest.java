@@ -0,0 +1,45 @@
+package org.nibiru.j2x.asm;
+
+import com.google.common.collect.Iterables;
+
+import org.junit.Test;
+import org.nibiru.j2x.ast.J2xClass;
+import org.nibiru.j2x.metrics.TranslationListener;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// Sin contenido en ninguna clase, Uses se comparte en el registro y referencia a Point y a Money
+public class ClassRegistryTest {
+    private static final String FIXTURE_PATH = "org/nibiru/j2x/fixture/";
+    private static final String USES = FIXTURE_PATH + "Uses";
+    private static final String POINT = FIXTURE_PATH + "Point";
+    private static final String MONEY = FIXTURE_PATH + "Money";
+    private static final ParsePolicy SIGNATURES_ONLY = className -> false;
+
+    @Test
+    public void evictingAClassEvictsItsDependents() {
+        ClassRegistry registry = new ClassRegistry();
+        parse(registry);
+        assertNotNull(registry.get(USES));
+        assertNotNull(registry.get(MONEY));
+
+        registry.invalidate(POINT);
+        assertNull(registry.get(POINT));
+        assertNull(registry.get(USES));
+        assertNotNull(registry.get(MONEY));
+
+        // La sesión siguiente las vuelve a publicar, con Uses apuntando a la nueva Point
+        parse(registry);
+        J2xClass point = registry.get(POINT);
+        assertNotNull(point);
+        assertTrue(Iterables.any(registry.references(USES), reference -> reference == point));
+    }
+
+    private static Map<String, J2xClass> parse(ClassRegistry registry) {
+        return ClassParser.parse(USES, SIGNATURES_ONLY, TranslationListener.NONE, registry);
+    }
+}
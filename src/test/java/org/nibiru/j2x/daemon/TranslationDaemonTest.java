@@ -0,0 +1,150 @@
+package org.nibiru.j2x.daemon;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.nibiru.j2x.asm.ClassRegistry;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// El daemon atiende en un puerto efímero de loopback; cada test se conecta como lo haría un cliente
+public class TranslationDaemonTest {
+    private static final String FIXTURE_PACKAGE = "org.nibiru.j2x.fixture";
+    private static final String FIXTURE_PATH = "org/nibiru/j2x/fixture/";
+    private static final String ERROR_PREFIX = "ERROR ";
+    private static final int TOKEN_LENGTH = 64;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private ServerSocket server;
+    private Thread daemon;
+    private Path tokenFile;
+    private String token;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+        tokenFile = folder.getRoot().toPath().resolve("token");
+        TranslationDaemon translationDaemon = new TranslationDaemon(
+                className -> className.startsWith(FIXTURE_PACKAGE + "."),
+                new ClassRegistry(),
+                2);
+        daemon = new Thread(() -> {
+            try {
+                translationDaemon.serve(server, tokenFile);
+            } catch (IOException e) {
+                // Se cerró el socket al terminar el test
+            }
+        });
+        daemon.start();
+        // El archivo se crea antes de escribir el token
+        while (!Files.exists(tokenFile) || Files.size(tokenFile) < TOKEN_LENGTH) {
+            Thread.sleep(10);
+        }
+        token = new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        daemon.join();
+        assertTrue(Files.notExists(tokenFile));
+    }
+
+    @Test
+    public void invalidTokenClosesTheConnection() throws IOException {
+        try (Connection connection = new Connection()) {
+            // Mismo largo, distinto primer carácter
+            connection.send((token.charAt(0) == 'a' ? "b" : "a") + token.substring(1));
+            assertTrue(connection.in.readLine().startsWith(ERROR_PREFIX));
+            assertNull(connection.in.readLine());
+        }
+    }
+
+    // La segunda vez no cambió nada, así que no se escribe ningún archivo
+    @Test
+    public void requestsAreTranslatedIncrementally() throws IOException {
+        Path outputDir = folder.newFolder("out").toPath();
+        Path point = outputDir.toAbsolutePath().normalize().resolve("Org/Nibiru/J2x/Fixture/Point.cs");
+        try (Connection connection = new Connection()) {
+            connection.send(token);
+            assertTrue(connection.request(FIXTURE_PATH + "Point\t" + outputDir).contains(point.toString()));
+            assertTrue(Files.exists(point));
+
+            assertEquals(ImmutableList.of(), connection.request(FIXTURE_PATH + "Point\t" + outputDir));
+        }
+    }
+
+    // Un pedido que falla responde el error y la conexión sigue atendiendo
+    @Test
+    public void failedRequestsReplyAnError() throws IOException {
+        Path outputDir = folder.newFolder("out").toPath();
+        try (Connection connection = new Connection()) {
+            connection.send(token);
+            List<String> missingOutput = connection.request(FIXTURE_PATH + "Point");
+            assertEquals(1, missingOutput.size());
+            assertTrue(missingOutput.get(0).startsWith(ERROR_PREFIX + IllegalArgumentException.class.getName()));
+
+            List<String> missingClass = connection.request(FIXTURE_PATH + "Missing\t" + outputDir);
+            assertEquals(1, missingClass.size());
+            assertTrue(missingClass.get(0).startsWith(ERROR_PREFIX));
+
+            assertTrue(connection.request(FIXTURE_PATH + "Point\t" + outputDir).size() > 0);
+        }
+    }
+
+    private class Connection implements Closeable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        private Connection() throws IOException {
+            socket = new Socket(server.getInetAddress(), server.getLocalPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        private void send(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+        }
+
+        // Las líneas de la respuesta, sin la vacía que la termina
+        private List<String> request(String request) throws IOException {
+            send(request);
+            List<String> response = Lists.newArrayList();
+            String line;
+            while (!(line = in.readLine()).isEmpty()) {
+                response.add(line);
+            }
+            return response;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
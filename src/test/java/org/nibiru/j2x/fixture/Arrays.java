@@ -0,0 +1,24 @@
+package org.nibiru.j2x.fixture;
+
+public class Arrays {
+    public int buffers(int n, int[] in) {
+        byte[] buf = new byte[n];
+        buf[0] = (byte) in[1];
+        int[][] grid = new int[3][n + 1];
+        grid[1][2] = buf.length;
+        String[][] names = new String[n][];
+        long[][][] cube = new long[2][3][4];
+        double[][][] rows = new double[n][2][];
+        boolean[] flags = new boolean[4];
+        return grid[1][2] + in.length;
+    }
+
+    public boolean flags(boolean[] flags, char[] chars, String[][] names) {
+        flags[0] = true;
+        flags[1] = flags[0];
+        chars[0] = 'a';
+        chars[1] = chars[0];
+        names[0][1] = names[1][0];
+        return flags[1];
+    }
+}
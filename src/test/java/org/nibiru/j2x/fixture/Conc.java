@@ -0,0 +1,44 @@
+package org.nibiru.j2x.fixture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class Conc {
+    static class Job implements Runnable {
+        public void run() {
+        }
+    }
+
+    static class Twice implements Function<Object, Object> {
+        public Object apply(Object o) {
+            return o;
+        }
+    }
+
+    static class Value implements Supplier<Object> {
+        public Object get() {
+            return "v";
+        }
+    }
+
+    public Object run() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        Future<?> f = pool.submit(new Job());
+        pool.execute(new Job());
+        f.get();
+        pool.shutdown();
+        CompletableFuture<Object> c = CompletableFuture.supplyAsync(new Value()).thenApply(new Twice());
+        CompletableFuture.supplyAsync(new Value(), ForkJoinPool.commonPool());
+        Thread t = new Thread(new Job());
+        t.setDaemon(true);
+        t.start();
+        t.join();
+        Thread.sleep(10);
+        return c.join();
+    }
+}
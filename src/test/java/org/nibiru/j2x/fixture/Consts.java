@@ -0,0 +1,15 @@
+package org.nibiru.j2x.fixture;
+
+public class Consts {
+    public static final int SIZE = 1024;
+    public static final boolean DEBUG = true;
+    public static final char SEP = '\n';
+    public static final long BIG = 1L << 40;
+    public static final double NAN = Double.NaN;
+    public static final String NAME = "consts";
+    public final int instance = 5;
+
+    public int size(Consts other) {
+        return SIZE + other.instance;
+    }
+}
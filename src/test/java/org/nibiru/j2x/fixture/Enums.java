@@ -0,0 +1,41 @@
+package org.nibiru.j2x.fixture;
+
+public class Enums {
+    Color c = Color.GREEN;
+    // Arranca en null, y none() devuelve null: Level no puede traducirse a un enum de C#
+    Level level;
+
+    int ord(Color c) {
+        return c.ordinal();
+    }
+
+    String name(Color c) {
+        return c.name();
+    }
+
+    int count() {
+        return Color.values().length;
+    }
+
+    Color parse(String s) {
+        return Color.valueOf(s);
+    }
+
+    double mass(Planet p) {
+        return p.mass();
+    }
+
+    Level none() {
+        return null;
+    }
+
+    Object make() {
+        return new Object();
+    }
+
+    void ignore() {
+        count();
+        new Object();
+        long l = 1;
+    }
+}
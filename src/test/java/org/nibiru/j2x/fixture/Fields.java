@@ -0,0 +1,23 @@
+package org.nibiru.j2x.fixture;
+
+public class Fields extends Base {
+    public static int counter;
+    private long total;
+    private Fields next;
+
+    public void hot(int n) {
+        total = total + n;
+        counter += 1;
+        next.total = inherited;
+        inherited = doubled();
+        System.out.println("x");
+    }
+}
+
+class Base {
+    protected int inherited;
+
+    protected int doubled() {
+        return inherited * 2;
+    }
+}
@@ -0,0 +1,41 @@
+package org.nibiru.j2x.fixture;
+
+public class Hints {
+    private int v;
+
+    private static int sq(int x) {
+        return x * x;
+    }
+
+    int a() {
+        return sq(v) + sq(2);
+    }
+
+    int b() {
+        return sq(3);
+    }
+
+    private static int half(int x) {
+        return x / 2;
+    }
+
+    int c() {
+        return half(v);
+    }
+
+    private static RuntimeException fail(int code) {
+        throw new IllegalStateException(message(code));
+    }
+
+    private static String message(int code) {
+        return "bad " + code;
+    }
+
+    void check() {
+        throw fail(v);
+    }
+
+    void check2() {
+        throw new IllegalArgumentException(message(1));
+    }
+}
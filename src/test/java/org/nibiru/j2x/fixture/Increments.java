@@ -0,0 +1,23 @@
+package org.nibiru.j2x.fixture;
+
+public class Increments {
+    public int post(int i) {
+        return i++;
+    }
+
+    public int pre(int i) {
+        return ++i;
+    }
+
+    public void store(int[] a, int i) {
+        a[i] = i++;
+    }
+
+    public int twice(int i) {
+        return i++ + i++;
+    }
+
+    public int assignInside(int a, int b) {
+        return a + (a = b);
+    }
+}
@@ -0,0 +1,52 @@
+package org.nibiru.j2x.fixture;
+
+public class Inlining {
+    private int secret;
+
+    static Inlining make() {
+        return new Inlining();
+    }
+
+    public int getSecret() {
+        return secret;
+    }
+
+    public void setSecret(int s) {
+        secret = s;
+    }
+
+    public int constant() {
+        return 5;
+    }
+
+    int sum(Inlining o) {
+        return getSecret() + o.getSecret();
+    }
+
+    void copy(Inlining o) {
+        o.setSecret(getSecret());
+    }
+
+    int fromCall() {
+        return make().getSecret();
+    }
+
+    // El cuerpo no lee "this": inlinearlo descartaría make()
+    int kept() {
+        return make().constant();
+    }
+
+    int own() {
+        return constant();
+    }
+
+    Inner inner() {
+        return new Inner();
+    }
+
+    class Inner {
+        int peek() {
+            return secret;
+        }
+    }
+}
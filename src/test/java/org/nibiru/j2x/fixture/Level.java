@@ -0,0 +1,5 @@
+package org.nibiru.j2x.fixture;
+
+public enum Level {
+    LOW, HIGH
+}
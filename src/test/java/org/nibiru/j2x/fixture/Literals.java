@@ -0,0 +1,27 @@
+package org.nibiru.j2x.fixture;
+
+public class Literals {
+    private char letter;
+    private boolean flag;
+
+    public char small() {
+        return 'a';
+    }
+
+    public char large() {
+        return '\u00e9';
+    }
+
+    public boolean yes() {
+        return true;
+    }
+
+    public void set() {
+        letter = 'z';
+        flag = false;
+    }
+
+    public String text() {
+        return "say \"hi\"\n\tC:\\temp \u00e9";
+    }
+}
@@ -0,0 +1,22 @@
+package org.nibiru.j2x.fixture;
+
+public class Locals {
+    public int locals(int n, long m) {
+        int a = 5;
+        long b = 100000L;
+        {
+            String s = "x";
+            s.length();
+        }
+        {
+            double d = 2.5;
+        }
+        Object o = "y";
+        return a;
+    }
+
+    // En C# ningún miembro puede llamarse como su clase
+    int again() {
+        return locals(1, 2);
+    }
+}
@@ -0,0 +1,9 @@
+package org.nibiru.j2x.fixture;
+
+public final class Money {
+    private final long cents;
+
+    public Money(long cents) {
+        this.cents = cents;
+    }
+}
@@ -0,0 +1,16 @@
+package org.nibiru.j2x.fixture;
+
+public class Numeric {
+    public long mix(int a, long b, double d, float f) {
+        int x = a * 31 + 7;
+        x >>>= 3;
+        x++;
+        long y = b << 2 ^ (long) x;
+        double z = -d / f % 2.0;
+        byte bt = (byte) x;
+        char c = (char) (x & 0xFFFF);
+        int cmp = Long.compare(y, b);
+        long r = y - (long) z + bt + c;
+        return r;
+    }
+}
@@ -0,0 +1,45 @@
+package org.nibiru.j2x.fixture;
+
+public class Outer {
+    private int secret = 3;
+    private long big;
+
+    public int getSecret() {
+        return secret;
+    }
+
+    public void setSecret(int s) {
+        this.secret = s;
+    }
+
+    public final int twice() {
+        return secret * 2;
+    }
+
+    int sum(Outer o) {
+        return getSecret() + o.getSecret() + twice();
+    }
+
+    void reset(Outer o) {
+        o.setSecret(0);
+        setSecret(getSecret());
+    }
+
+    class Inner {
+        int peek() {
+            return secret;
+        }
+
+        void poke(int v) {
+            secret = v;
+        }
+
+        void poke2(long v) {
+            big = v;
+        }
+
+        long poke3() {
+            return big = 7;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.nibiru.j2x.fixture;
+
+public class Overflow {
+    public int divide(int a, int b) {
+        return a / b;
+    }
+
+    public long remainder(long a, long b) {
+        return a % b;
+    }
+
+    public int byConstant(int a) {
+        return a / 3 + a / -1 + a % -1;
+    }
+
+    public int evaluatedOnce(int[] values, int i) {
+        return values[i] / values[i + 1];
+    }
+
+    public int toInt(double d) {
+        return (int) d;
+    }
+
+    public long toLong(float f) {
+        return (long) f;
+    }
+
+    public int sumToInt(double a, double b) {
+        return (int) (a + b);
+    }
+}
@@ -0,0 +1,15 @@
+package org.nibiru.j2x.fixture;
+
+public enum Planet {
+    MERCURY(3.3e23), EARTH(5.9e24);
+
+    private final double mass;
+
+    Planet(double mass) {
+        this.mass = mass;
+    }
+
+    public double mass() {
+        return mass;
+    }
+}
@@ -0,0 +1,24 @@
+package org.nibiru.j2x.fixture;
+
+public final class Point {
+    public static final Point ORIGIN = new Point(0, 0);
+    private final int x;
+    private final int y;
+
+    public Point(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public Point(int v) {
+        this(v, v);
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public Point plus(Point o) {
+        return new Point(x + o.x, y + o.y);
+    }
+}
@@ -0,0 +1,66 @@
+package org.nibiru.j2x.fixture;
+
+import java.util.List;
+
+public class Shapes {
+    public static class Shape {
+    }
+
+    public static class Circle extends Shape {
+        public int r;
+
+        public int radius() {
+            return r;
+        }
+    }
+
+    public static class Square extends Shape {
+        public int side;
+    }
+
+    public int area(Shape s) {
+        if (s instanceof Circle) {
+            return ((Circle) s).radius() * ((Circle) s).r * 3;
+        }
+        if (s instanceof Square) {
+            Square q = (Square) s;
+            return q.side * q.side;
+        }
+        return 0;
+    }
+
+    public boolean isCircle(Object o) {
+        boolean b = o instanceof Circle;
+        return b;
+    }
+
+    public String first(List<Object> list) {
+        return (String) list.get(0);
+    }
+
+    public int reassigned(Shape s, Shape t) {
+        if (s instanceof Circle) {
+            s = t;
+            return ((Circle) s).r;
+        }
+        return 1;
+    }
+
+    public int nested(Object o) {
+        if (o instanceof Shape) {
+            if (o instanceof Circle) {
+                return ((Circle) o).r;
+            }
+            o.hashCode();
+        }
+        return -1;
+    }
+
+    public int withElse(Object o) {
+        if (o instanceof Circle) {
+            return ((Circle) o).r;
+        } else {
+            return 2;
+        }
+    }
+}
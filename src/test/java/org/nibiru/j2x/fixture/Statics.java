@@ -0,0 +1,12 @@
+package org.nibiru.j2x.fixture;
+
+public class Statics {
+    static int counter = 10;
+    static boolean enabled = true;
+    static long[] table = new long[counter * 2];
+    static String name = "n";
+
+    public static int get() {
+        return counter;
+    }
+}
@@ -0,0 +1,6 @@
+package org.nibiru.j2x.fixture;
+
+public class Statics2 {
+    static Object lock = new Object();
+    static int counter = 10;
+}
@@ -0,0 +1,7 @@
+package org.nibiru.j2x.fixture;
+
+public class Sub extends Outer {
+    public int getSecret() {
+        return 42;
+    }
+}
@@ -0,0 +1,28 @@
+package org.nibiru.j2x.fixture;
+
+public class Sync {
+    private final Object lock = new Object();
+    private volatile int state;
+    private int count;
+
+    public void inc() {
+        synchronized (lock) {
+            count = count + 1;
+        }
+    }
+
+    public synchronized int get() {
+        return count;
+    }
+
+    public static synchronized void touch() {
+    }
+
+    public int state() {
+        return state;
+    }
+
+    public void setState(int s) {
+        state = s;
+    }
+}
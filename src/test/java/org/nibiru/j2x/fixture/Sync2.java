@@ -0,0 +1,46 @@
+package org.nibiru.j2x.fixture;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class Sync2 {
+    private volatile long stamp;
+    private volatile double ratio;
+    private final Object a = new Object();
+    private final Object b = new Object();
+    private int n;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicLong total = new AtomicLong(5);
+    private final AtomicReference<String> last = new AtomicReference<>();
+
+    public long stamp() {
+        return stamp;
+    }
+
+    public void stamp(long s) {
+        stamp = s;
+        ratio = 0.5;
+    }
+
+    public int read() {
+        synchronized (a) {
+            return n;
+        }
+    }
+
+    public void nested() {
+        synchronized (a) {
+            synchronized (b) {
+                n = n + 1;
+            }
+            n = n + 2;
+        }
+    }
+
+    public int hit() {
+        total.addAndGet(3);
+        last.compareAndSet(null, "x");
+        return hits.incrementAndGet();
+    }
+}
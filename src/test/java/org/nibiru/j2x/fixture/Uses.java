@@ -0,0 +1,10 @@
+package org.nibiru.j2x.fixture;
+
+public class Uses {
+    Point p = new Point(1);
+    Money m = new Money(2);
+
+    Point[] none() {
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package org.nibiru.j2x.fixture;
+
+import java.util.List;
+
+public class Values {
+    private Lazy lazy;
+
+    public boolean same(Key a, Key b) {
+        return a.equals(b);
+    }
+
+    public boolean same(Id a, Id b) {
+        return a.equals(b);
+    }
+
+    public void add(List<Object> list, Boxed boxed) {
+        list.add(boxed);
+    }
+
+    public Lazy lazy() {
+        return lazy;
+    }
+
+    public Cached cached() {
+        return Cached.last;
+    }
+
+    public Left left(Right right) {
+        return new Left(right);
+    }
+
+    // Con equals y hashCode propios se compara por valor: puede ser un struct
+    public static final class Key {
+        private final String name;
+
+        public Key(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof Key) {
+                return ((Key) o).name.equals(name);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    // Hereda el equals de Object, que compara identidad
+    public static final class Id {
+        private final int value;
+
+        public Id(int value) {
+            this.value = value;
+        }
+    }
+
+    // Guardado como Object en una colección
+    public static final class Boxed {
+        private final int value;
+
+        public Boxed(int value) {
+            this.value = value;
+        }
+    }
+
+    // Values.lazy nunca se asigna: arranca en null
+    public static final class Lazy {
+        private final int value;
+
+        public Lazy(int value) {
+            this.value = value;
+        }
+    }
+
+    // Cached.last arranca en null
+    public static final class Cached {
+        static Cached last;
+        private final int value;
+
+        public Cached(int value) {
+            this.value = value;
+        }
+    }
+
+    // Left y Right se contienen entre sí
+    public static final class Left {
+        private final Right right;
+
+        public Left(Right right) {
+            this.right = right;
+        }
+    }
+
+    public static final class Right {
+        private final Left left;
+
+        public Right(Left left) {
+            this.left = left;
+        }
+    }
+}
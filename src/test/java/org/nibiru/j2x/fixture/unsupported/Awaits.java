@@ -0,0 +1,10 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class Awaits {
+    public boolean await(ExecutorService pool) throws InterruptedException {
+        return pool.awaitTermination(1, TimeUnit.SECONDS);
+    }
+}
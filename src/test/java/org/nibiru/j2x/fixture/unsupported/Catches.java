@@ -0,0 +1,14 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+public class Catches {
+    private int n;
+
+    public void guarded(int x) {
+        try {
+            n = x;
+        } catch (RuntimeException e) {
+            n = 0;
+        }
+        n = n + 1;
+    }
+}
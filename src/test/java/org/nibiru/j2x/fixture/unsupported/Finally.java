@@ -0,0 +1,13 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+public class Finally {
+    private int n;
+
+    public int counted(int x) {
+        try {
+            return x;
+        } finally {
+            n = n + 1;
+        }
+    }
+}
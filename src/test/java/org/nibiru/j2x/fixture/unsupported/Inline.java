@@ -0,0 +1,10 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+import java.util.concurrent.Executor;
+
+public class Inline implements Executor {
+    @Override
+    public void execute(Runnable command) {
+        command.run();
+    }
+}
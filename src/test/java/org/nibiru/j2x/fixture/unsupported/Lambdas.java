@@ -0,0 +1,7 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+public class Lambdas {
+    public Runnable task(int n) {
+        return () -> System.out.println(n);
+    }
+}
@@ -0,0 +1,11 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+import java.util.concurrent.CompletableFuture;
+
+public class Promises {
+    public CompletableFuture<Object> done() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.complete("v");
+        return future;
+    }
+}
@@ -0,0 +1,13 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+public final class Same {
+    private final long cents;
+
+    public Same(long cents) {
+        this.cents = cents;
+    }
+
+    boolean same(Same other) {
+        return this == other;
+    }
+}
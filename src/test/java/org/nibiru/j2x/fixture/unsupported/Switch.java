@@ -0,0 +1,14 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+public class Switch {
+    public int weight(int size) {
+        switch (size) {
+            case 0:
+                return 1;
+            case 1:
+                return 10;
+            default:
+                return 100;
+        }
+    }
+}
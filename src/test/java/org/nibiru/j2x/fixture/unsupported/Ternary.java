@@ -0,0 +1,11 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+public class Ternary {
+    public static class Circle {
+        public int r;
+    }
+
+    public int ternary(Object o) {
+        return o instanceof Circle ? ((Circle) o).r : 5;
+    }
+}
@@ -0,0 +1,10 @@
+package org.nibiru.j2x.fixture.unsupported;
+
+public class Worker extends Thread {
+    private int count;
+
+    @Override
+    public void run() {
+        count++;
+    }
+}
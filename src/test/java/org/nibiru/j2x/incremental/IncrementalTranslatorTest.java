@@ -0,0 +1,107 @@
+package org.nibiru.j2x.incremental;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.nibiru.j2x.asm.ClassParser;
+import org.nibiru.j2x.ast.J2xClass;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+// Corridas sucesivas sobre un directorio temporal, con Uses, que depende de Point y de Money
+public class IncrementalTranslatorTest {
+    private static final String FIXTURE_PACKAGE = "org.nibiru.j2x.fixture";
+    private static final String FIXTURE_PATH = "org/nibiru/j2x/fixture/";
+    private static final String OUTPUT_PATH = "Org/Nibiru/J2x/Fixture/";
+    // Una fecha anterior a cualquier corrida, para ver si un archivo se volvió a escribir
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path outputDir;
+    private Path stateFile;
+    private J2xClass uses;
+    private J2xClass point;
+    private J2xClass money;
+
+    @Before
+    public void setUp() throws IOException {
+        outputDir = folder.newFolder("out").toPath();
+        stateFile = folder.getRoot().toPath().resolve("state.txt");
+        Map<String, J2xClass> classes = ClassParser.parse(FIXTURE_PATH + "Uses",
+                className -> className.startsWith(FIXTURE_PACKAGE + "."));
+        uses = classes.get(FIXTURE_PATH + "Uses");
+        point = classes.get(FIXTURE_PATH + "Point");
+        money = classes.get(FIXTURE_PATH + "Money");
+    }
+
+    @Test
+    public void unchangedClassesAreNotWritten() throws IOException {
+        assertEquals(ImmutableSet.of(output("Money"), output("Point"), output("Uses")),
+                ImmutableSet.copyOf(translate(uses, point, money)));
+        Files.setLastModifiedTime(output("Uses"), OLD);
+
+        assertEquals(ImmutableList.of(), translate(uses, point, money));
+        assertEquals(OLD, Files.getLastModifiedTime(output("Uses")));
+    }
+
+    // Falta Point.cs: Point y Uses, que depende de ella, se traducen de nuevo, pero Uses.cs no cambia
+    @Test
+    public void dependentsAreWrittenOnlyIfChanged() throws IOException {
+        translate(uses, point, money);
+        Files.delete(output("Point"));
+        Files.setLastModifiedTime(output("Uses"), OLD);
+
+        assertEquals(ImmutableList.of(output("Point")), translate(uses, point, money));
+        assertTrue(Files.exists(output("Point")));
+        assertEquals(OLD, Files.getLastModifiedTime(output("Uses")));
+    }
+
+    @Test
+    public void unreachableOutputsAreDeleted() throws IOException {
+        translate(uses, point, money);
+
+        assertEquals(ImmutableList.of(output("Uses")), translate(point, money));
+        assertFalse(Files.exists(output("Uses")));
+        assertTrue(Files.exists(output("Point")));
+        assertTrue(Files.exists(output("Money")));
+    }
+
+    // Un estado que nombra archivos fuera del directorio de salida se descarta sin borrarlos
+    @Test
+    public void outputsOutsideOfTheOutputDirAreNotDeleted() throws IOException {
+        Path outside = folder.newFile("Outside.cs").toPath();
+        Path absolute = folder.newFile("Absolute.cs").toPath();
+        Files.write(stateFile, ImmutableList.of("# j2x incremental state v2",
+                FIXTURE_PACKAGE + ".Outside\t\t../Outside.cs\tfalse\t",
+                FIXTURE_PACKAGE + ".Nested\t\tOrg/../../Outside.cs\tfalse\t",
+                FIXTURE_PACKAGE + ".Absolute\t\t" + absolute + "\tfalse\t"), StandardCharsets.UTF_8);
+
+        assertEquals(ImmutableList.of(output("Point")), translate(point));
+        assertTrue(Files.exists(outside));
+        assertTrue(Files.exists(absolute));
+    }
+
+    private List<Path> translate(J2xClass... classes) throws IOException {
+        return new IncrementalTranslator(outputDir, stateFile).translate(ImmutableList.copyOf(classes));
+    }
+
+    private Path output(String className) {
+        return outputDir.toAbsolutePath().normalize().resolve(OUTPUT_PATH + className + ".cs");
+    }
+}
@@ -0,0 +1,58 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Arrays : Java.Lang.Object
+	{
+		public Arrays()     : base()
+		{
+			return;
+		}
+		public int Buffers(int n, int[] _in)    
+		{
+			sbyte[] buf;
+			int[][] grid;
+			Java.Lang.String[][] names;
+			long[][][] cube;
+			double[][][] rows;
+			bool[] flags;
+			unchecked
+			{
+				buf = new sbyte[n];
+				buf[0] = ((sbyte) _in[1]);
+				grid = __NewArray<int>(3,(n + 1));
+				grid[1][2] = buf.Length;
+				names = new Java.Lang.String[n][];
+				cube = __NewArray<long>(2,3,4);
+				rows = __NewArray<double[]>(n,2);
+				flags = new bool[4];
+				return (grid[1][2] + _in.Length);
+			}
+		}
+		public bool Flags(bool[] flags, char[] chars, Java.Lang.String[][] names)    
+		{
+			flags[0] = true;
+			flags[1] = flags[0];
+			chars[0] = 'a';
+			chars[1] = chars[0];
+			names[0][1] = names[1][0];
+			return flags[1];
+		}
+		static T[][] __NewArray<T>(int __d0, int __d1)
+		{
+			T[][] __a = new T[__d0][];
+			for (int __i = 0; __i < __d0; __i++)
+			{
+				__a[__i] = new T[__d1];
+			}
+			return __a;
+		}
+		static T[][][] __NewArray<T>(int __d0, int __d1, int __d2)
+		{
+			T[][][] __a = new T[__d0][][];
+			for (int __i = 0; __i < __d0; __i++)
+			{
+				__a[__i] = __NewArray<T>(__d1, __d2);
+			}
+			return __a;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public enum Color
+	{
+		RED,
+		GREEN,
+		BLUE
+	}
+	public static class ColorExtensions
+	{
+		private static readonly Java.Lang.String[] NAMES = {Java.Lang.String.FromNative("RED"), Java.Lang.String.FromNative("GREEN"), Java.Lang.String.FromNative("BLUE")};
+		private static readonly Color[] VALUES = {Color.RED, Color.GREEN, Color.BLUE};
+		public static int Ordinal(this Color value) { return (int) value; }
+		public static Java.Lang.String Name(this Color value) { return NAMES[(int) value]; }
+		public static Java.Lang.String ToString(this Color value) { return NAMES[(int) value]; }
+		public static int CompareTo(this Color value, Color other) { return (int) value - (int) other; }
+		public static bool Equals(this Color value, object other) { return other is Color && (Color) other == value; }
+		public static int HashCode(this Color value) { return (int) value; }
+		public static Color[] Values() { return (Color[]) VALUES.Clone(); }
+		public static Color ValueOf(Java.Lang.String name)
+		{
+			for (int i = 0; i < NAMES.Length; i++) { if (NAMES[i].Equals(name)) { return VALUES[i]; } }
+			throw new System.ArgumentException("No enum constant Color");
+		}
+	}
+}
@@ -0,0 +1,71 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Conc : Java.Lang.Object
+	{
+		public Conc()     : base()
+		{
+			return;
+		}
+		public object Run()    
+		{
+			System.Threading.Tasks.TaskScheduler pool;
+			System.Threading.Tasks.Task<object> f;
+			System.Threading.Tasks.Task<object> c;
+			System.Threading.Thread t;
+			pool = new System.Threading.Tasks.ConcurrentExclusiveSchedulerPair(System.Threading.Tasks.TaskScheduler.Default, 4).ConcurrentScheduler;
+			f = System.Threading.Tasks.Task.Factory.StartNew<object>(__s => { ((System.Action) __s)(); return null; }, new System.Action((new Org.Nibiru.J2x.Fixture.Conc_Job()).Run), System.Threading.CancellationToken.None, System.Threading.Tasks.TaskCreationOptions.DenyChildAttach, pool);
+			System.Threading.Tasks.Task.Factory.StartNew(__s => ((System.Action) __s)(), new System.Action((new Org.Nibiru.J2x.Fixture.Conc_Job()).Run), System.Threading.CancellationToken.None, System.Threading.Tasks.TaskCreationOptions.DenyChildAttach, pool);
+			f.Wait();
+			c = System.Threading.Tasks.Task.Factory.StartNew<object>(__s => ((System.Func<object>) __s)(), new System.Func<object>((new Org.Nibiru.J2x.Fixture.Conc_Value()).Get), System.Threading.CancellationToken.None, System.Threading.Tasks.TaskCreationOptions.DenyChildAttach, System.Threading.Tasks.TaskScheduler.Default).ContinueWith<object>((__p, __s) => ((System.Func<object, object>) __s)(__p.Result), new System.Func<object, object>((new Org.Nibiru.J2x.Fixture.Conc_Twice()).Apply), System.Threading.CancellationToken.None, System.Threading.Tasks.TaskContinuationOptions.ExecuteSynchronously, System.Threading.Tasks.TaskScheduler.Default);
+			System.Threading.Tasks.Task.Factory.StartNew<object>(__s => ((System.Func<object>) __s)(), new System.Func<object>((new Org.Nibiru.J2x.Fixture.Conc_Value()).Get), System.Threading.CancellationToken.None, System.Threading.Tasks.TaskCreationOptions.DenyChildAttach, System.Threading.Tasks.TaskScheduler.Default);
+			t = new System.Threading.Thread((new Org.Nibiru.J2x.Fixture.Conc_Job()).Run);
+			t.IsBackground = true;
+			t.Start();
+			t.Join();
+			System.Threading.Thread.Sleep(System.TimeSpan.FromMilliseconds(10L));
+			return c.Result;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Conc_Job : Java.Lang.Object
+	{
+		public Conc_Job()     : base()
+		{
+			return;
+		}
+		public void Run()    
+		{
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Conc_Twice : Java.Lang.Object
+	{
+		public Conc_Twice()     : base()
+		{
+			return;
+		}
+		public object Apply(object o)    
+		{
+			return o;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Conc_Value : Java.Lang.Object
+	{
+		public Conc_Value()     : base()
+		{
+			return;
+		}
+		public object Get()    
+		{
+			return Java.Lang.String.FromNative("v");
+		}
+	}
+}
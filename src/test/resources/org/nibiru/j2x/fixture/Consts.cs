@@ -0,0 +1,26 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Consts : Java.Lang.Object
+	{
+		public const int SIZE = 1024;
+		public const bool DEBUG = true;
+		public const char SEP = '\u000a';
+		public const long BIG = 1099511627776L;
+		public const double NAN = double.NaN;
+		public static readonly Java.Lang.String NAME = Java.Lang.String.FromNative("consts");
+		public readonly int instance;
+		public Consts()     : base()
+		{
+			this.instance = 5;
+			return;
+		}
+		public int Size(Org.Nibiru.J2x.Fixture.Consts other)    
+		{
+			unchecked
+			{
+				Java.Util.Objects.RequireNonNull(other);
+				return (1024 + 5);
+			}
+		}
+	}
+}
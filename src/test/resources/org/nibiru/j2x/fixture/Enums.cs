@@ -0,0 +1,153 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public enum Color
+	{
+		RED,
+		GREEN,
+		BLUE
+	}
+	public static class ColorExtensions
+	{
+		private static readonly Java.Lang.String[] NAMES = {Java.Lang.String.FromNative("RED"), Java.Lang.String.FromNative("GREEN"), Java.Lang.String.FromNative("BLUE")};
+		private static readonly Color[] VALUES = {Color.RED, Color.GREEN, Color.BLUE};
+		public static int Ordinal(this Color value) { return (int) value; }
+		public static Java.Lang.String Name(this Color value) { return NAMES[(int) value]; }
+		public static Java.Lang.String ToString(this Color value) { return NAMES[(int) value]; }
+		public static int CompareTo(this Color value, Color other) { return (int) value - (int) other; }
+		public static bool Equals(this Color value, object other) { return other is Color && (Color) other == value; }
+		public static int HashCode(this Color value) { return (int) value; }
+		public static Color[] Values() { return (Color[]) VALUES.Clone(); }
+		public static Color ValueOf(Java.Lang.String name)
+		{
+			for (int i = 0; i < NAMES.Length; i++) { if (NAMES[i].Equals(name)) { return VALUES[i]; } }
+			throw new System.ArgumentException("No enum constant Color");
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Enums : Java.Lang.Object
+	{
+		public Org.Nibiru.J2x.Fixture.Color c;
+		public Org.Nibiru.J2x.Fixture.Level level;
+		public Enums()     : base()
+		{
+			this.c = Org.Nibiru.J2x.Fixture.Color.GREEN;
+			return;
+		}
+		public int Ord(Org.Nibiru.J2x.Fixture.Color c)    
+		{
+			return Org.Nibiru.J2x.Fixture.ColorExtensions.Ordinal(c);
+		}
+		public Java.Lang.String Name(Org.Nibiru.J2x.Fixture.Color c)    
+		{
+			return Org.Nibiru.J2x.Fixture.ColorExtensions.Name(c);
+		}
+		public int Count()    
+		{
+			return Org.Nibiru.J2x.Fixture.ColorExtensions.Values().Length;
+		}
+		public Org.Nibiru.J2x.Fixture.Color Parse(Java.Lang.String s)    
+		{
+			return Org.Nibiru.J2x.Fixture.ColorExtensions.ValueOf(s);
+		}
+		public double Mass(Org.Nibiru.J2x.Fixture.Planet p)    
+		{
+			return p.Mass();
+		}
+		public Org.Nibiru.J2x.Fixture.Level None()    
+		{
+			return null;
+		}
+		public object Make()    
+		{
+			return new object();
+		}
+		public void Ignore()    
+		{
+			long l;
+			this.Count();
+			new object();
+			l = 1L;
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Level : Java.Lang.Enum
+	{
+		public static readonly Org.Nibiru.J2x.Fixture.Level LOW;
+		public static readonly Org.Nibiru.J2x.Fixture.Level HIGH;
+		static readonly Org.Nibiru.J2x.Fixture.Level[] _VALUES;
+		public static Org.Nibiru.J2x.Fixture.Level[] Values()    
+		{
+			return ((Org.Nibiru.J2x.Fixture.Level[]) Org.Nibiru.J2x.Fixture.Level._VALUES.Clone());
+		}
+		public static Org.Nibiru.J2x.Fixture.Level ValueOf(Java.Lang.String name)    
+		{
+			return ((Org.Nibiru.J2x.Fixture.Level) Java.Lang.Enum.ValueOf(typeof(Org.Nibiru.J2x.Fixture.Level),name));
+		}
+		Level(Java.Lang.String a0, int a1)     : base(a0,a1)
+		{
+			return;
+		}
+		static Org.Nibiru.J2x.Fixture.Level[] _values()    
+		{
+			Org.Nibiru.J2x.Fixture.Level[] __t;
+			__t = new Org.Nibiru.J2x.Fixture.Level[2];
+			__t[0] = Org.Nibiru.J2x.Fixture.Level.LOW;
+			__t[1] = Org.Nibiru.J2x.Fixture.Level.HIGH;
+			return __t;
+		}
+		static Level()    
+		{
+			Org.Nibiru.J2x.Fixture.Level.LOW = new Org.Nibiru.J2x.Fixture.Level(Java.Lang.String.FromNative("LOW"),0);
+			Org.Nibiru.J2x.Fixture.Level.HIGH = new Org.Nibiru.J2x.Fixture.Level(Java.Lang.String.FromNative("HIGH"),1);
+			Org.Nibiru.J2x.Fixture.Level._VALUES = Org.Nibiru.J2x.Fixture.Level._values();
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Planet : Java.Lang.Enum
+	{
+		public static readonly Org.Nibiru.J2x.Fixture.Planet MERCURY;
+		public static readonly Org.Nibiru.J2x.Fixture.Planet EARTH;
+		readonly double mass;
+		static readonly Org.Nibiru.J2x.Fixture.Planet[] _VALUES;
+		public static Org.Nibiru.J2x.Fixture.Planet[] Values()    
+		{
+			return ((Org.Nibiru.J2x.Fixture.Planet[]) Org.Nibiru.J2x.Fixture.Planet._VALUES.Clone());
+		}
+		public static Org.Nibiru.J2x.Fixture.Planet ValueOf(Java.Lang.String name)    
+		{
+			return ((Org.Nibiru.J2x.Fixture.Planet) Java.Lang.Enum.ValueOf(typeof(Org.Nibiru.J2x.Fixture.Planet),name));
+		}
+		Planet(Java.Lang.String a0, int a1, double mass)     : base(a0,a1)
+		{
+			this.mass = mass;
+			return;
+		}
+		public double Mass()    
+		{
+			return this.mass;
+		}
+		static Org.Nibiru.J2x.Fixture.Planet[] _values()    
+		{
+			Org.Nibiru.J2x.Fixture.Planet[] __t;
+			__t = new Org.Nibiru.J2x.Fixture.Planet[2];
+			__t[0] = Org.Nibiru.J2x.Fixture.Planet.MERCURY;
+			__t[1] = Org.Nibiru.J2x.Fixture.Planet.EARTH;
+			return __t;
+		}
+		static Planet()    
+		{
+			Org.Nibiru.J2x.Fixture.Planet.MERCURY = new Org.Nibiru.J2x.Fixture.Planet(Java.Lang.String.FromNative("MERCURY"),0,3.3E23d);
+			Org.Nibiru.J2x.Fixture.Planet.EARTH = new Org.Nibiru.J2x.Fixture.Planet(Java.Lang.String.FromNative("EARTH"),1,5.9E24d);
+			Org.Nibiru.J2x.Fixture.Planet._VALUES = Org.Nibiru.J2x.Fixture.Planet._values();
+			return;
+		}
+	}
+}
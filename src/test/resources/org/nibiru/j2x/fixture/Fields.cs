@@ -0,0 +1,43 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Base : Java.Lang.Object
+	{
+		protected internal int inherited;
+		public Base()     : base()
+		{
+			return;
+		}
+		protected internal int Doubled()    
+		{
+			unchecked
+			{
+				return (this.inherited * 2);
+			}
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Fields : Org.Nibiru.J2x.Fixture.Base
+	{
+		public static int counter;
+		long total;
+		Org.Nibiru.J2x.Fixture.Fields next;
+		public Fields()     : base()
+		{
+			return;
+		}
+		public void Hot(int n)    
+		{
+			unchecked
+			{
+				this.total = (this.total + ((long) n));
+				Org.Nibiru.J2x.Fixture.Fields.counter = (Org.Nibiru.J2x.Fixture.Fields.counter + 1);
+				this.next.total = ((long) this.inherited);
+				this.inherited = this.Doubled();
+				Java.Lang.System._out.Println(Java.Lang.String.FromNative("x"));
+				return;
+			}
+		}
+	}
+}
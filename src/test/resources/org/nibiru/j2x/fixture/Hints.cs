@@ -0,0 +1,56 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Hints : Java.Lang.Object
+	{
+		int v;
+		public Hints()     : base()
+		{
+			return;
+		}
+		static int Sq(int x)    
+		{
+			unchecked
+			{
+				return (x * x);
+			}
+		}
+		public int A()    
+		{
+			unchecked
+			{
+				return (Org.Nibiru.J2x.Fixture.Hints.Sq(this.v) + Org.Nibiru.J2x.Fixture.Hints.Sq(2));
+			}
+		}
+		public int B()    
+		{
+			return Org.Nibiru.J2x.Fixture.Hints.Sq(3);
+		}
+		static int Half(int x)    
+		{
+			unchecked
+			{
+				return (x / 2);
+			}
+		}
+		public int C()    
+		{
+			return Org.Nibiru.J2x.Fixture.Hints.Half(this.v);
+		}
+		static Java.Lang.RuntimeException Fail(int code)    
+		{
+			throw new Java.Lang.IllegalStateException(Org.Nibiru.J2x.Fixture.Hints.Message(code));
+		}
+		static Java.Lang.String Message(int code)    
+		{
+			return new Java.Lang.StringBuilder().Append(Java.Lang.String.FromNative("bad ")).Append(code).ToString();
+		}
+		public void Check()    
+		{
+			throw Org.Nibiru.J2x.Fixture.Hints.Fail(this.v);
+		}
+		public void Check2()    
+		{
+			throw new Java.Lang.IllegalArgumentException(Org.Nibiru.J2x.Fixture.Hints.Message(1));
+		}
+	}
+}
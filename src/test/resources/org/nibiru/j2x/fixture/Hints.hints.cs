@@ -0,0 +1,61 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Hints : Java.Lang.Object
+	{
+		int v;
+		public Hints()     : base()
+		{
+			return;
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.AggressiveInlining)]
+		static int Sq(int x)    
+		{
+			unchecked
+			{
+				return (x * x);
+			}
+		}
+		public int A()    
+		{
+			unchecked
+			{
+				return (Org.Nibiru.J2x.Fixture.Hints.Sq(this.v) + Org.Nibiru.J2x.Fixture.Hints.Sq(2));
+			}
+		}
+		public int B()    
+		{
+			return Org.Nibiru.J2x.Fixture.Hints.Sq(3);
+		}
+		static int Half(int x)    
+		{
+			unchecked
+			{
+				return (x / 2);
+			}
+		}
+		public int C()    
+		{
+			return Org.Nibiru.J2x.Fixture.Hints.Half(this.v);
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.NoInlining)]
+		static Java.Lang.RuntimeException Fail(int code)    
+		{
+			throw new Java.Lang.IllegalStateException(Org.Nibiru.J2x.Fixture.Hints.Message(code));
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.NoInlining)]
+		static Java.Lang.String Message(int code)    
+		{
+			return new Java.Lang.StringBuilder().Append(Java.Lang.String.FromNative("bad ")).Append(code).ToString();
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.NoInlining)]
+		public void Check()    
+		{
+			throw Org.Nibiru.J2x.Fixture.Hints.Fail(this.v);
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.NoInlining)]
+		public void Check2()    
+		{
+			throw new Java.Lang.IllegalArgumentException(Org.Nibiru.J2x.Fixture.Hints.Message(1));
+		}
+	}
+}
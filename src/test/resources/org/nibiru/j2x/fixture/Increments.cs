@@ -0,0 +1,64 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Increments : Java.Lang.Object
+	{
+		public Increments()     : base()
+		{
+			return;
+		}
+		public int Post(int i)    
+		{
+			int __t;
+			unchecked
+			{
+				__t = i;
+				i = (i + 1);
+				return __t;
+			}
+		}
+		public int Pre(int i)    
+		{
+			unchecked
+			{
+				i = (i + 1);
+				return i;
+			}
+		}
+		public void Store(int[] a, int i)    
+		{
+			int __t;
+			int __t_1;
+			unchecked
+			{
+				__t = i;
+				__t_1 = i;
+				i = (i + 1);
+				a[__t] = __t_1;
+				return;
+			}
+		}
+		public int Twice(int i)    
+		{
+			int __t;
+			int __t_1;
+			unchecked
+			{
+				__t = i;
+				i = (i + 1);
+				__t_1 = i;
+				i = (i + 1);
+				return (__t + __t_1);
+			}
+		}
+		public int AssignInside(int a, int b)    
+		{
+			int __t;
+			unchecked
+			{
+				__t = a;
+				a = b;
+				return (__t + b);
+			}
+		}
+	}
+}
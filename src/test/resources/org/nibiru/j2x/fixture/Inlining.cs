@@ -0,0 +1,76 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Inlining : Java.Lang.Object
+	{
+		int secret;
+		public Inlining()     : base()
+		{
+			return;
+		}
+		public static Org.Nibiru.J2x.Fixture.Inlining Make()    
+		{
+			return new Org.Nibiru.J2x.Fixture.Inlining();
+		}
+		public int GetSecret()    
+		{
+			return this.secret;
+		}
+		public void SetSecret(int s)    
+		{
+			this.secret = s;
+			return;
+		}
+		public int Constant()    
+		{
+			return 5;
+		}
+		public int Sum(Org.Nibiru.J2x.Fixture.Inlining o)    
+		{
+			unchecked
+			{
+				return (this.GetSecret() + o.GetSecret());
+			}
+		}
+		public void Copy(Org.Nibiru.J2x.Fixture.Inlining o)    
+		{
+			o.SetSecret(this.GetSecret());
+			return;
+		}
+		public int FromCall()    
+		{
+			return Org.Nibiru.J2x.Fixture.Inlining.Make().GetSecret();
+		}
+		public int Kept()    
+		{
+			return Org.Nibiru.J2x.Fixture.Inlining.Make().Constant();
+		}
+		public int Own()    
+		{
+			return this.Constant();
+		}
+		public Org.Nibiru.J2x.Fixture.Inlining_Inner Inner()    
+		{
+			return new Org.Nibiru.J2x.Fixture.Inlining_Inner(this);
+		}
+		public static int Access_000(Org.Nibiru.J2x.Fixture.Inlining x0)    
+		{
+			return x0.secret;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Inlining_Inner : Java.Lang.Object
+	{
+		public readonly Org.Nibiru.J2x.Fixture.Inlining this_0;
+		public Inlining_Inner(Org.Nibiru.J2x.Fixture.Inlining this_0)    
+		{
+			this.this_0 = this_0;
+			return;
+		}
+		public int Peek()    
+		{
+			return Org.Nibiru.J2x.Fixture.Inlining.Access_000(this.this_0);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Inlining : Java.Lang.Object
+	{
+		internal int secret;
+		public Inlining()     : base()
+		{
+			return;
+		}
+		public static Org.Nibiru.J2x.Fixture.Inlining Make()    
+		{
+			return new Org.Nibiru.J2x.Fixture.Inlining();
+		}
+		public int GetSecret()    
+		{
+			return this.secret;
+		}
+		public void SetSecret(int s)    
+		{
+			this.secret = s;
+			return;
+		}
+		public int Constant()    
+		{
+			return 5;
+		}
+		public int Sum(Org.Nibiru.J2x.Fixture.Inlining o)    
+		{
+			unchecked
+			{
+				return (this.secret + o.secret);
+			}
+		}
+		public void Copy(Org.Nibiru.J2x.Fixture.Inlining o)    
+		{
+			o.secret = this.secret;
+			return;
+		}
+		public int FromCall()    
+		{
+			return new Org.Nibiru.J2x.Fixture.Inlining().secret;
+		}
+		public int Kept()    
+		{
+			return new Org.Nibiru.J2x.Fixture.Inlining().Constant();
+		}
+		public int Own()    
+		{
+			return 5;
+		}
+		public Org.Nibiru.J2x.Fixture.Inlining_Inner Inner()    
+		{
+			return new Org.Nibiru.J2x.Fixture.Inlining_Inner(this);
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Inlining_Inner : Java.Lang.Object
+	{
+		public readonly Org.Nibiru.J2x.Fixture.Inlining this_0;
+		public Inlining_Inner(Org.Nibiru.J2x.Fixture.Inlining this_0)    
+		{
+			this.this_0 = this_0;
+			return;
+		}
+		public int Peek()    
+		{
+			return this.this_0.secret;
+		}
+	}
+}
@@ -0,0 +1,25 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public enum Level
+	{
+		LOW,
+		HIGH
+	}
+	public static class LevelExtensions
+	{
+		private static readonly Java.Lang.String[] NAMES = {Java.Lang.String.FromNative("LOW"), Java.Lang.String.FromNative("HIGH")};
+		private static readonly Level[] VALUES = {Level.LOW, Level.HIGH};
+		public static int Ordinal(this Level value) { return (int) value; }
+		public static Java.Lang.String Name(this Level value) { return NAMES[(int) value]; }
+		public static Java.Lang.String ToString(this Level value) { return NAMES[(int) value]; }
+		public static int CompareTo(this Level value, Level other) { return (int) value - (int) other; }
+		public static bool Equals(this Level value, object other) { return other is Level && (Level) other == value; }
+		public static int HashCode(this Level value) { return (int) value; }
+		public static Level[] Values() { return (Level[]) VALUES.Clone(); }
+		public static Level ValueOf(Java.Lang.String name)
+		{
+			for (int i = 0; i < NAMES.Length; i++) { if (NAMES[i].Equals(name)) { return VALUES[i]; } }
+			throw new System.ArgumentException("No enum constant Level");
+		}
+	}
+}
@@ -0,0 +1,34 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Literals : Java.Lang.Object
+	{
+		char letter;
+		bool flag;
+		public Literals()     : base()
+		{
+			return;
+		}
+		public char Small()    
+		{
+			return 'a';
+		}
+		public char Large()    
+		{
+			return '\u00e9';
+		}
+		public bool Yes()    
+		{
+			return true;
+		}
+		public void Set()    
+		{
+			this.letter = 'z';
+			this.flag = false;
+			return;
+		}
+		public Java.Lang.String Text()    
+		{
+			return Java.Lang.String.FromNative("say \u0022hi\u0022\u000a\u0009C:\u005ctemp \u00e9");
+		}
+	}
+}
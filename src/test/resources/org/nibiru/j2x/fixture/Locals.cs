@@ -0,0 +1,29 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Locals : Java.Lang.Object
+	{
+		public Locals()     : base()
+		{
+			return;
+		}
+		public int Locals_(int n, long m)    
+		{
+			int a;
+			long b;
+			Java.Lang.String s;
+			double v7;
+			object o;
+			a = 5;
+			b = 100000L;
+			s = Java.Lang.String.FromNative("x");
+			s.Length();
+			v7 = 2.5d;
+			o = Java.Lang.String.FromNative("y");
+			return a;
+		}
+		public int Again()    
+		{
+			return this.Locals_(1,2L);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public readonly struct Money
+	{
+		readonly long cents;
+		public Money(long cents)     : this()
+		{
+			this.cents = cents;
+			return;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Numeric : Java.Lang.Object
+	{
+		public Numeric()     : base()
+		{
+			return;
+		}
+		public long Mix(int a, long b, double d, float f)    
+		{
+			int x;
+			long y;
+			double z;
+			sbyte bt;
+			char c;
+			int cmp;
+			long r;
+			unchecked
+			{
+				x = ((a * 31) + 7);
+				x = ((int) ((uint) x >> 3));
+				x = (x + 1);
+				y = ((b << 2) ^ ((long) x));
+				z = (((-d) / ((double) f)) % 2.0d);
+				bt = ((sbyte) x);
+				c = ((char) (x & 65535));
+				cmp = Java.Lang.Long.Compare(y,b);
+				r = (((y - (double.IsNaN(z) ? 0 : z >= long.MaxValue ? long.MaxValue : z <= long.MinValue ? long.MinValue : (long) z)) + ((long) bt)) + ((long) c));
+				return r;
+			}
+		}
+	}
+}
@@ -0,0 +1,66 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Overflow : Java.Lang.Object
+	{
+		public Overflow()     : base()
+		{
+			return;
+		}
+		public int Divide(int a, int b)    
+		{
+			unchecked
+			{
+				return (b == -1 ? -(a) : a / b);
+			}
+		}
+		public long Remainder(long a, long b)    
+		{
+			return (b == -1 ? 0 : a % b);
+		}
+		public int ByConstant(int a)    
+		{
+			unchecked
+			{
+				return (((a / 3) + (-(a))) + (a % 1));
+			}
+		}
+		public int EvaluatedOnce(int[] values, int i)    
+		{
+			unchecked
+			{
+				return __Divide(values[i], values[(i + 1)]);
+			}
+		}
+		public int ToInt(double d)    
+		{
+			unchecked
+			{
+				return (double.IsNaN(d) ? 0 : d >= int.MaxValue ? int.MaxValue : d <= int.MinValue ? int.MinValue : (int) d);
+			}
+		}
+		public long ToLong(float f)    
+		{
+			unchecked
+			{
+				return (float.IsNaN(f) ? 0 : f >= long.MaxValue ? long.MaxValue : f <= long.MinValue ? long.MinValue : (long) f);
+			}
+		}
+		public int SumToInt(double a, double b)    
+		{
+			unchecked
+			{
+				return __ToInt((a + b));
+			}
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.AggressiveInlining)]
+		static int __Divide(int __l, int __r)
+		{
+			return unchecked((__r == -1 ? -(__l) : __l / __r));
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.AggressiveInlining)]
+		static int __ToInt(double __v)
+		{
+			return unchecked((double.IsNaN(__v) ? 0 : __v >= int.MaxValue ? int.MaxValue : __v <= int.MinValue ? int.MinValue : (int) __v));
+		}
+	}
+}
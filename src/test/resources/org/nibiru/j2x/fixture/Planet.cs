@@ -0,0 +1,42 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Planet : Java.Lang.Enum
+	{
+		public static readonly Org.Nibiru.J2x.Fixture.Planet MERCURY;
+		public static readonly Org.Nibiru.J2x.Fixture.Planet EARTH;
+		readonly double mass;
+		static readonly Org.Nibiru.J2x.Fixture.Planet[] _VALUES;
+		public static Org.Nibiru.J2x.Fixture.Planet[] Values()    
+		{
+			return ((Org.Nibiru.J2x.Fixture.Planet[]) Org.Nibiru.J2x.Fixture.Planet._VALUES.Clone());
+		}
+		public static Org.Nibiru.J2x.Fixture.Planet ValueOf(Java.Lang.String name)    
+		{
+			return ((Org.Nibiru.J2x.Fixture.Planet) Java.Lang.Enum.ValueOf(typeof(Org.Nibiru.J2x.Fixture.Planet),name));
+		}
+		Planet(Java.Lang.String a0, int a1, double mass)     : base(a0,a1)
+		{
+			this.mass = mass;
+			return;
+		}
+		public double Mass()    
+		{
+			return this.mass;
+		}
+		static Org.Nibiru.J2x.Fixture.Planet[] _values()    
+		{
+			Org.Nibiru.J2x.Fixture.Planet[] __t;
+			__t = new Org.Nibiru.J2x.Fixture.Planet[2];
+			__t[0] = Org.Nibiru.J2x.Fixture.Planet.MERCURY;
+			__t[1] = Org.Nibiru.J2x.Fixture.Planet.EARTH;
+			return __t;
+		}
+		static Planet()    
+		{
+			Org.Nibiru.J2x.Fixture.Planet.MERCURY = new Org.Nibiru.J2x.Fixture.Planet(Java.Lang.String.FromNative("MERCURY"),0,3.3E23d);
+			Org.Nibiru.J2x.Fixture.Planet.EARTH = new Org.Nibiru.J2x.Fixture.Planet(Java.Lang.String.FromNative("EARTH"),1,5.9E24d);
+			Org.Nibiru.J2x.Fixture.Planet._VALUES = Org.Nibiru.J2x.Fixture.Planet._values();
+			return;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Shapes : Java.Lang.Object
+	{
+		public Shapes()     : base()
+		{
+			return;
+		}
+		public int Area(Org.Nibiru.J2x.Fixture.Shapes_Shape s)    
+		{
+			Org.Nibiru.J2x.Fixture.Shapes_Square q;
+			unchecked
+			{
+				if (s is Org.Nibiru.J2x.Fixture.Shapes_Circle __p)
+				{
+					return ((__p.Radius() * __p.r) * 3);
+				}
+				if (s is Org.Nibiru.J2x.Fixture.Shapes_Square __p_1)
+				{
+					q = __p_1;
+					return (q.side * q.side);
+				}
+				return 0;
+			}
+		}
+		public bool IsCircle(object o)    
+		{
+			bool b;
+			b = (o is Org.Nibiru.J2x.Fixture.Shapes_Circle);
+			return b;
+		}
+		public Java.Lang.String First(Java.Util.List list)    
+		{
+			return ((Java.Lang.String) list.Get(0));
+		}
+		public int Reassigned(Org.Nibiru.J2x.Fixture.Shapes_Shape s, Org.Nibiru.J2x.Fixture.Shapes_Shape t)    
+		{
+			if (s is Org.Nibiru.J2x.Fixture.Shapes_Circle)
+			{
+				s = t;
+				return ((Org.Nibiru.J2x.Fixture.Shapes_Circle) s).r;
+			}
+			return 1;
+		}
+		public int Nested(object o)    
+		{
+			if (o is Org.Nibiru.J2x.Fixture.Shapes_Shape)
+			{
+				if (o is Org.Nibiru.J2x.Fixture.Shapes_Circle __p)
+				{
+					return __p.r;
+				}
+				o.HashCode();
+			}
+			return -1;
+		}
+		public int WithElse(object o)    
+		{
+			if (o is Org.Nibiru.J2x.Fixture.Shapes_Circle __p)
+			{
+				return __p.r;
+			}
+			return 2;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Shapes_Circle : Org.Nibiru.J2x.Fixture.Shapes_Shape
+	{
+		public int r;
+		public Shapes_Circle()     : base()
+		{
+			return;
+		}
+		public int Radius()    
+		{
+			return this.r;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Shapes_Shape : Java.Lang.Object
+	{
+		public Shapes_Shape()     : base()
+		{
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Shapes_Square : Org.Nibiru.J2x.Fixture.Shapes_Shape
+	{
+		public int side;
+		public Shapes_Square()     : base()
+		{
+			return;
+		}
+	}
+}
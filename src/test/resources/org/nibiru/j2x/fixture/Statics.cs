@@ -0,0 +1,18 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Statics : Java.Lang.Object
+	{
+		public static int counter = 10;
+		public static bool enabled = true;
+		public static long[] table = unchecked(new long[(Org.Nibiru.J2x.Fixture.Statics.counter * 2)]);
+		public static Java.Lang.String name = Java.Lang.String.FromNative("n");
+		public Statics()     : base()
+		{
+			return;
+		}
+		public static int Get()    
+		{
+			return Org.Nibiru.J2x.Fixture.Statics.counter;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Statics2 : Java.Lang.Object
+	{
+		public static object _lock;
+		public static int counter;
+		public Statics2()     : base()
+		{
+			return;
+		}
+		static Statics2()    
+		{
+			Org.Nibiru.J2x.Fixture.Statics2._lock = new object();
+			Org.Nibiru.J2x.Fixture.Statics2.counter = 10;
+			return;
+		}
+	}
+}
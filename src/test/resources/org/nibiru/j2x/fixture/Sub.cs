@@ -0,0 +1,70 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Outer : Java.Lang.Object
+	{
+		int secret;
+		long big;
+		public Outer()     : base()
+		{
+			this.secret = 3;
+			return;
+		}
+		public int GetSecret()    
+		{
+			return this.secret;
+		}
+		public void SetSecret(int s)    
+		{
+			this.secret = s;
+			return;
+		}
+		public int Twice()    
+		{
+			unchecked
+			{
+				return (this.secret * 2);
+			}
+		}
+		public int Sum(Org.Nibiru.J2x.Fixture.Outer o)    
+		{
+			unchecked
+			{
+				return ((this.GetSecret() + o.GetSecret()) + this.Twice());
+			}
+		}
+		public void Reset(Org.Nibiru.J2x.Fixture.Outer o)    
+		{
+			o.SetSecret(0);
+			this.SetSecret(this.GetSecret());
+			return;
+		}
+		public static int Access_000(Org.Nibiru.J2x.Fixture.Outer x0)    
+		{
+			return x0.secret;
+		}
+		public static int Access_002(Org.Nibiru.J2x.Fixture.Outer x0, int x1)    
+		{
+			x0.secret = x1;
+			return x1;
+		}
+		public static long Access_102(Org.Nibiru.J2x.Fixture.Outer x0, long x1)    
+		{
+			x0.big = x1;
+			return x1;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Sub : Org.Nibiru.J2x.Fixture.Outer
+	{
+		public Sub()     : base()
+		{
+			return;
+		}
+		public int GetSecret()    
+		{
+			return 42;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Sync : Java.Lang.Object
+	{
+		readonly object _lock;
+		volatile int state;
+		int count;
+		public Sync()     : base()
+		{
+			this._lock = new object();
+			return;
+		}
+		public void Inc()    
+		{
+			unchecked
+			{
+				lock (this._lock)
+				{
+					this.count = (this.count + 1);
+				}
+				return;
+			}
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.Synchronized)]
+		public int Get()    
+		{
+			return this.count;
+		}
+		[System.Runtime.CompilerServices.MethodImpl(System.Runtime.CompilerServices.MethodImplOptions.Synchronized)]
+		public static void Touch()    
+		{
+			return;
+		}
+		public int State()    
+		{
+			return this.state;
+		}
+		public void SetState(int s)    
+		{
+			this.state = s;
+			System.Threading.Thread.MemoryBarrier();
+			return;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Sync2 : Java.Lang.Object
+	{
+		long stamp;
+		double ratio;
+		readonly object a;
+		readonly object b;
+		int n;
+		readonly Java.Util.Concurrent.Atomic.AtomicInteger hits;
+		readonly Java.Util.Concurrent.Atomic.AtomicLong total;
+		readonly Java.Util.Concurrent.Atomic.AtomicReference last;
+		public Sync2()     : base()
+		{
+			this.a = new object();
+			this.b = new object();
+			this.hits = new Java.Util.Concurrent.Atomic.AtomicInteger();
+			this.total = new Java.Util.Concurrent.Atomic.AtomicLong(5L);
+			this.last = new Java.Util.Concurrent.Atomic.AtomicReference();
+			return;
+		}
+		public long Stamp()    
+		{
+			return System.Threading.Volatile.Read(ref this.stamp);
+		}
+		public void Stamp(long s)    
+		{
+			System.Threading.Volatile.Write(ref this.stamp, s);
+			System.Threading.Thread.MemoryBarrier();
+			System.Threading.Volatile.Write(ref this.ratio, 0.5d);
+			System.Threading.Thread.MemoryBarrier();
+			return;
+		}
+		public int Read()    
+		{
+			lock (this.a)
+			{
+				return this.n;
+			}
+		}
+		public void Nested()    
+		{
+			unchecked
+			{
+				lock (this.a)
+				{
+					lock (this.b)
+					{
+						this.n = (this.n + 1);
+					}
+					this.n = (this.n + 2);
+				}
+				return;
+			}
+		}
+		public int Hit()    
+		{
+			this.total.AddAndGet(3L);
+			this.last.CompareAndSet(null,Java.Lang.String.FromNative("x"));
+			return this.hits.IncrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public readonly struct Money
+	{
+		readonly long cents;
+		public Money(long cents)     : this()
+		{
+			this.cents = cents;
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public readonly struct Point
+	{
+		public static readonly Org.Nibiru.J2x.Fixture.Point ORIGIN;
+		readonly int x;
+		readonly int y;
+		public Point(int x, int y)     : this()
+		{
+			this.x = x;
+			this.y = y;
+			return;
+		}
+		public Point(int v)     : this(v,v)
+		{
+			return;
+		}
+		public int GetX()    
+		{
+			return this.x;
+		}
+		public Org.Nibiru.J2x.Fixture.Point Plus(Org.Nibiru.J2x.Fixture.Point o)    
+		{
+			unchecked
+			{
+				return new Org.Nibiru.J2x.Fixture.Point((this.x + o.x),(this.y + o.y));
+			}
+		}
+		static Point()    
+		{
+			Org.Nibiru.J2x.Fixture.Point.ORIGIN = new Org.Nibiru.J2x.Fixture.Point(0,0);
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Uses : Java.Lang.Object
+	{
+		public Org.Nibiru.J2x.Fixture.Point p;
+		public Org.Nibiru.J2x.Fixture.Money m;
+		public Uses()     : base()
+		{
+			this.p = new Org.Nibiru.J2x.Fixture.Point(1);
+			this.m = new Org.Nibiru.J2x.Fixture.Money(2L);
+			return;
+		}
+		public Org.Nibiru.J2x.Fixture.Point[] None()    
+		{
+			return null;
+		}
+	}
+}
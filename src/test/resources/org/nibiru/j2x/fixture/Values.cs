@@ -0,0 +1,133 @@
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Values : Java.Lang.Object
+	{
+		Org.Nibiru.J2x.Fixture.Values_Lazy lazy;
+		public Values()     : base()
+		{
+			return;
+		}
+		public bool Same(Org.Nibiru.J2x.Fixture.Values_Key a, Org.Nibiru.J2x.Fixture.Values_Key b)    
+		{
+			return a.Equals(b);
+		}
+		public bool Same(Org.Nibiru.J2x.Fixture.Values_Id a, Org.Nibiru.J2x.Fixture.Values_Id b)    
+		{
+			return a.Equals(b);
+		}
+		public void Add(Java.Util.List list, Org.Nibiru.J2x.Fixture.Values_Boxed boxed)    
+		{
+			list.Add(boxed);
+			return;
+		}
+		public Org.Nibiru.J2x.Fixture.Values_Lazy Lazy()    
+		{
+			return this.lazy;
+		}
+		public Org.Nibiru.J2x.Fixture.Values_Cached Cached()    
+		{
+			return Org.Nibiru.J2x.Fixture.Values_Cached.last;
+		}
+		public Org.Nibiru.J2x.Fixture.Values_Left Left(Org.Nibiru.J2x.Fixture.Values_Right right)    
+		{
+			return new Org.Nibiru.J2x.Fixture.Values_Left(right);
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Values_Boxed : Java.Lang.Object
+	{
+		readonly int value;
+		public Values_Boxed(int value)     : base()
+		{
+			this.value = value;
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Values_Cached : Java.Lang.Object
+	{
+		public static Org.Nibiru.J2x.Fixture.Values_Cached last;
+		readonly int value;
+		public Values_Cached(int value)     : base()
+		{
+			this.value = value;
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Values_Id : Java.Lang.Object
+	{
+		readonly int value;
+		public Values_Id(int value)     : base()
+		{
+			this.value = value;
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public readonly struct Values_Key
+	{
+		readonly Java.Lang.String name;
+		public Values_Key(Java.Lang.String name)     : this()
+		{
+			this.name = name;
+			return;
+		}
+		public bool Equals(object o)    
+		{
+			if (o is Org.Nibiru.J2x.Fixture.Values_Key __p)
+			{
+				return __p.name.Equals(this.name);
+			}
+			return false;
+		}
+		public int HashCode()    
+		{
+			return this.name.HashCode();
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Values_Lazy : Java.Lang.Object
+	{
+		readonly int value;
+		public Values_Lazy(int value)     : base()
+		{
+			this.value = value;
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Values_Left : Java.Lang.Object
+	{
+		readonly Org.Nibiru.J2x.Fixture.Values_Right right;
+		public Values_Left(Org.Nibiru.J2x.Fixture.Values_Right right)     : base()
+		{
+			this.right = right;
+			return;
+		}
+	}
+}
+namespace Org.Nibiru.J2x.Fixture
+{
+	public class Values_Right : Java.Lang.Object
+	{
+		readonly Org.Nibiru.J2x.Fixture.Values_Left left;
+		public Values_Right(Org.Nibiru.J2x.Fixture.Values_Left left)     : base()
+		{
+			this.left = left;
+			return;
+		}
+	}
+}